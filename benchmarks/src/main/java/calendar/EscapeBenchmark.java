@@ -0,0 +1,61 @@
+package calendar;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Client.escape
+ * - plain: 이스케이프할 문자가 없는 문자열 (대부분의 제목 / 장소)
+ * - nasty: 따옴표 / 역슬래시 / 개행이 섞인 메모
+ * - size: 문자열 길이 (글자 수)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EscapeBenchmark {
+
+    private static final String PLAIN_UNIT = "주간 회의 자료 정리 ";
+    private static final String NASTY_UNIT = "자료 \"v2\" 준비\n- C:\\share\\회의록\n\t끝 ";
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    String plain;
+    String nasty;
+
+    @Setup
+    public void setUp() {
+        plain = repeat(PLAIN_UNIT, size);
+        nasty = repeat(NASTY_UNIT, size);
+    }
+
+    @Benchmark
+    public String plain() {
+        return Client.escape(plain);
+    }
+
+    @Benchmark
+    public String nasty() {
+        return Client.escape(nasty);
+    }
+
+    private static String repeat(String unit, int length) {
+        StringBuilder sb = new StringBuilder(length + unit.length());
+        while (sb.length() < length) sb.append(unit);
+        return sb.substring(0, length);
+    }
+}
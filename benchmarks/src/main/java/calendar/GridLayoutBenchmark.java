@@ -0,0 +1,61 @@
+package calendar;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 주간 그리드 배치
+ * - weekLayout: WeekLayout 열 배정만 (분 단위)
+ * - gridPanel: CalendarGridPanel.setSchedules + 픽셀 위치 계산(ensureLayout) 까지
+ * - 같은 목록이면 이전 배치를 재사용하므로 15분 어긋난 두 목록을 번갈아 넣음
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class GridLayoutBenchmark {
+
+    private static final LocalDate WEEK = LocalDate.of(2025, 1, 6);   // 월요일
+
+    @Param({"10", "100", "1000", "10000"})
+    int size;
+
+    List<List<ScheduleBlock>> weeks;
+    WeekLayout layout;
+    CalendarGridPanel grid;
+    int turn;
+
+    @Setup
+    public void setUp() {
+        weeks = List.of(HotPathBenchmark.weekSchedules(size, 0), HotPathBenchmark.weekSchedules(size, 15));
+        layout = new WeekLayout();
+        grid = new CalendarGridPanel();
+        grid.setSize(grid.getPreferredSize());
+    }
+
+    @Benchmark
+    public List<WeekLayout.Slot> weekLayout() {
+        return layout.update(weeks.get(turn++ & 1), WEEK);
+    }
+
+    @Benchmark
+    public Object gridPanel() {
+        grid.setSchedules(weeks.get(turn++ & 1), WEEK);
+        return grid.findScheduleAt(300, 500);
+    }
+}
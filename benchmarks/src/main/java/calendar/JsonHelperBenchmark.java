@@ -0,0 +1,59 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JsonHelper 로 일정 목록 응답 읽기
+ * - getObjectsArray: "schedules" 배열을 객체 문자열로 자르기
+ * - getIntGetString: 자른 객체마다 id / title / time 꺼내기 (CalendarUI 가 하는 것과 같음)
+ * - 응답은 DecodeBenchmark 와 같은 모양 (calendar_server.py 출력)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonHelperBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int size;
+
+    String response;
+    String[] objects;
+
+    @Setup
+    public void setUp() {
+        response = new String(DecodeBenchmark.scheduleListResponse(size), StandardCharsets.UTF_8);
+        objects = JsonHelper.getObjectsArray(response, "schedules");
+        if (objects.length != size) throw new IllegalStateException("생성한 응답의 일정 수가 다름");
+    }
+
+    @Benchmark
+    public String[] getObjectsArray() {
+        return JsonHelper.getObjectsArray(response, "schedules");
+    }
+
+    @Benchmark
+    public void getIntGetString(Blackhole bh) {
+        for (String obj : objects) {
+            bh.consume(JsonHelper.getInt(obj, "id", -1));
+            bh.consume(JsonHelper.getString(obj, "title"));
+            bh.consume(JsonHelper.getString(obj, "time"));
+        }
+    }
+}
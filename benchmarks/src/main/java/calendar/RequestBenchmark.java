@@ -0,0 +1,74 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * schedule_add 요청 본문 만들기
+ * - concat: 예전 CalendarUI 의 문자열 이어 붙이기 + getBytes
+ * - jsonWriter: JsonWriter (보낸 뒤 release 까지, Client 와 같음)
+ * - binaryWriter: 바이너리로 협상된 서버에 보낼 때의 BinaryWriter
+ * - size: 메모 길이 (글자 수)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    String memo;
+
+    @Setup
+    public void setUp() {
+        String unit = "자료 \"v2\" 준비\n- C:\\share\\회의록\n\t끝 ";
+        StringBuilder sb = new StringBuilder(size + unit.length());
+        while (sb.length() < size) sb.append(unit);
+        memo = sb.substring(0, size);
+    }
+
+    @Benchmark
+    public byte[] concat() {
+        return HotPathBenchmark.concatRequest(memo).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int jsonWriter() {
+        JsonWriter w = HotPathBenchmark.writerRequest(memo);
+        int n = w.length();
+        w.release();
+        return n;
+    }
+
+    @Benchmark
+    public byte[] binaryWriter() {
+        return ((BinaryWriter) fill(new BinaryWriter().beginObject().name("action").value("schedule_add")))
+                .toByteArray();
+    }
+
+    private ValueWriter fill(ValueWriter w) {
+        return w.name("calendar_id").value(12)
+                .name("user_id").value(3)
+                .name("title").value("주간 회의")
+                .name("time").value("2025-01-06 10:00:00")
+                .name("place").value("본관 3층 회의실")
+                .name("memo").value(memo)
+                .endObject();
+    }
+}
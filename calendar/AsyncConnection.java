@@ -0,0 +1,28 @@
+package calendar;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 요청마다 rid 를 붙여 응답을 기다리지 않고 보내는 연결 (Client.sendAsync 용)
+ * - PipelinedConnection: 연결마다 읽기 스레드 하나
+ * - NioTransport.Session: 여러 연결을 이벤트 루프 스레드 몇 개가 같이 처리
+ */
+interface AsyncConnection extends Closeable {
+
+    // body: 이미 보낼 형식인 요청 본문 (JSON 또는 바이너리. 보낼 때 rid 를 붙인 사본을 만들므로 호출한 쪽이 계속 가지고 있어도 됨)
+    // options: 압축 여부 (서버는 요청과 같은 형식으로 응답)
+    // 응답 future 는 연결의 읽기(이벤트 루프) 스레드에서 완료됨 (압축은 풀린 상태)
+    CompletableFuture<byte[]> send(byte[] body, WireFormat.Options options);
+
+    boolean isOpen();
+
+    // 이전에 보낸 요청이 있는 연결인지 (서버가 idle 로 닫았을 수 있음)
+    boolean isReused();
+
+    // 응답 대기 중인 요청 없이 논 시간
+    long idleMillis();
+
+    @Override
+    void close();
+}
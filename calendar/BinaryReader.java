@@ -0,0 +1,376 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 바이너리 본문 pull parser (형식은 WireFormat 참고)
+ * - JsonReader 와 같은 사용법: peek() 로 토큰 종류를 보고 nextXxx() 로 꺼냄
+ * - TIME 값은 STRING 토큰: nextDateTime() 은 초에서 바로, nextString() 은 원래 문자열로
+ * - 필드 이름은 JsonReader 처럼 작은 캐시로 재사용
+ * - 잘못된 본문이면 IllegalStateException
+ */
+final class BinaryReader implements ValueReader {
+
+    private static final int NAME_CACHE_SIZE = 64;   // 2의 거듭제곱
+
+    private final byte[] buf;
+    private final int limit;
+    private int pos;
+
+    private boolean[] inObject = new boolean[16];   // 깊이별: 객체(true) / 배열(false)
+    private int depth;
+    private boolean expectValue;   // 객체 안에서 이름을 읽었고 값 차례
+    private boolean done;          // 최상위 값을 다 읽음
+
+    private JsonReader.Token peeked;
+    private int tokenStart;
+
+    private final byte[][] nameKeys = new byte[NAME_CACHE_SIZE][];
+    private final String[] nameValues = new String[NAME_CACHE_SIZE];
+
+    BinaryReader(byte[] buf) {
+        if (!WireFormat.isBinary(buf)) throw new IllegalStateException("바이너리 본문이 아님");
+        this.buf = buf;
+        this.limit = buf.length;
+        this.pos = 1;
+    }
+
+    // ============================================================
+    // 토큰 보기 (peek 는 위치를 옮기지 않음)
+    // ============================================================
+
+    @Override
+    public JsonReader.Token peek() {
+        if (peeked != null) return peeked;
+        tokenStart = pos;
+        if (depth == 0 && done) {
+            if (pos != limit) throw syntaxError("본문 끝에 남은 데이터");
+            return peeked = JsonReader.Token.END_DOCUMENT;
+        }
+        if (depth > 0 && inObject[depth - 1] && !expectValue) {
+            return peeked = byteAt(pos) == 0 ? JsonReader.Token.END_OBJECT : JsonReader.Token.NAME;
+        }
+        switch (byteAt(pos)) {
+            case WireFormat.END:
+                if (depth == 0 || inObject[depth - 1]) throw syntaxError("배열 밖의 END");
+                return peeked = JsonReader.Token.END_ARRAY;
+            case WireFormat.NULL:
+                return peeked = JsonReader.Token.NULL;
+            case WireFormat.FALSE:
+            case WireFormat.TRUE:
+                return peeked = JsonReader.Token.BOOLEAN;
+            case WireFormat.INT:
+            case WireFormat.DOUBLE:
+                return peeked = JsonReader.Token.NUMBER;
+            case WireFormat.STRING:
+            case WireFormat.TIME:
+                return peeked = JsonReader.Token.STRING;
+            case WireFormat.ARRAY:
+                return peeked = JsonReader.Token.BEGIN_ARRAY;
+            case WireFormat.OBJECT:
+                return peeked = JsonReader.Token.BEGIN_OBJECT;
+            default:
+                throw syntaxError("알 수 없는 태그 " + byteAt(pos));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        JsonReader.Token t = peek();
+        return t != JsonReader.Token.END_OBJECT && t != JsonReader.Token.END_ARRAY
+                && t != JsonReader.Token.END_DOCUMENT;
+    }
+
+    // ============================================================
+    // 구조
+    // ============================================================
+
+    @Override
+    public void beginObject() {
+        expect(JsonReader.Token.BEGIN_OBJECT);
+        pos++;
+        push(true);
+    }
+
+    @Override
+    public void endObject() {
+        expect(JsonReader.Token.END_OBJECT);
+        pos++;
+        depth--;
+        afterValue();
+    }
+
+    @Override
+    public void beginArray() {
+        expect(JsonReader.Token.BEGIN_ARRAY);
+        pos++;
+        push(false);
+    }
+
+    @Override
+    public void endArray() {
+        expect(JsonReader.Token.END_ARRAY);
+        pos++;
+        depth--;
+        afterValue();
+    }
+
+    private void push(boolean object) {
+        if (depth == inObject.length) inObject = Arrays.copyOf(inObject, depth * 2);
+        inObject[depth++] = object;
+        expectValue = false;
+    }
+
+    // 값 하나를 다 읽음 → 객체 안이면 다음은 이름 차례
+    private void afterValue() {
+        if (depth == 0) {
+            done = true;
+        } else {
+            expectValue = false;
+        }
+    }
+
+    private void expect(JsonReader.Token t) {
+        if (peek() != t) throw syntaxError(t + " 필요, 실제 " + peeked);
+        peeked = null;
+    }
+
+    // ============================================================
+    // 값 꺼내기
+    // ============================================================
+
+    @Override
+    public String nextName() {
+        expect(JsonReader.Token.NAME);
+        int len = (int) varint() - 1;
+        int start = pos;
+        int end = checkedEnd(len);
+        pos = end;
+        expectValue = true;
+
+        int h = 1;
+        for (int i = start; i < end; i++) h = 31 * h + buf[i];
+        int slot = (h ^ (h >>> 16)) & (NAME_CACHE_SIZE - 1);
+
+        byte[] key = nameKeys[slot];
+        if (key != null && Arrays.equals(key, 0, key.length, buf, start, end)) {
+            return nameValues[slot];
+        }
+        String name = new String(buf, start, len, StandardCharsets.UTF_8);
+        nameKeys[slot] = Arrays.copyOfRange(buf, start, end);
+        nameValues[slot] = name;
+        return name;
+    }
+
+    @Override
+    public String nextString() {
+        switch (peek()) {
+            case NULL:
+                nextNull();
+                return null;
+            case NUMBER:
+                return byteAt(pos) == WireFormat.INT
+                        ? Long.toString(nextLong()) : Double.toString(nextDouble());
+            case STRING:
+                if (byteAt(pos) == WireFormat.TIME) return WireFormat.format(nextDateTime());
+                peeked = null;
+                pos++;
+                int len = (int) varint();
+                int start = pos;
+                pos = checkedEnd(len);
+                afterValue();
+                return new String(buf, start, len, StandardCharsets.UTF_8);
+            default:
+                throw syntaxError("문자열 필요, 실제 " + peeked);
+        }
+    }
+
+    @Override
+    public String nextString(String[] known) {
+        if (peek() != JsonReader.Token.STRING || byteAt(pos) != WireFormat.STRING) return nextString();
+        int save = pos;
+        pos++;
+        int len = (int) varint();
+        int start = pos;
+        int end = checkedEnd(len);
+        for (String k : known) {
+            if (asciiEquals(k, start, end)) {
+                peeked = null;
+                pos = end;
+                afterValue();
+                return k;
+            }
+        }
+        pos = save;
+        return nextString();
+    }
+
+    @Override
+    public LocalDateTime nextDateTime() {
+        if (peek() != JsonReader.Token.STRING) {
+            skipValue();
+            return null;
+        }
+        if (byteAt(pos) == WireFormat.STRING) {
+            String s = nextString();
+            return s.length() == 19 ? WireFormat.parseDateTime(s) : null;
+        }
+        peeked = null;
+        pos++;
+        long seconds = unzigzag(varint());
+        afterValue();
+        return WireFormat.fromSeconds(seconds);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        expect(JsonReader.Token.BOOLEAN);
+        boolean v = buf[pos++] == WireFormat.TRUE;
+        afterValue();
+        return v;
+    }
+
+    @Override
+    public void nextNull() {
+        expect(JsonReader.Token.NULL);
+        pos++;
+        afterValue();
+    }
+
+    // 정수 값. 실수면 소수 부분은 버림 (JsonReader 와 같은 동작)
+    @Override
+    public long nextLong() {
+        if (peek() == JsonReader.Token.NUMBER && byteAt(pos) == WireFormat.DOUBLE) {
+            return (long) nextDouble();
+        }
+        expect(JsonReader.Token.NUMBER);
+        pos++;
+        long v = unzigzag(varint());
+        afterValue();
+        return v;
+    }
+
+    @Override
+    public int nextInt() {
+        long v = nextLong();
+        if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) {
+            throw new NumberFormatException("int 범위 초과: " + v);
+        }
+        return (int) v;
+    }
+
+    @Override
+    public double nextDouble() {
+        if (peek() == JsonReader.Token.NUMBER && byteAt(pos) == WireFormat.INT) return nextLong();
+        expect(JsonReader.Token.NUMBER);
+        pos++;
+        int end = checkedEnd(8);
+        long bits = 0;
+        for (int i = pos; i < end; i++) bits = (bits << 8) | (buf[i] & 0xFF);
+        pos = end;
+        afterValue();
+        return Double.longBitsToDouble(bits);
+    }
+
+    // 다음 값 하나를 통째로 건너뜀 (객체/배열이면 안쪽까지)
+    @Override
+    public void skipValue() {
+        int count = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    count++;
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    count++;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    count--;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    count--;
+                    break;
+                case NAME:
+                    nextName();
+                    break;
+                case STRING:
+                    if (byteAt(pos) == WireFormat.TIME) {
+                        nextDateTime();
+                    } else {
+                        peeked = null;
+                        pos++;
+                        pos = checkedEnd((int) varint());
+                        afterValue();
+                    }
+                    break;
+                case NUMBER:
+                    nextDouble();
+                    break;
+                case BOOLEAN:
+                    nextBoolean();
+                    break;
+                case NULL:
+                    nextNull();
+                    break;
+                default:
+                    throw syntaxError("건너뛸 값이 없음");
+            }
+        } while (count > 0);
+    }
+
+    @Override
+    public int tokenStart() {
+        return tokenStart;
+    }
+
+    @Override
+    public int position() {
+        return pos;
+    }
+
+    // ============================================================
+    // 내부
+    // ============================================================
+
+    private int byteAt(int i) {
+        if (i >= limit) throw syntaxError("본문이 중간에 끝남");
+        return buf[i] & 0xFF;
+    }
+
+    private long varint() {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = byteAt(pos++);
+            v |= (long) (b & 0x7F) << shift;
+            if (b < 0x80) return v;
+        }
+        throw syntaxError("varint 가 너무 김");
+    }
+
+    private static long unzigzag(long u) {
+        return (u >>> 1) ^ -(u & 1);
+    }
+
+    private int checkedEnd(int len) {
+        if (len < 0 || len > limit - pos) throw syntaxError("길이가 본문을 넘음: " + len);
+        return pos + len;
+    }
+
+    private boolean asciiEquals(String s, int start, int end) {
+        if (s.length() != end - start) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (buf[start + i] != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private IllegalStateException syntaxError(String msg) {
+        return new IllegalStateException("바이너리 본문 오류 (위치 " + pos + "): " + msg);
+    }
+}
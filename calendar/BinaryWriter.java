@@ -0,0 +1,204 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 바이너리 본문 인코더 (형식은 WireFormat 참고)
+ * - 앞에서부터 이어 쓰는 방식: beginObject → name/value … → endObject
+ * - 개수를 미리 쓰지 않고 끝 표시로 닫으므로 몇 개인지 몰라도 바로 쓸 수 있음
+ * - value(String) 은 "yyyy-MM-dd HH:mm:ss" 형식이면 TIME 으로 씀
+ * - 요청은 Client.request(action) 로 만들어 바로 쓰고, fromJson 은 JSON 으로 만든 요청(문자열 API / batch)에만
+ */
+final class BinaryWriter implements ValueWriter {
+
+    private byte[] buf = new byte[256];
+    private int len;
+
+    BinaryWriter() {
+        buf[len++] = WireFormat.MAGIC;
+    }
+
+    // UTF-8 JSON 요청(앞 len 바이트) → 바이너리 본문 (JSON 으로 만든 요청을 그대로 바이너리로 보낼 때)
+    static byte[] fromJson(byte[] json, int len) {
+        BinaryWriter w = new BinaryWriter();
+        JsonReader r = new JsonReader(json, 0, len);
+        w.copy(r);
+        r.peek();   // 남은 데이터 확인 (END_DOCUMENT 가 아니면 예외)
+        return w.toByteArray();
+    }
+
+    // MAGIC OBJECT ... → MAGIC OBJECT "rid" INT ... (파이프라인 요청에 rid 붙이기, PipelinedConnection.withRid 의 바이너리판)
+    static byte[] withRid(byte[] body, long rid) {
+        if (body.length < 2 || body[1] != WireFormat.OBJECT) {
+            throw new IllegalArgumentException("바이너리 객체가 아님");
+        }
+        BinaryWriter w = new BinaryWriter();
+        w.beginObject().name("rid").value(rid);
+        w.ensure(body.length - 2);
+        System.arraycopy(body, 2, w.buf, w.len, body.length - 2);
+        w.len += body.length - 2;
+        return w.toByteArray();
+    }
+
+    private void copy(JsonReader r) {
+        switch (r.peek()) {
+            case BEGIN_OBJECT:
+                r.beginObject();
+                beginObject();
+                while (r.hasNext()) {
+                    name(r.nextName());
+                    copy(r);
+                }
+                r.endObject();
+                endObject();
+                break;
+            case BEGIN_ARRAY:
+                r.beginArray();
+                beginArray();
+                while (r.hasNext()) copy(r);
+                r.endArray();
+                endArray();
+                break;
+            case STRING:
+                value(r.nextString());
+                break;
+            case NUMBER:
+                number(r.nextString());
+                break;
+            case BOOLEAN:
+                value(r.nextBoolean());
+                break;
+            default:
+                r.nextNull();
+                nullValue();
+        }
+    }
+
+    // 소수점/지수가 없고 long 범위면 INT, 아니면 DOUBLE
+    private void number(String text) {
+        if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+            try {
+                value(Long.parseLong(text));
+                return;
+            } catch (NumberFormatException ignored) {
+                // long 범위 밖
+            }
+        }
+        value(Double.parseDouble(text));
+    }
+
+    @Override
+    public BinaryWriter beginObject() {
+        put(WireFormat.OBJECT);
+        return this;
+    }
+
+    @Override
+    public BinaryWriter endObject() {
+        put(0);
+        return this;
+    }
+
+    @Override
+    public BinaryWriter beginArray() {
+        put(WireFormat.ARRAY);
+        return this;
+    }
+
+    @Override
+    public BinaryWriter endArray() {
+        put(WireFormat.END);
+        return this;
+    }
+
+    @Override
+    public BinaryWriter name(String name) {
+        byte[] b = name.getBytes(StandardCharsets.UTF_8);
+        varint(b.length + 1L);
+        put(b);
+        return this;
+    }
+
+    @Override
+    public BinaryWriter value(String s) {
+        if (s == null) return nullValue();
+        LocalDateTime t = s.length() == 19 ? WireFormat.parseDateTime(s) : null;
+        if (t != null) return value(t);
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        put(WireFormat.STRING);
+        varint(b.length);
+        put(b);
+        return this;
+    }
+
+    @Override
+    public BinaryWriter value(LocalDateTime t) {
+        if (t == null) return nullValue();
+        put(WireFormat.TIME);
+        varint(zigzag(WireFormat.toSeconds(t)));
+        return this;
+    }
+
+    @Override
+    public BinaryWriter value(long v) {
+        put(WireFormat.INT);
+        varint(zigzag(v));
+        return this;
+    }
+
+    @Override
+    public BinaryWriter value(double v) {
+        put(WireFormat.DOUBLE);
+        long bits = Double.doubleToLongBits(v);
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) buf[len++] = (byte) (bits >>> shift);
+        return this;
+    }
+
+    @Override
+    public BinaryWriter value(boolean v) {
+        put(v ? WireFormat.TRUE : WireFormat.FALSE);
+        return this;
+    }
+
+    @Override
+    public BinaryWriter nullValue() {
+        put(WireFormat.NULL);
+        return this;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, len);
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    // 부호 없는 7비트 단위 (LEB128)
+    private void varint(long v) {
+        ensure(10);
+        while ((v & ~0x7FL) != 0) {
+            buf[len++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[len++] = (byte) v;
+    }
+
+    private void put(int b) {
+        ensure(1);
+        buf[len++] = (byte) b;
+    }
+
+    private void put(byte[] b) {
+        ensure(b.length);
+        System.arraycopy(b, 0, buf, len, b.length);
+        len += b.length;
+    }
+
+    private void ensure(int n) {
+        if (len + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + n));
+    }
+}
@@ -0,0 +1,302 @@
+package calendar;
+
+import javax.swing.JPanel;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 중앙 Google Calendar 스타일 주간 그리드
+ * - 시간 셀 고정 50px
+ * - 일정 클릭 감지
+ * - JScrollPane 안에 넣어서 스크롤 가능
+ * - 일정 위치는 setSchedules / 크기 변경 때 한 번만 계산하고
+ *   (요일, 시간) 칸별 목록에 넣어 두어 클릭/마우스 이동 때는 해당 칸만 확인
+ * - 격자/시간/날짜 배경은 이미지로 한 번 그려 두고 크기나 주가 바뀔 때만 다시 그림
+ * - 일정은 다시 그릴 영역(clip)에 걸친 것만 그림 (스크롤/부분 repaint 가 가벼움)
+ * - 겹치는 일정은 WeekLayout 이 나눈 열(lane)만큼 칸을 나눠서 나란히 그림
+ */
+class CalendarGridPanel extends JPanel {
+
+    private static final int LEFT_MARGIN = 70;
+    private static final int TOP_MARGIN = 30;
+    private static final int DAYS = WeekLayout.DAYS;
+    private static final int HOURS = 24;
+    private static final int ROW_HEIGHT = 50;   // 고정
+    private static final int LANE_GAP = 2;
+
+    private static final Color GRID_LINE = new Color(220, 220, 220);
+    private static final Color BLOCK_FILL = new Color(135, 206, 250);
+    private static final Color BLOCK_BORDER = new Color(70, 130, 180);
+
+    // 화면에 배치된 일정 한 개
+    private static final class Placed {
+        final ScheduleBlock block;
+        final int order;   // 그리는 순서
+        final int x, y, w, h;
+        int paintStamp;    // 한 번의 paint 에서 중복으로 모으지 않도록
+
+        Placed(ScheduleBlock block, int order, int x, int y, int w, int h) {
+            this.block = block;
+            this.order = order;
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+        }
+
+        boolean contains(int px, int py) {
+            return px >= x && px <= x + w && py >= y && py <= y + h;
+        }
+
+        boolean intersects(Rectangle r) {
+            return x <= r.x + r.width && x + w >= r.x && y <= r.y + r.height && y + h >= r.y;
+        }
+    }
+
+    private LocalDate weekStart = LocalDate.now();
+    private final WeekLayout weekLayout = new WeekLayout();
+    private List<WeekLayout.Slot> slots = new ArrayList<>();
+
+    // 배치 결과 (그리는 순서대로) + (요일 * HOURS + 시간) 칸별 목록
+    private final List<Placed> placed = new ArrayList<>();
+    private final List<List<Placed>> cells = new ArrayList<>(DAYS * HOURS);
+    private int layoutWidth = -1;   // 배치를 계산한 너비. 다르면 다시 계산
+
+    // 배경 이미지와 그때의 크기/주/화면 배율
+    private BufferedImage background;
+    private int bgWidth, bgHeight;
+    private double bgScale;
+    private LocalDate bgWeek;
+
+    private int paintStamp;
+    private final List<Placed> visible = new ArrayList<>();
+
+    CalendarGridPanel() {
+        for (int i = 0; i < DAYS * HOURS; i++) cells.add(new ArrayList<>());
+
+        // 일정 위에서는 손가락 커서
+        addMouseMotionListener(new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                Cursor c = findScheduleAt(e.getX(), e.getY()) != null
+                        ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR)
+                        : Cursor.getDefaultCursor();
+                if (getCursor() != c) setCursor(c);
+            }
+        });
+    }
+
+    public void setSchedules(List<ScheduleBlock> schedules, LocalDate weekStart) {
+        this.weekStart = weekStart;
+        this.slots = weekLayout.update(schedules, weekStart);
+        layoutWidth = -1;
+        repaint();
+    }
+
+    // 💡 JScrollPane이 전체 높이를 알 수 있도록 preferredSize 지정
+    @Override
+    public Dimension getPreferredSize() {
+        int colWidth = 140;    // 대략 값
+
+        int width = LEFT_MARGIN + colWidth * DAYS + 20;
+        int height = TOP_MARGIN + ROW_HEIGHT * HOURS + 20;
+        return new Dimension(width, height);
+    }
+
+    private int colWidth() {
+        return (getWidth() - LEFT_MARGIN) / DAYS;
+    }
+
+    // 일정 클릭 감지: 눌린 (요일, 시간) 칸에 걸친 일정만 확인
+    public ScheduleBlock findScheduleAt(int mx, int my) {
+        ensureLayout();
+        int colWidth = colWidth();
+        if (colWidth <= 0 || mx < LEFT_MARGIN || my < TOP_MARGIN) return null;
+
+        int day = (mx - LEFT_MARGIN) / colWidth;
+        int hour = (my - TOP_MARGIN) / ROW_HEIGHT;
+        if (day >= DAYS) return null;
+        hour = Math.min(hour, HOURS - 1);   // 23시 일정은 그리드 아래로 조금 넘침
+
+        // 나중에 그린 일정이 위에 보이므로 뒤에서부터
+        List<Placed> cell = cells.get(day * HOURS + hour);
+        for (int i = cell.size() - 1; i >= 0; i--) {
+            Placed p = cell.get(i);
+            if (p.contains(mx, my)) return p.block;
+        }
+        return null;
+    }
+
+    // 일정 목록이나 너비가 바뀌었을 때만 픽셀 위치 계산 (열 배정은 WeekLayout)
+    private void ensureLayout() {
+        int width = getWidth();
+        if (layoutWidth == width) return;
+        layoutWidth = width;
+
+        placed.clear();
+        for (List<Placed> cell : cells) cell.clear();
+
+        int colWidth = colWidth();
+        if (colWidth <= 0) return;
+
+        int inner = colWidth - 6;
+        for (WeekLayout.Slot s : slots) {
+            int dayIndex = s.day;
+            int left = LEFT_MARGIN + dayIndex * colWidth + 3;
+
+            // 열 경계는 정수 나눗셈으로 잘라 틈 없이 채움
+            int x = left + s.lane * inner / s.lanes;
+            int right = left + (s.lane + 1) * inner / s.lanes;
+            int w = Math.max(1, right - x - (s.lane < s.lanes - 1 ? LANE_GAP : 0));
+            int y = TOP_MARGIN + s.startMin * ROW_HEIGHT / 60 + 3;
+            int h = (s.endMin - s.startMin) * ROW_HEIGHT / 60 - 6;
+
+            Placed p = new Placed(s.block, placed.size(), x, y, w, h);
+            placed.add(p);
+
+            // 일정이 걸친 시간 칸마다 등록 (다음 시간으로 넘어가는 일정도 있음)
+            int firstRow = Math.min(HOURS - 1, (y - TOP_MARGIN) / ROW_HEIGHT);
+            int lastRow = Math.min(HOURS - 1, (y + h - TOP_MARGIN) / ROW_HEIGHT);
+            for (int row = firstRow; row <= lastRow; row++) {
+                cells.get(dayIndex * HOURS + row).add(p);
+            }
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (getWidth() <= 0 || getHeight() <= 0) return;
+        ensureLayout();
+
+        Graphics2D g2 = (Graphics2D) g;
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        paintBackground(g2);
+
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+
+        for (Placed p : collectVisible(clip)) {
+            int x = p.x, y = p.y, w = p.w, h = p.h;
+
+            g2.setColor(BLOCK_FILL);
+            g2.fillRoundRect(x, y, w, h, 10, 10);
+            g2.setColor(BLOCK_BORDER);
+            g2.drawRoundRect(x, y, w, h, 10, 10);
+
+            Shape oldClip = g2.getClip();
+            g2.clipRect(x + 4, y + 4, w - 8, h - 8);
+            g2.setColor(Color.BLACK);
+            g2.drawString(p.block.title, x + 8, y + Math.min(20, h - 4));
+            g2.setClip(oldClip);
+        }
+    }
+
+    // clip 에 걸친 (요일, 시간) 칸의 일정만 모아서 원래 그리는 순서로 정렬
+    private List<Placed> collectVisible(Rectangle clip) {
+        visible.clear();
+        int colWidth = colWidth();
+        if (colWidth <= 0 || placed.isEmpty()) return visible;
+
+        if (clip.x + clip.width < LEFT_MARGIN || clip.y + clip.height < TOP_MARGIN) return visible;
+
+        // 23시 일정은 그리드 아래로 넘치므로 마지막 칸으로 모음
+        int firstDay = clamp((clip.x - LEFT_MARGIN) / colWidth, DAYS - 1);
+        int lastDay = clamp((clip.x + clip.width - LEFT_MARGIN) / colWidth, DAYS - 1);
+        int firstRow = clamp((clip.y - TOP_MARGIN) / ROW_HEIGHT, HOURS - 1);
+        int lastRow = clamp((clip.y + clip.height - TOP_MARGIN) / ROW_HEIGHT, HOURS - 1);
+
+        int stamp = ++paintStamp;
+        for (int day = firstDay; day <= lastDay; day++) {
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (Placed p : cells.get(day * HOURS + row)) {
+                    if (p.paintStamp == stamp || !p.intersects(clip)) continue;
+                    p.paintStamp = stamp;
+                    visible.add(p);
+                }
+            }
+        }
+        visible.sort(Comparator.comparingInt(p -> p.order));
+        return visible;
+    }
+
+    private static int clamp(int v, int max) {
+        return Math.max(0, Math.min(v, max));
+    }
+
+    // 격자/시간/날짜: 크기나 주가 바뀌었을 때만 이미지로 다시 그림
+    private void paintBackground(Graphics2D g2) {
+        int width = getWidth();
+        int height = getHeight();
+        AffineTransform tx = g2.getTransform();
+        double scale = Math.max(1.0, tx.getScaleX());   // HiDPI 에서 글자가 흐려지지 않도록
+
+        if (background == null || bgWidth != width || bgHeight != height
+                || bgScale != scale || !weekStart.equals(bgWeek)) {
+            if (background != null) background.flush();
+            int iw = (int) Math.ceil(width * scale);
+            int ih = (int) Math.ceil(height * scale);
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            background = gc != null
+                    ? gc.createCompatibleImage(iw, ih)
+                    : new BufferedImage(iw, ih, BufferedImage.TYPE_INT_RGB);
+
+            Graphics2D bg = background.createGraphics();
+            try {
+                bg.scale(scale, scale);
+                bg.setFont(getFont());
+                Object textAA = g2.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+                if (textAA != null) bg.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, textAA);
+                drawGrid(bg, width, height);
+            } finally {
+                bg.dispose();
+            }
+            bgWidth = width;
+            bgHeight = height;
+            bgScale = scale;
+            bgWeek = weekStart;
+        }
+        g2.drawImage(background, 0, 0, width, height, null);
+    }
+
+    private void drawGrid(Graphics2D g2, int width, int height) {
+        int colWidth = colWidth();
+
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, width, height);
+
+        g2.setColor(GRID_LINE);
+        for (int d = 0; d <= DAYS; d++) {
+            int x = LEFT_MARGIN + d * colWidth;
+            g2.drawLine(x, TOP_MARGIN, x, height);
+        }
+
+        for (int h = 0; h <= HOURS; h++) {
+            int y = TOP_MARGIN + h * ROW_HEIGHT;
+            g2.drawLine(LEFT_MARGIN, y, width, y);
+        }
+
+        g2.setColor(Color.DARK_GRAY);
+        for (int h = 0; h < HOURS; h++) {
+            String label = h + ":00";
+            int y = TOP_MARGIN + h * ROW_HEIGHT + 15;
+            g2.drawString(label, 10, y);
+        }
+
+        for (int i = 0; i < DAYS; i++) {
+            LocalDate d = weekStart.plusDays(i);
+            String text = d.getMonthValue() + "/" + d.getDayOfMonth();
+            int x = LEFT_MARGIN + i * colWidth + 5;
+            g2.drawString(text, x, 20);
+        }
+    }
+}
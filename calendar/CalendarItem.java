@@ -0,0 +1,14 @@
+package calendar;
+
+import javax.swing.JCheckBox;
+
+/**
+ * calendar_list 응답의 캘린더 한 개
+ */
+class CalendarItem {
+    int id;
+    String name;
+    String relation;   // owner / shared / ...
+    String permission; // owner / read / write / full
+    JCheckBox checkBox;
+}
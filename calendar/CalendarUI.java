@@ -4,11 +4,13 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 일정 공유 프로그램 메인 UI
@@ -40,6 +42,19 @@ public class CalendarUI extends JFrame {
     private CalendarGridPanel gridPanel;
     private final List<ScheduleBlock> scheduleBlocks = new ArrayList<>();
 
+    // ------ 서버 요청 (EDT 밖에서 실행) ------
+    private final RequestExecutor requests = new RequestExecutor("calendar-io");
+    private final ScheduleCache scheduleCache = new ScheduleCache();
+    private final ScheduleLoader scheduleLoader = new ScheduleLoader(scheduleCache);
+
+    // ------ 서버 변경 알림 (다른 사용자의 변경도 바로 반영) ------
+    private final ChangeSubscriber changes;
+    private JButton inviteListBtn;   // 대기 중인 초대 수 표시
+
+    // ------ 증분 새로고침 ------
+    private static final int REFRESH_INTERVAL_MS = 5 * 60 * 1000;
+    private String calendarEtag;   // 마지막으로 받은 캘린더 목록의 해시
+
     public CalendarUI(int userId, String userName) {
         this.userId = userId;
         this.userName = userName;
@@ -62,7 +77,25 @@ public class CalendarUI extends JFrame {
 
         updateMonthLabel();
         updateMiniCalendar();
-        loadCalendars();
+        loadInitial();
+        refreshInviteCount();
+
+        changes = new ChangeSubscriber(userId, new ChangeSubscriber.Listener() {
+            @Override
+            public void onChange(ChangeEvent e) {
+                applyChange(e);
+            }
+
+            @Override
+            public void onResync() {
+                // 끊긴 동안 놓친 변경은 커서 이후 변경만 받아서 채움
+                refresh();
+            }
+        });
+        changes.start();
+
+        // 알림을 놓쳤을 때를 대비한 주기적 새로고침 (바뀐 것이 없으면 응답이 거의 비어 있음)
+        new Timer(REFRESH_INTERVAL_MS, e -> refresh()).start();
     }
 
     // ============================================================
@@ -185,7 +218,7 @@ public class CalendarUI extends JFrame {
         JButton delCalBtn = new JButton("캘린더 삭제");
         JButton permBtn = new JButton("권한 관리");
         JButton inviteBtn = new JButton("사용자 초대");
-        JButton inviteListBtn = new JButton("받은 초대");
+        inviteListBtn = new JButton("받은 초대");
 
         bottom.add(reloadCalBtn);
         bottom.add(addCalBtn);
@@ -195,7 +228,7 @@ public class CalendarUI extends JFrame {
         bottom.add(inviteBtn);
         bottom.add(inviteListBtn);
 
-        reloadCalBtn.addActionListener(e -> loadCalendars());
+        reloadCalBtn.addActionListener(e -> refresh());
         addCalBtn.addActionListener(e -> createCalendar());
         editCalBtn.addActionListener(e -> editCalendar());
         delCalBtn.addActionListener(e -> deleteCalendar());
@@ -248,105 +281,201 @@ public class CalendarUI extends JFrame {
     // 서버 통신: 캘린더 & 일정
     // ============================================================
 
-    private void loadCalendars() {
-        calendars.clear();
-        calendarCheckboxPanel.removeAll();
+    // 요청 하나를 백그라운드로 보내고, 응답도 백그라운드에서 binder(ResponseBinder) 로 한 번에 읽어 EDT 에 넘김
+    private <T> void request(JsonWriter req, Function<byte[], T> binder, Consumer<T> onResponse) {
+        requests.run(() -> binder.apply(new Client().sendRaw(req)), onResponse, this::showServerError);
+    }
 
-        try {
-            Client client = new Client("localhost", 5000);
-            String req = "{"
-                    + "\"action\":\"calendar_list\","
-                    + "\"user_id\":" + userId
-                    + "}";
-
-            String res = client.send(req);
-            boolean success = JsonHelper.getBoolean(res, "success", false);
-            if (!success) {
-                JOptionPane.showMessageDialog(this, "캘린더 조회 실패");
-                return;
-            }
+    private void showServerError(Throwable e) {
+        e.printStackTrace();
+        JOptionPane.showMessageDialog(this, "서버 오류\n" + e.getMessage());
+    }
 
-            String[] arr = JsonHelper.getObjectsArray(res, "calendars");
-            for (String obj : arr) {
-                CalendarItem item = new CalendarItem();
-                item.id = JsonHelper.getInt(obj, "id", -1);
-                item.name = JsonHelper.getString(obj, "name");
-                item.relation = JsonHelper.getString(obj, "relation");
-                item.permission = JsonHelper.getString(obj, "permission");
-                if (item.relation == null) item.relation = "";
-                if (item.permission == null) item.permission = "read";
-
-                String text;
-                if ("owner".equals(item.relation)) {
-                    text = "[내] " + item.name + " (owner)";
-                } else if ("shared".equals(item.relation)) {
-                    text = "[공유] " + item.name + " (" + item.permission + ")";
-                } else {
-                    text = item.name;
+    private void loadCalendars() {
+        String etag = calendarEtag;
+        requests.runLatest("calendar_list", () -> {
+            Client client = new Client();
+            ValueWriter req = client.request("calendar_list");
+            if (etag != null) req.name("if_none_match").value(etag);
+            req.name("user_id").value(userId).endObject();
+            return ResponseBinder.readCalendars(client.sendRaw(req));
+        }, this::applyCalendars, this::showServerError);
+    }
+
+    // 시작할 때: 캘린더 목록 + 이번 주 모든 캘린더 일정을 batch 한 번으로 받아 캐시에 채움
+    private void loadInitial() {
+        LocalDate weekStart = currentWeekStart;
+        JsonWriter listReq = JsonWriter.request("calendar_list")
+                .name("user_id").value(userId)
+                .endObject();
+        JsonWriter rangeReq = JsonWriter.request("schedule_range")
+                .name("user_id").value(userId)
+                .name("from").value(weekStart.atStartOfDay())
+                .name("to").value(weekStart.plusDays(7).atStartOfDay())
+                .endObject();
+
+        long stamp = scheduleCache.stamp();
+        requests.runLatest("calendar_list", () -> {
+            Client.BatchResult res = new Client().batch()
+                    .add(listReq)
+                    .add(rangeReq)
+                    .send();
+            if (res.raw(0) == null) throw new IOException(res.message());
+
+            ResponseBinder.ListResponse<CalendarItem> cals = ResponseBinder.readCalendars(res.raw(0));
+            if (cals.success && res.raw(1) != null) {
+                ResponseBinder.ListResponse<ScheduleBlock> week = ResponseBinder.readSchedules(res.raw(1), -1);
+                if (week.success) {
+                    // 같은 트랜잭션에서 읽었으므로 목록의 캘린더 = 일정을 읽은 캘린더
+                    List<Integer> ids = new ArrayList<>();
+                    for (CalendarItem c : cals.items) ids.add(c.id);
+                    scheduleCache.putRange(ids, weekStart, week.items, stamp, week.cursor);
                 }
+            }
+            return cals;
+        }, this::applyCalendars, this::showServerError);
+    }
 
-                item.checkBox = new JCheckBox(text, true);
-                item.checkBox.addActionListener(e -> loadSchedulesForCurrentView());
+    private void applyCalendars(ResponseBinder.ListResponse<CalendarItem> res) {
+        if (res.success && res.notModified) {
+            loadSchedulesForCurrentView();   // 목록은 그대로
+            return;
+        }
+        calendarEtag = res.success ? res.etag : null;
 
-                calendars.add(item);
-                calendarCheckboxPanel.add(item.checkBox);
-            }
+        // 목록을 다시 받아도 사용자가 꺼 둔 캘린더는 그대로 꺼 둠
+        List<Integer> unchecked = new ArrayList<>();
+        for (CalendarItem c : calendars) {
+            if (c.checkBox != null && !c.checkBox.isSelected()) unchecked.add(c.id);
+        }
+        calendars.clear();
+        calendarCheckboxPanel.removeAll();
 
+        if (!res.success) {
             calendarCheckboxPanel.revalidate();
             calendarCheckboxPanel.repaint();
+            JOptionPane.showMessageDialog(this, "캘린더 조회 실패");
+            return;
+        }
 
-            loadSchedulesForCurrentView();
+        for (CalendarItem item : res.items) {
+            String text;
+            if ("owner".equals(item.relation)) {
+                text = "[내] " + item.name + " (owner)";
+            } else if ("shared".equals(item.relation)) {
+                text = "[공유] " + item.name + " (" + item.permission + ")";
+            } else {
+                text = item.name;
+            }
+
+            item.checkBox = new JCheckBox(text, !unchecked.contains(item.id));
+            item.checkBox.addActionListener(e -> loadSchedulesForCurrentView());
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(this, "서버 오류\n" + e.getMessage());
+            calendars.add(item);
+            calendarCheckboxPanel.add(item.checkBox);
         }
+
+        calendarCheckboxPanel.revalidate();
+        calendarCheckboxPanel.repaint();
+
+        // 꺼 둔 캘린더도 다시 켤 때 캐시가 맞도록 전부 구독
+        List<Integer> ids = new ArrayList<>();
+        for (CalendarItem c : calendars) ids.add(c.id);
+        if (changes != null) changes.setCalendars(ids);
+
+        loadSchedulesForCurrentView();
     }
 
     private void loadSchedulesForCurrentView() {
-        scheduleBlocks.clear();
-        LocalDate weekEnd = currentWeekStart.plusDays(7);
-
+        // 화면 상태는 EDT 에서 복사해 두고, 네트워크는 백그라운드에서
+        LocalDate weekStart = currentWeekStart;
+        List<Integer> calendarIds = new ArrayList<>();
         for (CalendarItem cal : calendars) {
             if (cal.checkBox == null || !cal.checkBox.isSelected()) continue;
+            calendarIds.add(cal.id);
+        }
 
-            try {
-                Client client = new Client("localhost", 5000);
-                String req = "{"
-                        + "\"action\":\"schedule_list\","
-                        + "\"calendar_id\":" + cal.id
-                        + "}";
-
-                String res = client.send(req);
-                boolean success = JsonHelper.getBoolean(res, "success", false);
-                if (!success) continue;
-
-                String[] objs = JsonHelper.getObjectsArray(res, "schedules");
-                for (String obj : objs) {
-                    ScheduleBlock b = new ScheduleBlock();
-                    b.id = JsonHelper.getInt(obj, "id", -1);
-                    b.calendarId = cal.id;
-                    b.title = JsonHelper.getString(obj, "title");
-                    b.place = JsonHelper.getString(obj, "place");
-                    if (b.place == null) b.place = "";
-                    String timeStr = JsonHelper.getString(obj, "time");
-
-                    try {
-                        LocalDateTime dt = LocalDateTime.parse(timeStr, TIME_FMT);
-                        LocalDate d = dt.toLocalDate();
-                        if (d.isBefore(currentWeekStart) || !d.isBefore(weekEnd)) continue;
-                        b.dateTime = dt;
-                        scheduleBlocks.add(b);
-                    } catch (Exception ignore) {
-                    }
-                }
+        // 캘린더별로 동시에 받아오고, 도착하는 대로 캘린더 순서에 맞춰 다시 그림
+        // 주 이동을 빠르게 눌러도 마지막 요청 결과만 그림
+        scheduleLoader.load(calendarIds, weekStart, (merged, done) -> {
+            scheduleBlocks.clear();
+            scheduleBlocks.addAll(merged);
+            gridPanel.setSchedules(scheduleBlocks, weekStart);
+        });
+    }
 
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+    // 새로고침: 캘린더 목록은 해시가 같으면 생략, 일정은 커서 이후 바뀐 것만 받음
+    private void refresh() {
+        loadCalendars();
+        scheduleLoader.sync(userId, changed -> {
+            boolean visible = false;
+            for (int id : changed) visible |= isChecked(id);
+            if (visible) loadSchedulesForCurrentView();
+        });
+    }
+
+    // 변경 알림 / 일정 변경 응답 반영
+    private void applyChange(ChangeEvent e) {
+        switch (e.type) {
+            case "schedule_added":
+            case "schedule_updated":
+            case "schedule_deleted":
+                applyScheduleChange(e);
+                break;
+            case "calendar_deleted":
+                scheduleCache.invalidateCalendar(e.calendarId);
+                loadCalendars();
+                break;
+            case "calendar_changed":
+            case "calendars_changed":
+                loadCalendars();
+                break;
+            case "invite_received":
+                refreshInviteCount();
+                break;
+            case "invite_answered":
+                // 받은 사람: 수락한 캘린더가 목록에 생김 / owner: 공유 상태가 바뀜
+                refreshInviteCount();
+                loadCalendars();
+                break;
+            default:
+                break;
         }
+    }
 
-        gridPanel.setSchedules(scheduleBlocks, currentWeekStart);
+    // 캐시된 주 목록만 고치고, 지금 보는 주가 바뀐 경우에만 다시 그림 (캐시에서 바로)
+    private void applyScheduleChange(ChangeEvent e) {
+        boolean visible = false;
+        if (e.oldTime != null) {
+            LocalDate week = ScheduleCache.weekStartOf(e.oldTime.toLocalDate());
+            scheduleCache.removeSchedule(e.calendarId, e.scheduleId, week);
+            visible = week.equals(currentWeekStart);
+        } else if (e.schedule == null) {
+            scheduleCache.invalidateCalendar(e.calendarId);   // 어느 주인지 모름
+            visible = true;
+        }
+        if (e.schedule != null) {
+            scheduleCache.putSchedule(e.schedule);
+            visible |= ScheduleCache.weekStartOf(e.schedule.dateTime.toLocalDate()).equals(currentWeekStart);
+        }
+        if (visible && isChecked(e.calendarId)) loadSchedulesForCurrentView();
+    }
+
+    // 일정 추가/수정/삭제 응답에는 변경 알림과 같은 필드가 실려 옴
+    private void applyChangeResponse(ChangeEvent e, int calendarId) {
+        if (e != null) {
+            applyChange(e);
+        } else {
+            scheduleCache.invalidateCalendar(calendarId);
+            loadSchedulesForCurrentView();
+        }
+    }
+
+    private boolean isChecked(int calendarId) {
+        for (CalendarItem c : calendars) {
+            if (c.id == calendarId) return c.checkBox != null && c.checkBox.isSelected();
+        }
+        return false;
     }
 
     // ============================================================
@@ -370,27 +499,19 @@ public class CalendarUI extends JFrame {
                 visOptions[0]);
         if (visibility == null) visibility = "전체";
 
-        try {
-            Client client = new Client("localhost", 5000);
-            String req = "{"
-                    + "\"action\":\"calendar_add\","
-                    + "\"user_id\":" + userId + ","
-                    + "\"name\":\"" + Client.escape(name) + "\","
-                    + "\"description\":\"" + Client.escape(desc) + "\","
-                    + "\"visibility\":\"" + Client.escape(visibility) + "\""
-                    + "}";
-
-            String res = client.send(req);
-            boolean success = JsonHelper.getBoolean(res, "success", false);
-            String msg = JsonHelper.getString(res, "message");
-            JOptionPane.showMessageDialog(this, msg == null
-                    ? (success ? "캘린더 생성 완료" : "캘린더 생성 실패")
-                    : msg);
-            if (success) loadCalendars();
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        JsonWriter req = JsonWriter.request("calendar_add")
+                .name("user_id").value(userId)
+                .name("name").value(name)
+                .name("description").value(desc)
+                .name("visibility").value(visibility)
+                .endObject();
+
+        request(req, ResponseBinder::readStatus, res -> {
+            JOptionPane.showMessageDialog(this, res.message == null
+                    ? (res.success ? "캘린더 생성 완료" : "캘린더 생성 실패")
+                    : res.message);
+            if (res.success) loadCalendars();
+        });
     }
 
     private CalendarItem chooseOwnerCalendar(String titleMsg) {
@@ -453,27 +574,19 @@ public class CalendarUI extends JFrame {
                 visOptions[0]);
         if (visibility == null) visibility = "전체";
 
-        try {
-            Client client = new Client("localhost", 5000);
-            String req = "{"
-                    + "\"action\":\"calendar_update\","
-                    + "\"calendar_id\":" + cal.id + ","
-                    + "\"user_id\":" + userId + ","
-                    + "\"name\":\"" + Client.escape(newName) + "\","
-                    + "\"description\":\"" + Client.escape(newDesc) + "\","
-                    + "\"visibility\":\"" + Client.escape(visibility) + "\""
-                    + "}";
-
-            String res = client.send(req);
-            boolean ok = JsonHelper.getBoolean(res, "success", false);
-            String msg = JsonHelper.getString(res, "message");
-            JOptionPane.showMessageDialog(this,
-                    msg == null ? (ok ? "수정 완료" : "수정 실패") : msg);
-            if (ok) loadCalendars();
+        JsonWriter req = JsonWriter.request("calendar_update")
+                .name("calendar_id").value(cal.id)
+                .name("user_id").value(userId)
+                .name("name").value(newName)
+                .name("description").value(newDesc)
+                .name("visibility").value(visibility)
+                .endObject();
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        request(req, ResponseBinder::readStatus, res -> {
+            JOptionPane.showMessageDialog(this,
+                    res.message == null ? (res.success ? "수정 완료" : "수정 실패") : res.message);
+            if (res.success) loadCalendars();
+        });
     }
 
     private void deleteCalendar() {
@@ -487,67 +600,48 @@ public class CalendarUI extends JFrame {
                 JOptionPane.YES_NO_OPTION);
         if (c != JOptionPane.YES_OPTION) return;
 
-        try {
-            Client client = new Client("localhost", 5000);
-            String req = "{"
-                    + "\"action\":\"calendar_delete\","
-                    + "\"calendar_id\":" + cal.id + ","
-                    + "\"user_id\":" + userId
-                    + "}";
-
-            String res = client.send(req);
-            boolean ok = JsonHelper.getBoolean(res, "success", false);
-            String msg = JsonHelper.getString(res, "message");
-            JOptionPane.showMessageDialog(this,
-                    msg == null ? (ok ? "삭제 완료" : "삭제 실패") : msg);
-            if (ok) loadCalendars();
+        JsonWriter req = JsonWriter.request("calendar_delete")
+                .name("calendar_id").value(cal.id)
+                .name("user_id").value(userId)
+                .endObject();
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        request(req, ResponseBinder::readStatus, res -> {
+            JOptionPane.showMessageDialog(this,
+                    res.message == null ? (res.success ? "삭제 완료" : "삭제 실패") : res.message);
+            if (res.success) {
+                scheduleCache.invalidateCalendar(cal.id);
+                loadCalendars();
+            }
+        });
     }
 
     private void managePermissions() {
         CalendarItem cal = chooseOwnerCalendar("권한을 관리할 캘린더를 선택하세요.");
         if (cal == null) return;
 
-        try {
-            Client client = new Client("localhost", 5000);
-            String req = "{"
-                    + "\"action\":\"calendar_share_list\","
-                    + "\"calendar_id\":" + cal.id + ","
-                    + "\"user_id\":" + userId
-                    + "}";
-
-            String res = client.send(req);
-            boolean ok = JsonHelper.getBoolean(res, "success", false);
-            if (!ok) {
-                String msg = JsonHelper.getString(res, "message");
+        JsonWriter req = JsonWriter.request("calendar_share_list")
+                .name("calendar_id").value(cal.id)
+                .name("user_id").value(userId)
+                .endObject();
+
+        request(req, ResponseBinder::readShares, res -> {
+            if (!res.success) {
                 JOptionPane.showMessageDialog(this,
-                        msg == null ? "공유 목록 조회 실패" : msg);
+                        res.message == null ? "공유 목록 조회 실패" : res.message);
                 return;
             }
 
-            String[] objs = JsonHelper.getObjectsArray(res, "shares");
-            if (objs.length == 0) {
+            List<ShareItem> shares = res.items;
+            if (shares.isEmpty()) {
                 JOptionPane.showMessageDialog(this, "공유된 사용자가 없습니다.");
                 return;
             }
 
-            int[] shareIds = new int[objs.length];
-            String[] display = new String[objs.length];
-
-            for (int i = 0; i < objs.length; i++) {
-                String obj = objs[i];
-                int shareId = JsonHelper.getInt(obj, "share_id", -1);
-                String targetName = JsonHelper.getString(obj, "target_name");
-                String email = JsonHelper.getString(obj, "target_email");
-                String status = JsonHelper.getString(obj, "status");
-                String perm = JsonHelper.getString(obj, "permission");
-
-                shareIds[i] = shareId;
-                display[i] = targetName + " (" + email + ") - "
-                        + status + " / 권한: " + perm;
+            String[] display = new String[shares.size()];
+            for (int i = 0; i < display.length; i++) {
+                ShareItem sh = shares.get(i);
+                display[i] = sh.targetName + " (" + sh.targetEmail + ") - "
+                        + sh.status + " / 권한: " + sh.permission;
             }
 
             JList<String> list = new JList<>(display);
@@ -567,7 +661,7 @@ public class CalendarUI extends JFrame {
                 return;
             }
 
-            int shareId = shareIds[idx];
+            int shareId = shares.get(idx).shareId;
 
             String[] perms = {"read", "write", "full"};
             String newPerm = (String) JOptionPane.showInputDialog(
@@ -580,23 +674,18 @@ public class CalendarUI extends JFrame {
                     perms[0]);
             if (newPerm == null) return;
 
-            String req2 = "{"
-                    + "\"action\":\"calendar_set_permission\","
-                    + "\"share_id\":" + shareId + ","
-                    + "\"user_id\":" + userId + ","
-                    + "\"permission\":\"" + newPerm + "\""
-                    + "}";
-            String res2 = client.send(req2);
-            boolean ok2 = JsonHelper.getBoolean(res2, "success", false);
-            String msg2 = JsonHelper.getString(res2, "message");
-            JOptionPane.showMessageDialog(this,
-                    msg2 == null ? (ok2 ? "권한 변경 완료" : "권한 변경 실패") : msg2);
-
-            if (ok2) loadCalendars();
+            JsonWriter req2 = JsonWriter.request("calendar_set_permission")
+                    .name("share_id").value(shareId)
+                    .name("user_id").value(userId)
+                    .name("permission").value(newPerm)
+                    .endObject();
+            request(req2, ResponseBinder::readStatus, res2 -> {
+                JOptionPane.showMessageDialog(this,
+                        res2.message == null ? (res2.success ? "권한 변경 완료" : "권한 변경 실패") : res2.message);
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+                if (res2.success) loadCalendars();
+            });
+        });
     }
 
     // ============================================================
@@ -657,28 +746,21 @@ public class CalendarUI extends JFrame {
         String memo = JOptionPane.showInputDialog(this, "메모(옵션):");
         if (memo == null) memo = "";
 
-        try {
-            Client client = new Client("localhost", 5000);
-            String req = "{"
-                    + "\"action\":\"schedule_add\","
-                    + "\"calendar_id\":" + target.id + ","
-                    + "\"user_id\":" + userId + ","
-                    + "\"title\":\"" + Client.escape(title) + "\","
-                    + "\"time\":\"" + Client.escape(time) + "\","
-                    + "\"place\":\"" + Client.escape(place) + "\","
-                    + "\"memo\":\"" + Client.escape(memo) + "\""
-                    + "}";
-
-            String res = client.send(req);
-            boolean ok = JsonHelper.getBoolean(res, "success", false);
-            String msg = JsonHelper.getString(res, "message");
+        int calendarId = target.id;
+        JsonWriter req = JsonWriter.request("schedule_add")
+                .name("calendar_id").value(target.id)
+                .name("user_id").value(userId)
+                .name("title").value(title)
+                .name("time").value(time)
+                .name("place").value(place)
+                .name("memo").value(memo)
+                .endObject();
+
+        request(req, ResponseBinder::readChangeResponse, res -> {
             JOptionPane.showMessageDialog(this,
-                    msg == null ? (ok ? "일정 등록 완료" : "등록 실패") : msg);
-            if (ok) loadSchedulesForCurrentView();
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+                    res.message == null ? (res.success ? "일정 등록 완료" : "등록 실패") : res.message);
+            if (res.success) applyChangeResponse(res.event, calendarId);
+        });
     }
 
     private void showScheduleDetail(ScheduleBlock b) {
@@ -703,12 +785,12 @@ public class CalendarUI extends JFrame {
         if (choice == 0) {
             editSchedule(b);
         } else if (choice == 1) {
-            deleteSchedule(b.id, b.calendarId);
+            deleteSchedule(b);
         }
     }
 
-    private void deleteSchedule(int scheduleId, int calendarId) {
-        String perm = getPermissionForCalendar(calendarId);
+    private void deleteSchedule(ScheduleBlock b) {
+        String perm = getPermissionForCalendar(b.calendarId);
         if (!"owner".equals(perm) && !"full".equals(perm)) {
             JOptionPane.showMessageDialog(this, "이 일정을 삭제할 권한이 없습니다.");
             return;
@@ -721,24 +803,16 @@ public class CalendarUI extends JFrame {
                 JOptionPane.YES_NO_OPTION);
         if (c != JOptionPane.YES_OPTION) return;
 
-        try {
-            Client client = new Client("localhost", 5000);
-            String req = "{"
-                    + "\"action\":\"schedule_delete\","
-                    + "\"schedule_id\":" + scheduleId + ","
-                    + "\"user_id\":" + userId
-                    + "}";
-
-            String res = client.send(req);
-            boolean ok = JsonHelper.getBoolean(res, "success", false);
-            String msg = JsonHelper.getString(res, "message");
-            JOptionPane.showMessageDialog(this,
-                    msg == null ? (ok ? "삭제 완료" : "삭제 실패") : msg);
-            if (ok) loadSchedulesForCurrentView();
+        JsonWriter req = JsonWriter.request("schedule_delete")
+                .name("schedule_id").value(b.id)
+                .name("user_id").value(userId)
+                .endObject();
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        request(req, ResponseBinder::readChangeResponse, res -> {
+            JOptionPane.showMessageDialog(this,
+                    res.message == null ? (res.success ? "삭제 완료" : "삭제 실패") : res.message);
+            if (res.success) applyChangeResponse(res.event, b.calendarId);
+        });
     }
 
     private void editSchedule(ScheduleBlock b) {
@@ -763,28 +837,20 @@ public class CalendarUI extends JFrame {
         String newMemo = JOptionPane.showInputDialog(this, "새 메모:");
         if (newMemo == null) newMemo = "";
 
-        try {
-            Client client = new Client("localhost", 5000);
-            String req = "{"
-                    + "\"action\":\"schedule_update\","
-                    + "\"schedule_id\":" + b.id + ","
-                    + "\"user_id\":" + userId + ","
-                    + "\"title\":\"" + Client.escape(newTitle) + "\","
-                    + "\"time\":\"" + Client.escape(newTime) + "\","
-                    + "\"place\":\"" + Client.escape(newPlace) + "\","
-                    + "\"memo\":\"" + Client.escape(newMemo) + "\""
-                    + "}";
-
-            String res = client.send(req);
-            boolean ok = JsonHelper.getBoolean(res, "success", false);
-            String msg = JsonHelper.getString(res, "message");
-            JOptionPane.showMessageDialog(this,
-                    msg == null ? (ok ? "수정 완료" : "수정 실패") : msg);
-            if (ok) loadSchedulesForCurrentView();
+        JsonWriter req = JsonWriter.request("schedule_update")
+                .name("schedule_id").value(b.id)
+                .name("user_id").value(userId)
+                .name("title").value(newTitle)
+                .name("time").value(newTime)
+                .name("place").value(newPlace)
+                .name("memo").value(newMemo)
+                .endObject();
 
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        request(req, ResponseBinder::readChangeResponse, res -> {
+            JOptionPane.showMessageDialog(this,
+                    res.message == null ? (res.success ? "수정 완료" : "수정 실패") : res.message);
+            if (res.success) applyChangeResponse(res.event, b.calendarId);   // 예전 주에서 빼고 새 주에 넣음
+        });
     }
 
     // ============================================================
@@ -800,307 +866,145 @@ public class CalendarUI extends JFrame {
         CalendarItem cal = chooseOwnerCalendar("공유할 캘린더를 선택하세요.");
         if (cal == null) return;
 
-        String email = JOptionPane.showInputDialog(this, "공유할 사용자의 이메일:");
-        if (email == null || email.trim().isEmpty()) return;
-        email = email.trim();
+        String input = JOptionPane.showInputDialog(this, "공유할 사용자의 이메일:");
+        if (input == null || input.trim().isEmpty()) return;
+        String email = input.trim();
 
-        try {
-            Client client = new Client("localhost", 5000);
-
-            // 1단계: email → user_id 조회
-            String findReq = "{"
-                    + "\"action\":\"find_user\","
-                    + "\"email\":\"" + Client.escape(email) + "\""
-                    + "}";
-            String findRes = client.send(findReq);
-
-            boolean found = JsonHelper.getBoolean(findRes, "success", false);
-            if (!found) {
-                String msg = JsonHelper.getString(findRes, "message");
-                JOptionPane.showMessageDialog(this,
-                        msg == null ? "사용자를 찾을 수 없습니다." : msg);
-                return;
-            }
-
-            int targetId = JsonHelper.getInt(findRes, "user_id", -1);
-            String targetName = JsonHelper.getString(findRes, "name");
+        int confirm = JOptionPane.showConfirmDialog(
+                this,
+                "사용자 (" + email + ")에게\n"
+                        + "캘린더 \"" + cal.name + "\" 을(를) 공유하시겠습니까?",
+                "초대 확인",
+                JOptionPane.YES_NO_OPTION
+        );
+        if (confirm != JOptionPane.YES_OPTION) return;
+
+        // email → user_id 조회와 초대 전송을 한 번에 (조회 결과의 user_id 를 그대로 사용)
+        JsonWriter findReq = JsonWriter.request("find_user")
+                .name("email").value(email)
+                .endObject();
+        JsonWriter inviteReq = JsonWriter.request("invite_send")
+                .name("user_id").value(userId)
+                .name("target_id").rawValue(Client.Batch.ref(0, "user_id"))
+                .name("calendar_id").value(cal.id)
+                .endObject();
+
+        requests.run(() -> new Client().batch()
+                        .add(findReq)
+                        .add(inviteReq)
+                        .atomic(true)
+                        .send(),
+                res -> {
+                    ResponseBinder.UserResponse found = res.raw(0) == null ? null : ResponseBinder.readUser(res.raw(0));
+                    if (found == null || !found.success) {
+                        String msg = found == null ? res.message() : found.message;
+                        JOptionPane.showMessageDialog(this,
+                                msg == null ? "사용자를 찾을 수 없습니다." : msg);
+                        return;
+                    }
 
-            int confirm = JOptionPane.showConfirmDialog(
-                    this,
-                    "사용자 \"" + targetName + "\" (" + email + ")에게\n"
-                            + "캘린더 \"" + cal.name + "\" 을(를) 공유하시겠습니까?",
-                    "초대 확인",
-                    JOptionPane.YES_NO_OPTION
-            );
-            if (confirm != JOptionPane.YES_OPTION) return;
-
-            // 2단계: 초대 전송
-            String inviteReq = "{"
-                    + "\"action\":\"invite_send\","
-                    + "\"user_id\":" + userId + ","
-                    + "\"target_id\":" + targetId + ","
-                    + "\"calendar_id\":" + cal.id
-                    + "}";
-            String inviteRes = client.send(inviteReq);
-            boolean success = JsonHelper.getBoolean(inviteRes, "success", false);
-            String msg = JsonHelper.getString(inviteRes, "message");
-            JOptionPane.showMessageDialog(this,
-                    msg == null ? (success ? "초대 전송 완료" : "초대 전송 실패") : msg);
+                    ResponseBinder.Status sent = res.raw(1) == null ? null : ResponseBinder.readStatus(res.raw(1));
+                    boolean success = sent != null && sent.success;
+                    String msg = sent == null ? null : sent.message;
+                    JOptionPane.showMessageDialog(this,
+                            (found.name == null ? "" : found.name + ": ")
+                                    + (msg == null ? (success ? "초대 전송 완료" : "초대 전송 실패") : msg));
+                },
+                this::showServerError);
+    }
 
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            JOptionPane.showMessageDialog(this, "서버 오류\n" + ex.getMessage());
-        }
+    // '받은 초대' 버튼에 대기 중인 초대 수 표시 (알림으로 부르는 것이라 실패해도 대화상자는 띄우지 않음)
+    private void refreshInviteCount() {
+        JsonWriter req = JsonWriter.request("invite_list")
+                .name("target_id").value(userId)
+                .endObject();
+
+        requests.runLatest("invite_list",
+                () -> ResponseBinder.readInvites(new Client().sendRaw(req)),
+                res -> {
+                    if (!res.success) return;
+                    int n = res.items.size();
+                    inviteListBtn.setText(n > 0 ? "받은 초대 (" + n + ")" : "받은 초대");
+                },
+                Throwable::printStackTrace);
     }
 
     private void showReceivedInvites() {
-        try {
-            Client client = new Client("localhost", 5000);
-            String jsonReq = "{"
-                    + "\"action\":\"invite_list\","
-                    + "\"target_id\":" + userId
-                    + "}";
-
-            String resStr = client.send(jsonReq);
-            boolean success = JsonHelper.getBoolean(resStr, "success", false);
-            if (!success) {
-                String msg = JsonHelper.getString(resStr, "message");
-                JOptionPane.showMessageDialog(this,
-                        msg == null ? "초대 목록 조회 실패" : msg);
-                return;
-            }
-
-            String[] objs = JsonHelper.getObjectsArray(resStr, "invites");
-            if (objs.length == 0) {
-                JOptionPane.showMessageDialog(this, "받은 초대가 없습니다.");
-                return;
-            }
-
-            int[] shareIds = new int[objs.length];
-            String[] inviteTexts = new String[objs.length];
-
-            for (int i = 0; i < objs.length; i++) {
-                String obj = objs[i];
-                int shareId = JsonHelper.getInt(obj, "id", -1);
-                String fromUser = JsonHelper.getString(obj, "from_user");
-                String calName = JsonHelper.getString(obj, "calendar_name");
-                shareIds[i] = shareId;
-                inviteTexts[i] = "초대ID " + shareId + " - " + fromUser + " 님이 "
-                        + "\"" + calName + "\" 캘린더를 공유했습니다.";
-            }
-
-            JList<String> list = new JList<>(inviteTexts);
-            JScrollPane scroll = new JScrollPane(list);
-            scroll.setPreferredSize(new Dimension(550, 200));
+        JsonWriter jsonReq = JsonWriter.request("invite_list")
+                .name("target_id").value(userId)
+                .endObject();
 
-            int option = JOptionPane.showConfirmDialog(
-                    this,
-                    scroll,
-                    "받은 초대 목록",
-                    JOptionPane.YES_NO_OPTION
-            );
-            if (option != JOptionPane.YES_OPTION) return;
-
-            int idx = list.getSelectedIndex();
-            if (idx < 0) {
-                JOptionPane.showMessageDialog(this, "처리할 초대를 선택하세요.");
-                return;
-            }
-
-            int shareId = shareIds[idx];
+        request(jsonReq, ResponseBinder::readInvites, this::chooseInvite);
+    }
 
-            Object[] options = {"수락", "거절", "취소"};
-            int choice = JOptionPane.showOptionDialog(
-                    this,
-                    "선택한 초대를 어떻게 처리할까요?",
-                    "초대 처리",
-                    JOptionPane.YES_NO_CANCEL_OPTION,
-                    JOptionPane.QUESTION_MESSAGE,
-                    null,
-                    options,
-                    options[0]
-            );
-            if (choice == JOptionPane.CANCEL_OPTION || choice == -1) return;
-
-            String status = (choice == JOptionPane.YES_OPTION) ? "accept" : "reject";
-
-            String respReq = "{"
-                    + "\"action\":\"invite_response\","
-                    + "\"share_id\":" + shareId + ","
-                    + "\"status\":\"" + status + "\""
-                    + "}";
-            String respRes = client.send(respReq);
-            boolean ok = JsonHelper.getBoolean(respRes, "success", false);
-            String msg = JsonHelper.getString(respRes, "message");
+    // 받은 초대 목록을 보여주고 수락/거절 처리
+    private void chooseInvite(ResponseBinder.ListResponse<InviteItem> res) {
+        if (!res.success) {
             JOptionPane.showMessageDialog(this,
-                    msg == null ? (ok ? "초대 처리 완료" : "초대 처리 실패") : msg);
-
-            if (ok && "accept".equals(status)) {
-                loadCalendars();
-            }
-
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            JOptionPane.showMessageDialog(this, "서버 오류\n" + ex.getMessage());
+                    res.message == null ? "초대 목록 조회 실패" : res.message);
+            return;
         }
-    }
-
-    // ============================================================
-    // 내부 클래스들
-    // ============================================================
-
-    private static class CalendarItem {
-        int id;
-        String name;
-        String relation;   // owner / shared / ...
-        String permission; // owner / read / write / full
-        JCheckBox checkBox;
-    }
-
-    private static class ScheduleBlock {
-        int id;
-        int calendarId;
-        LocalDateTime dateTime;
-        String title;
-        String place;
-    }
 
-    /**
-     * 중앙 Google Calendar 스타일 주간 그리드
-     * - 시간 셀 고정 50px
-     * - 일정 클릭 감지
-     * - JScrollPane 안에 넣어서 스크롤 가능
-     */
-    private static class CalendarGridPanel extends JPanel {
-
-        private List<ScheduleBlock> schedules = new ArrayList<>();
-        private LocalDate weekStart = LocalDate.now();
-
-        public void setSchedules(List<ScheduleBlock> schedules, LocalDate weekStart) {
-            this.schedules = new ArrayList<>(schedules);
-            this.weekStart = weekStart;
-            repaint();
+        List<InviteItem> invites = res.items;
+        if (invites.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "받은 초대가 없습니다.");
+            return;
         }
 
-        // 💡 JScrollPane이 전체 높이를 알 수 있도록 preferredSize 지정
-        @Override
-        public Dimension getPreferredSize() {
-            int leftMargin = 70;
-            int topMargin = 30;
-            int days = 7;
-            int hours = 24;
-            int colWidth = 140;    // 대략 값
-            int rowHeight = 50;    // 고정
-
-            int width = leftMargin + colWidth * days + 20;
-            int height = topMargin + rowHeight * hours + 20;
-            return new Dimension(width, height);
+        String[] inviteTexts = new String[invites.size()];
+        for (int i = 0; i < inviteTexts.length; i++) {
+            InviteItem inv = invites.get(i);
+            inviteTexts[i] = "초대ID " + inv.shareId + " - " + inv.fromUser + " 님이 "
+                    + "\"" + inv.calendarName + "\" 캘린더를 공유했습니다.";
         }
 
-        // 일정 클릭 감지
-        public ScheduleBlock findScheduleAt(int mx, int my) {
-            int leftMargin = 70;
-            int topMargin = 30;
-
-            int width = getWidth();
-            int days = 7;
-            int hours = 24;
-
-            int colWidth = (width - leftMargin) / days;
-            int rowHeight = 50;  // 고정
+        JList<String> list = new JList<>(inviteTexts);
+        JScrollPane scroll = new JScrollPane(list);
+        scroll.setPreferredSize(new Dimension(550, 200));
 
-            for (ScheduleBlock b : schedules) {
-                int dayIndex = (int) ChronoUnit.DAYS.between(weekStart, b.dateTime.toLocalDate());
-                if (dayIndex < 0 || dayIndex >= 7) continue;
-
-                LocalTime t = b.dateTime.toLocalTime();
-                double hourPos = t.getHour() + t.getMinute() / 60.0;
-
-                int x = leftMargin + dayIndex * colWidth + 3;
-                int y = topMargin + (int) (hourPos * rowHeight) + 3;
-                int w = colWidth - 6;
-                int h = Math.max(rowHeight - 6, rowHeight / 2);
+        int option = JOptionPane.showConfirmDialog(
+                this,
+                scroll,
+                "받은 초대 목록",
+                JOptionPane.YES_NO_OPTION
+        );
+        if (option != JOptionPane.YES_OPTION) return;
 
-                if (mx >= x && mx <= x + w && my >= y && my <= y + h) {
-                    return b;
-                }
-            }
-            return null;
+        int idx = list.getSelectedIndex();
+        if (idx < 0) {
+            JOptionPane.showMessageDialog(this, "처리할 초대를 선택하세요.");
+            return;
         }
 
-        @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            if (getWidth() <= 0 || getHeight() <= 0) return;
+        int shareId = invites.get(idx).shareId;
 
-            Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-                    RenderingHints.VALUE_ANTIALIAS_ON);
-
-            int leftMargin = 70;
-            int topMargin = 30;
-
-            int width = getWidth();
-            int height = getHeight();
-
-            int days = 7;
-            int hours = 24;
-
-            int colWidth = (width - leftMargin) / days;
-            int rowHeight = 50;  // 고정
-
-            g2.setColor(Color.WHITE);
-            g2.fillRect(0, 0, width, height);
-
-            g2.setColor(new Color(220, 220, 220));
-            for (int d = 0; d <= days; d++) {
-                int x = leftMargin + d * colWidth;
-                g2.drawLine(x, topMargin, x, height);
-            }
-
-            for (int h = 0; h <= hours; h++) {
-                int y = topMargin + h * rowHeight;
-                g2.drawLine(leftMargin, y, width, y);
-            }
+        Object[] options = {"수락", "거절", "취소"};
+        int choice = JOptionPane.showOptionDialog(
+                this,
+                "선택한 초대를 어떻게 처리할까요?",
+                "초대 처리",
+                JOptionPane.YES_NO_CANCEL_OPTION,
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                options,
+                options[0]
+        );
+        if (choice == JOptionPane.CANCEL_OPTION || choice == -1) return;
 
-            g2.setColor(Color.DARK_GRAY);
-            for (int h = 0; h < hours; h++) {
-                String label = h + ":00";
-                int y = topMargin + h * rowHeight + 15;
-                g2.drawString(label, 10, y);
-            }
+        String status = (choice == JOptionPane.YES_OPTION) ? "accept" : "reject";
 
-            for (int i = 0; i < days; i++) {
-                LocalDate d = weekStart.plusDays(i);
-                String text = d.getMonthValue() + "/" + d.getDayOfMonth();
-                int x = leftMargin + i * colWidth + 5;
-                g2.drawString(text, x, 20);
-            }
+        JsonWriter respReq = JsonWriter.request("invite_response")
+                .name("share_id").value(shareId)
+                .name("status").value(status)
+                .endObject();
+        request(respReq, ResponseBinder::readStatus, respRes -> {
+            JOptionPane.showMessageDialog(this,
+                    respRes.message == null ? (respRes.success ? "초대 처리 완료" : "초대 처리 실패") : respRes.message);
 
-            for (ScheduleBlock b : schedules) {
-                LocalDate date = b.dateTime.toLocalDate();
-                int dayIndex = (int) ChronoUnit.DAYS.between(weekStart, date);
-                if (dayIndex < 0 || dayIndex >= 7) continue;
-
-                LocalTime t = b.dateTime.toLocalTime();
-                double hourPos = t.getHour() + t.getMinute() / 60.0;
-
-                int x = leftMargin + dayIndex * colWidth + 3;
-                int y = topMargin + (int) (hourPos * rowHeight) + 3;
-                int w = colWidth - 6;
-                int h = Math.max(rowHeight - 6, rowHeight / 2);
-
-                g2.setColor(new Color(135, 206, 250));
-                g2.fillRoundRect(x, y, w, h, 10, 10);
-                g2.setColor(new Color(70, 130, 180));
-                g2.drawRoundRect(x, y, w, h, 10, 10);
-
-                Shape oldClip = g2.getClip();
-                g2.setClip(x + 4, y + 4, w - 8, h - 8);
-                g2.setColor(Color.BLACK);
-                g2.drawString(b.title, x + 8, y + 20);
-                g2.setClip(oldClip);
+            if (respRes.success && "accept".equals(status)) {
+                loadCalendars();
             }
-        }
+            if (respRes.success) refreshInviteCount();
+        });
     }
 }
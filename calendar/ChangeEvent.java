@@ -0,0 +1,29 @@
+package calendar;
+
+import java.time.LocalDateTime;
+
+/**
+ * 서버가 구독 연결로 보내는 변경 알림 한 개
+ * (일정 추가/수정/삭제 응답에도 같은 필드가 실려 옴)
+ * - schedule_added   : schedule
+ * - schedule_updated : scheduleId, oldTime, schedule
+ * - schedule_deleted : scheduleId, oldTime
+ * - calendar_changed / calendar_deleted : calendarId
+ * - calendars_changed: 내 캘린더 목록(권한 등)이 바뀜
+ * - invite_received  : calendarId (나에게 새 초대가 옴)
+ * - invite_answered  : calendarId (초대가 수락/거절됨: 받은 사람과 그 캘린더를 보는 사람에게)
+ */
+class ChangeEvent {
+    static final String[] TYPES = {
+            "schedule_added", "schedule_updated", "schedule_deleted",
+            "calendar_changed", "calendar_deleted", "calendars_changed",
+            "invite_received", "invite_answered",
+            "subscribed", "ping"
+    };
+
+    String type;
+    int calendarId = -1;
+    int scheduleId = -1;
+    LocalDateTime oldTime;      // 수정/삭제 전 일정 시간 (어느 주가 바뀌었는지)
+    ScheduleBlock schedule;     // 추가/수정 후 일정
+}
@@ -0,0 +1,181 @@
+package calendar;
+
+import javax.swing.SwingUtilities;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 서버 변경 알림 구독 (요청용 연결 풀과 별도의 오래 유지되는 연결 하나)
+ * - subscribe 요청으로 보고 있는 캘린더 id 들을 알려 주면 서버가 변경 이벤트를 흘려보냄
+ * - 캘린더 목록이 바뀌면 같은 연결로 subscribe 를 다시 보냄 (보내기는 calendar-push 스레드만:
+ *   읽기를 POLL_MS 마다 깨워 바뀐 목록이 있으면 보냄 → setCalendars 를 부른 EDT 는 소켓을 건드리지 않음)
+ * - 연결이 끊기면 점점 간격을 늘려 다시 연결, 끊긴 동안 놓친 변경이 있을 수 있으므로 onResync
+ * - 서버는 이벤트가 없어도 PING 간격마다 ping 을 보냄 → READ_TIMEOUT_MS 동안 아무것도 없으면 끊긴 것으로 봄
+ */
+final class ChangeSubscriber {
+
+    private static final int READ_TIMEOUT_MS = 60_000;
+    private static final int POLL_MS = 200;
+    private static final long MIN_BACKOFF_MS = 1000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    /**
+     * 변경 알림 콜백 (EDT 에서 호출)
+     */
+    interface Listener {
+        void onChange(ChangeEvent e);
+
+        // 다시 연결됨: 끊긴 동안의 변경을 모르므로 화면 데이터를 새로 읽어야 함
+        void onResync();
+    }
+
+    private final String host;
+    private final int port;
+    private final int userId;
+    private final Listener listener;
+
+    private volatile List<Integer> calendarIds = new ArrayList<>();
+    private volatile boolean resubscribe;   // 보내지 않은 목록 변경이 있음
+    private volatile Socket socket;
+    private volatile boolean closed;
+    private Thread thread;
+
+    // 설정(ClientConfig)의 서버: 다시 연결할 때마다 그때 가장 가까운 서버로
+    ChangeSubscriber(int userId, Listener listener) {
+        this(null, 0, userId, listener);
+    }
+
+    ChangeSubscriber(String host, int port, int userId, Listener listener) {
+        this.host = host;
+        this.port = port;
+        this.userId = userId;
+        this.listener = listener;
+    }
+
+    void start() {
+        thread = new Thread(this::run, "calendar-push");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // 구독할 캘린더 목록 교체. 서버에는 calendar-push 스레드가 POLL_MS 안에 보냄 (연결 전이면 연결할 때)
+    void setCalendars(List<Integer> ids) {
+        calendarIds = new ArrayList<>(ids);
+        resubscribe = true;
+    }
+
+    void close() {
+        closed = true;
+        Socket s = socket;
+        if (s != null) closeQuietly(s);
+        if (thread != null) thread.interrupt();
+    }
+
+    private void run() {
+        long backoff = MIN_BACKOFF_MS;
+        boolean connectedBefore = false;
+        while (!closed) {
+            ClientConfig.Endpoint server = host != null
+                    ? new ClientConfig.Endpoint(host, port) : ClientConfig.get().endpoint();
+            try (Socket s = new Socket()) {
+                s.connect(new InetSocketAddress(server.host, server.port), ClientConfig.get().connectTimeoutMs);
+                s.setSoTimeout(POLL_MS);
+                s.setTcpNoDelay(true);
+                s.setKeepAlive(true);
+
+                socket = s;
+                resubscribe = false;
+                writeSubscribe(s);
+                if (connectedBefore) SwingUtilities.invokeLater(listener::onResync);
+                connectedBefore = true;
+                backoff = MIN_BACKOFF_MS;
+
+                readEvents(s);
+            } catch (IOException | RuntimeException e) {
+                // 서버 응답 없음(SocketTimeoutException) / 연결 끊김: 아래에서 backoff 뒤 다시 연결
+            } finally {
+                socket = null;
+            }
+            if (closed) break;
+
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                break;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    private void readEvents(Socket s) throws IOException {
+        InputStream in = new BufferedInputStream(s.getInputStream());
+        byte[] header = new byte[Framing.HEADER_BYTES];
+        long lastRead = System.currentTimeMillis();
+        while (!closed) {
+            lastRead = readFully(s, in, header, lastRead);
+            byte[] body = new byte[Framing.checkLength(ByteBuffer.wrap(header).getInt())];
+            lastRead = readFully(s, in, body, lastRead);
+
+            ChangeEvent e = ResponseBinder.readChangeEvent(body);
+            if (e == null || "ping".equals(e.type) || "subscribed".equals(e.type)) continue;
+            SwingUtilities.invokeLater(() -> listener.onChange(e));
+        }
+    }
+
+    // POLL_MS 마다 깨어나 바뀐 구독 목록을 보냄 (프레임 도중이어도 읽던 위치는 그대로)
+    // READ_TIMEOUT_MS 동안 한 바이트도 없으면 SocketTimeoutException. 돌려주는 값은 마지막으로 읽은 시각
+    private long readFully(Socket s, InputStream in, byte[] buf, long lastRead) throws IOException {
+        int off = 0;
+        while (off < buf.length) {
+            if (resubscribe) {
+                resubscribe = false;   // 목록을 읽기 전에 지워야 그 사이의 변경을 놓치지 않음
+                writeSubscribe(s);
+            }
+            int n;
+            try {
+                n = in.read(buf, off, buf.length - off);
+            } catch (SocketTimeoutException e) {
+                if (System.currentTimeMillis() - lastRead >= READ_TIMEOUT_MS) throw e;
+                continue;
+            }
+            if (n < 0) throw new EOFException("구독 연결 종료");
+            off += n;
+            lastRead = System.currentTimeMillis();
+        }
+        return lastRead;
+    }
+
+    private void writeSubscribe(Socket s) throws IOException {
+        JsonWriter req = JsonWriter.request("subscribe")
+                .name("user_id").value(userId)
+                .name("calendar_ids").beginArray();
+        for (int id : calendarIds) req.value(id);
+        req.endArray().endObject();
+
+        try {
+            byte[] body = req.buffer();
+            OutputStream out = s.getOutputStream();
+            out.write(ByteBuffer.allocate(Framing.HEADER_BYTES).putInt(req.length()).array());
+            out.write(body, 0, req.length());
+            out.flush();
+        } finally {
+            req.release();
+        }
+    }
+
+    private static void closeQuietly(Socket s) {
+        try {
+            s.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package calendar;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 서버(host:port)별 회로 차단기: 서버가 죽어 있는 동안 요청마다 시간 제한까지 기다리지 않고 바로 실패
+ * - CLOSED: 정상. 연달아 failures 번 실패(연결 실패 / 시간 초과 / 도중 끊김)하면 OPEN
+ * - OPEN: openMs 동안 요청을 보내지 않고 OpenException
+ * - HALF_OPEN: openMs 가 지나면 요청 하나만 시험으로 보냄 → 성공하면 CLOSED, 실패하면 다시 OPEN
+ * - success=false 응답은 서버가 답한 것이므로 성공으로 셈
+ * - 서버와 상관없는 실패(RuntimeException / Error)는 release(): 세지 않고 시험 자리만 비움
+ * - 파이프라인 연결이 끊겨 같은 예외로 함께 실패한 요청들은 실패 한 번으로 셈
+ * - 정상 상태에서는 volatile 읽기만 (요청마다 잠금 없음)
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 차단 중이라 보내지 않은 요청 (재시도하지 않음)
+     */
+    static final class OpenException extends IOException {
+        OpenException(String server, long retryInMs) {
+            super("서버 연결 차단 중: " + server + " (" + Math.max(1, retryInMs / 1000) + "초 후 다시 시도)");
+        }
+    }
+
+    private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+
+    static CircuitBreaker of(String host, int port) {
+        return BREAKERS.computeIfAbsent(host + ":" + port, CircuitBreaker::new);
+    }
+
+    // 서버별 상태 (ClientMetrics 출력용)
+    static Map<String, CircuitBreaker> all() {
+        return BREAKERS;
+    }
+
+    private final String server;
+    private final int maxFailures;
+    private final long openMs;
+
+    private volatile State state = State.CLOSED;
+    private volatile int failures;   // 연달아 실패한 횟수
+    private long openedAt;
+    private boolean trialInFlight;
+    private Throwable lastCause;
+
+    private CircuitBreaker(String server) {
+        this.server = server;
+        this.maxFailures = ClientConfig.get().breakerFailures;
+        this.openMs = ClientConfig.get().breakerOpenMs;
+    }
+
+    State state() {
+        return state;
+    }
+
+    // 요청 보내기 전에: 보내도 되면 그냥 돌아오고, 아니면 OpenException
+    void acquire() throws OpenException {
+        if (state == State.CLOSED) return;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (state == State.OPEN && now - openedAt >= openMs) {
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.HALF_OPEN && !trialInFlight) {
+                trialInFlight = true;   // 이 요청이 시험 요청
+                return;
+            }
+            if (state == State.CLOSED) return;
+            ClientMetrics.rejected.increment();
+            throw new OpenException(server, openedAt + openMs - now);
+        }
+    }
+
+    void onSuccess() {
+        if (state == State.CLOSED && failures == 0) return;
+        synchronized (this) {
+            failures = 0;
+            trialInFlight = false;
+            if (state != State.CLOSED) {
+                state = State.CLOSED;
+                ClientMetrics.recoveries.increment();
+            }
+        }
+    }
+
+    void onFailure(Throwable cause) {
+        synchronized (this) {
+            if (cause == lastCause && state != State.HALF_OPEN) return;
+            lastCause = cause;
+            failures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= maxFailures)) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+                trialInFlight = false;
+                ClientMetrics.trips.increment();
+            }
+        }
+    }
+
+    // 결과를 셀 수 없이 끝난 요청: 시험 요청이었다면 다음 요청이 시험할 수 있게 자리만 비움
+    void release() {
+        if (state != State.HALF_OPEN) return;
+        synchronized (this) {
+            trialInFlight = false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return server + "=" + state;
+    }
+}
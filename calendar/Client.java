@@ -1,38 +1,539 @@
 package calendar;
 
-import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.Socket;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * 서버 요청 보내기 (블로킹 send / sendRaw, 파이프라인 sendAsync, batch)
+ * - 요청마다 액션별 응답 시간 제한 (ClientConfig 의 calendar.timeoutMs / calendar.timeout.<action>)
+ * - 연결 실패 / 시간 초과 / 도중 끊김이면 다시 보내도 되는 액션(읽기)만 지수 backoff + jitter 로 재시도
+ * - 서버(host:port)마다 CircuitBreaker: 서버가 죽어 있으면 기다리지 않고 바로 실패
+ * - 재시도 / 시간 초과 / 차단 횟수는 ClientMetrics
+ */
 public class Client {
 
+    // 서버(host:port)별 파이프라인 연결 하나 (sendAsync 용)
+    private static final Map<String, PipelinedConnection> PIPELINES = new ConcurrentHashMap<>();
+    private static final long PIPELINE_IDLE_MS = ClientConfig.get().poolIdleMs;
+
+    // 서버(host:port)별 협상 결과 (본문 형식 / 압축), 없으면 아직 협상 전
+    private static final Map<String, WireFormat.Options> NEGOTIATED = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> NEGOTIATING = new ConcurrentHashMap<>();
+    private static final byte[] HELLO =
+            "{\"action\":\"hello\",\"wire\":[\"binary\",\"json\"],\"compress\":[\"deflate\"]}"
+                    .getBytes(StandardCharsets.UTF_8);
+
     private final String host;
     private final int port;
+    private final ConnectionPool pool;
+    private final CircuitBreaker breaker;
+    private final NioTransport transport;   // null 이면 블로킹 연결 풀 / 공유 파이프라인 연결
+    private AsyncConnection session;        // transport 를 쓸 때 이 Client 전용 연결
+
+    // 설정(ClientConfig)의 서버. 여러 개면 지금 RTT 가 가장 짧은 서버
+    public Client() {
+        this(ClientConfig.get().endpoint());
+    }
+
+    private Client(ClientConfig.Endpoint server) {
+        this(server.host, server.port, null);
+    }
 
     public Client(String host, int port) {
+        this(host, port, null);
+    }
+
+    // transport 위에 Client 마다 연결 하나 (세션 수천 개를 이벤트 루프 스레드 몇 개로 돌릴 때)
+    // 응답을 기다리는 sendRaw 는 이벤트 루프 스레드(sendAsync 콜백) 안에서 부르면 안 됨
+    Client(String host, int port, NioTransport transport) {
         this.host = host;
         this.port = port;
+        // 같은 서버로 가는 Client 끼리는 연결 풀을 공유 → 매번 new Client 해도 핸드셰이크 없음
+        this.pool = ConnectionPool.of(host, port);
+        this.breaker = CircuitBreaker.of(host, port);
+        this.transport = transport;
     }
 
+    // 문자열 API 는 항상 JSON 으로 주고받음 (JsonHelper 로 읽는 쪽). 압축은 협상했으면 사용
     public String send(String json) throws Exception {
-        try (Socket sock = new Socket(host, port)) {
-            OutputStream out = sock.getOutputStream();
-            out.write(json.getBytes(StandardCharsets.UTF_8));
-            out.flush();
+        byte[] b = json.getBytes(StandardCharsets.UTF_8);
+        return new String(exchange(b, b.length, textOptions()), StandardCharsets.UTF_8);
+    }
+
+    public String send(JsonWriter req) throws Exception {
+        try {
+            return new String(exchange(req.buffer(), req.length(), textOptions()), StandardCharsets.UTF_8);
+        } finally {
+            req.release();
+        }
+    }
+
+    // 응답 본문 바이트 그대로 받기 (ResponseBinder / WireFormat.reader 로 바로 읽을 때)
+    // 서버와 바이너리 형식을 협상했으면 요청/응답 모두 바이너리 (압축은 받을 때 이미 풀림)
+    public byte[] sendRaw(String json) throws Exception {
+        byte[] b = json.getBytes(StandardCharsets.UTF_8);
+        return exchangeJson(b, b.length, negotiated());
+    }
+
+    // 작성기 버퍼를 복사하지 않고 그대로 소켓에 씀 (보낸 뒤 작성기는 풀로 돌아감)
+    public byte[] sendRaw(JsonWriter req) throws Exception {
+        try {
+            return exchangeJson(req.buffer(), req.length(), negotiated());
+        } finally {
+            req.release();
+        }
+    }
+
+    // request(action) 로 만든 요청: 바이너리 작성기면 변환 없이 그대로 보냄
+    byte[] sendRaw(ValueWriter req) throws Exception {
+        if (req instanceof JsonWriter) return sendRaw((JsonWriter) req);
+        byte[] body = ((BinaryWriter) req).toByteArray();
+        return exchange(body, body.length, negotiated());
+    }
+
+    /**
+     * 이 서버와 협상한 형식으로 바로 쓰는 요청 작성기 → sendRaw / sendAsync
+     * - 바이너리를 협상했으면 BinaryWriter: JSON 을 만들었다가 다시 읽어 바꾸는 단계가 없음
+     * - 협상 결과를 보기만 하고 hello 는 보내지 않으므로 어느 스레드에서 불러도 됨 (협상 전이면 JsonWriter)
+     */
+    ValueWriter request(String action) {
+        WireFormat.Options known = ClientConfig.get().jsonOnly ? null : NEGOTIATED.get(host + ":" + port);
+        ValueWriter w = known != null && known.binary ? new BinaryWriter() : JsonWriter.create();
+        return w.beginObject().name("action").value(action);
+    }
+
+    private WireFormat.Options textOptions() {
+        WireFormat.Options wire = negotiated();
+        return wire.binary ? new WireFormat.Options(false, wire.deflate) : wire;
+    }
+
+    // JSON 으로 만든 요청 (앞 len 바이트): 바이너리를 협상했으면 바꿔서 보냄
+    private byte[] exchangeJson(byte[] json, int len, WireFormat.Options wire) throws Exception {
+        if (!wire.binary) return exchange(json, len, wire);
+        byte[] body = BinaryWriter.fromJson(json, len);
+        return exchange(body, body.length, wire);
+    }
 
-            InputStream in = sock.getInputStream();
-            byte[] buf = new byte[8192];
-            int n = in.read(buf);
-            if (n == -1) return "";
+    // body: 이미 보낼 형식인 요청 본문 (앞 len 바이트)
+    private byte[] exchange(byte[] body, int len, WireFormat.Options wire) throws Exception {
+        if (transport != null) return await(sendAsync(Arrays.copyOf(body, len), wire));
+        ClientConfig config = ClientConfig.get();
+        String action = actionOf(body, len);
+        long timeoutMs = config.timeoutMs(action);
+        int retries = config.retryable(action) ? config.retryMax : 0;
+
+        for (int attempt = 0; ; attempt++) {
+            breaker.acquire();
+            try {
+                byte[] res = exchangeOnce(body, len, wire, timeoutMs, config.retryable(action));
+                breaker.onSuccess();
+                return res;
+            } catch (IOException e) {
+                breaker.onFailure(e);
+                if (e instanceof SocketTimeoutException) ClientMetrics.timeouts.increment();
+                if (attempt >= retries) throw e;
+                ClientMetrics.retries.increment();
+                Thread.sleep(backoffMs(attempt));
+            } catch (RuntimeException | Error e) {
+                breaker.release();
+                throw e;
+            }
+        }
+    }
+
+    // idempotent: 보낸 뒤 끊긴 재사용 연결이면 새 연결로 바로 한 번 더 보내도 되는 액션인지
+    private byte[] exchangeOnce(byte[] payload, int len, WireFormat.Options wire, long timeoutMs,
+                                boolean idempotent) throws IOException {
+        PooledConnection conn = pool.borrow();
+        boolean reused = conn.isReused();
+        try {
+            byte[] res = conn.exchange(payload, len, wire.deflate, timeoutMs);
+            pool.release(conn);
+            return res;
+        } catch (PooledConnection.StaleConnectionException e) {
+            pool.invalidate(conn);
+            if (!canResend(e, reused, idempotent)) throw e;
+        } catch (IOException | RuntimeException e) {
+            pool.invalidate(conn);
+            throw e;
+        }
+
+        // 재사용한 연결이 서버 쪽에서 이미 닫혀 있었던 경우: 새 연결로 한 번만 재시도
+        ClientMetrics.retries.increment();
+        PooledConnection fresh = pool.borrow();
+        try {
+            byte[] res = fresh.exchange(payload, len, wire.deflate, timeoutMs);
+            pool.release(fresh);
+            return res;
+        } catch (IOException | RuntimeException e) {
+            pool.invalidate(fresh);
+            throw e;
+        }
+    }
+
+    // 응답을 기다리지 않고 보냄: 여러 요청이 파이프라인 연결 하나를 같이 쓰고
+    // 응답은 도착하는 대로 (요청 순서와 무관하게) 각 future 를 완료 (완료는 연결의 읽기 스레드에서)
+    // 응답 형식은 sendRaw 와 같음
+    // 연결 맺기와 보내기는 부른 스레드에서 하므로 (최대 connectTimeoutMs) EDT 에서 부르지 말 것
+    public CompletableFuture<byte[]> sendAsync(String json) {
+        WireFormat.Options wire = negotiated();
+        return sendAsync(WireFormat.encode(json.getBytes(StandardCharsets.UTF_8), wire.binary), wire);
+    }
+
+    // 재시도할 때 다시 써야 하므로 작성기 내용은 복사해 두고 작성기는 바로 풀로 돌려줌
+    public CompletableFuture<byte[]> sendAsync(JsonWriter req) {
+        WireFormat.Options wire = negotiated();
+        byte[] body;
+        try {
+            body = wire.binary ? BinaryWriter.fromJson(req.buffer(), req.length()) : req.toByteArray();
+        } finally {
+            req.release();
+        }
+        return sendAsync(body, wire);
+    }
+
+    // request(action) 로 만든 요청 (바이너리 작성기면 변환 없이)
+    CompletableFuture<byte[]> sendAsync(ValueWriter req) {
+        if (req instanceof JsonWriter) return sendAsync((JsonWriter) req);
+        return sendAsync(((BinaryWriter) req).toByteArray(), negotiated());
+    }
+
+    // body: 이미 보낼 형식인 요청 본문
+    private CompletableFuture<byte[]> sendAsync(byte[] body, WireFormat.Options wire) {
+        CompletableFuture<byte[]> out = new CompletableFuture<>();
+        ClientConfig config = ClientConfig.get();
+        String action = actionOf(body, body.length);
+        boolean idempotent = config.retryable(action);
+        attemptAsync(body, wire, config.timeoutMs(action), idempotent, idempotent ? config.retryMax : 0, 0, out);
+        return out;
+    }
+
+    // 블로킹 exchange 와 같은 규칙: 차단 확인 → 보내기 → 실패하면 backoff 뒤에 재시도 (스레드를 막지 않고 예약)
+    private void attemptAsync(byte[] body, WireFormat.Options wire, long timeoutMs, boolean idempotent,
+                              int retries, int attempt, CompletableFuture<byte[]> out) {
+        try {
+            breaker.acquire();
+        } catch (CircuitBreaker.OpenException e) {
+            out.completeExceptionally(e);
+            return;
+        }
+        CompletableFuture<byte[]> one = new CompletableFuture<>();
+        sendAsync(body, wire, timeoutMs, idempotent, true, one);
+        one.whenComplete((res, err) -> {
+            if (err == null) {
+                breaker.onSuccess();
+                out.complete(res);
+                return;
+            }
+            if (!(err instanceof IOException)) {
+                breaker.release();
+                out.completeExceptionally(err);
+                return;
+            }
+            breaker.onFailure(err);
+            if (err instanceof SocketTimeoutException) ClientMetrics.timeouts.increment();
+            if (attempt >= retries) {
+                out.completeExceptionally(err);
+                return;
+            }
+            ClientMetrics.retries.increment();
+            CompletableFuture.delayedExecutor(backoffMs(attempt), TimeUnit.MILLISECONDS)
+                    .execute(() -> attemptAsync(body, wire, timeoutMs, idempotent, retries, attempt + 1, out));
+        });
+    }
+
+    // mayResend: 끊긴 연결로 인한 즉시 재전송을 아직 하지 않았음 (한 번만)
+    private void sendAsync(byte[] body, WireFormat.Options wire, long timeoutMs, boolean idempotent,
+                           boolean mayResend, CompletableFuture<byte[]> out) {
+        // 여기서 던지면 out 이 끝나지 않아 차단기 시험 자리가 비지 않으므로 모든 실패를 out 으로 넘김
+        boolean reused;
+        CompletableFuture<byte[]> sent;
+        try {
+            AsyncConnection conn = transport != null ? session() : pipeline();
+            reused = conn.isReused();
+            sent = conn.send(body, wire);
+        } catch (Throwable e) {
+            out.completeExceptionally(e);
+            return;
+        }
+        if (timeoutMs > 0) sent.orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        sent.whenComplete((res, err) -> {
+            if (err instanceof CompletionException && err.getCause() != null) err = err.getCause();
+            if (err == null) {
+                out.complete(res);
+            } else if (err instanceof TimeoutException) {
+                // 이 요청만 실패: 연결은 늦은 응답을 버리고 계속 씀 (응답이 아예 없는 연결이면 연결이 스스로 닫음)
+                out.completeExceptionally(new SocketTimeoutException("응답 시간 초과 (" + timeoutMs + "ms)"));
+            } else if (mayResend && err instanceof PooledConnection.StaleConnectionException
+                    && canResend((PooledConnection.StaleConnectionException) err, reused, idempotent)) {
+                // 재사용한 연결이 서버 쪽에서 이미 닫혀 있었던 경우: 새 연결로 한 번만 재시도
+                ClientMetrics.retries.increment();
+                sendAsync(body, wire, timeoutMs, idempotent, false, out);
+            } else {
+                out.completeExceptionally(err);
+            }
+        });
+    }
+
+    // 끊긴 연결에 보낸 요청을 새 연결로 다시 보내도 되는지
+    // 보내기 전에 끊긴 걸 알았으면 항상, 쓴 뒤에 끊겼으면 (서버가 이미 실행했을 수 있으므로) 재사용 연결의 멱등 액션만
+    private static boolean canResend(PooledConnection.StaleConnectionException e, boolean reused, boolean idempotent) {
+        return e.unsent || (reused && idempotent);
+    }
 
-            return new String(buf, 0, n, StandardCharsets.UTF_8);
+    /**
+     * 이 서버와 쓸 본문 형식 / 압축
+     * - 처음 한 번 hello 요청(JSON)으로 서버가 아는 형식을 물어봄. 답이 오기 전까지는 압축 없는 JSON
+     * - hello 를 모르는 예전 서버는 실패 응답을 주므로 압축 없는 JSON 으로 고정
+     * - 설정이 calendar.wire=json 이면 묻지 않고 항상 압축 없는 JSON (패킷을 눈으로 볼 때)
+     */
+    private WireFormat.Options negotiated() {
+        if (ClientConfig.get().jsonOnly) return WireFormat.Options.JSON;
+        String key = host + ":" + port;
+        WireFormat.Options known = NEGOTIATED.get(key);
+        if (known != null) return known;
+        if (NEGOTIATING.putIfAbsent(key, Boolean.TRUE) == null) {
+            sendAsync(HELLO, WireFormat.Options.JSON).whenComplete((res, err) -> {
+                if (err == null) {
+                    String text = new String(res, StandardCharsets.UTF_8);
+                    NEGOTIATED.put(key, new WireFormat.Options(
+                            "binary".equals(JsonHelper.getString(text, "wire")),
+                            "deflate".equals(JsonHelper.getString(text, "compress"))));
+                }
+                NEGOTIATING.remove(key);   // 실패(연결 안 됨 등)면 다음 요청 때 다시 물어봄
+            });
         }
+        return WireFormat.Options.JSON;
     }
 
-    // JSON 문자열에서 사용할 escape
+    // 재시도 간격: attempt 마다 2배 (retry.baseMs ~ retry.maxMs), 절반은 무작위
+    // → 같은 순간에 실패한 클라이언트들이 한꺼번에 다시 몰리지 않게
+    private static long backoffMs(int attempt) {
+        ClientConfig config = ClientConfig.get();
+        long cap = Math.min(config.retryMaxMs, config.retryBaseMs << Math.min(attempt, 20));
+        return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+    }
+
+    // 요청의 action (시간 제한 / 재시도 여부를 고를 때). 모든 요청은 action 을 첫 필드로 씀
+    static String actionOf(byte[] body, int len) {
+        try {
+            ValueReader r = WireFormat.isBinary(body) ? new BinaryReader(body) : new JsonReader(body, 0, len);
+            r.beginObject();
+            while (r.hasNext()) {
+                if ("action".equals(r.nextName())) return r.nextString();
+                r.skipValue();
+            }
+        } catch (RuntimeException ignored) {
+            // JSON 이 아니면 서버가 실패 응답을 줌: 기본 시간 제한, 재시도 없음
+        }
+        return null;
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> f) throws Exception {
+        try {
+            return f.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw e;
+        }
+    }
+
+    private synchronized AsyncConnection session() throws IOException {
+        if (session != null && session.isOpen() && session.idleMillis() < PIPELINE_IDLE_MS) return session;
+        if (session != null) session.close();
+        session = transport.open(host, port);
+        return session;
+    }
+
+    // transport 연결을 닫음 (연결 풀 / 공유 파이프라인 연결은 다른 Client 와 같이 쓰므로 그대로 둠)
+    public synchronized void close() {
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+    }
+
+    private PipelinedConnection pipeline() throws IOException {
+        String key = host + ":" + port;
+        synchronized (PIPELINES) {
+            PipelinedConnection conn = PIPELINES.get(key);
+            if (conn != null && conn.isOpen() && conn.idleMillis() < PIPELINE_IDLE_MS) return conn;
+            if (conn != null) conn.close();
+            conn = new PipelinedConnection(host, port);
+            PIPELINES.put(key, conn);
+            return conn;
+        }
+    }
+
+    // 여러 요청을 한 번에 보내는 batch 만들기
+    public Batch batch() {
+        return new Batch(this);
+    }
+
+    /**
+     * batch 요청 빌더
+     * - add 한 순서대로 서버에서 한 DB 트랜잭션으로 실행, 왕복은 한 번
+     * - 앞 요청 결과를 뒤 요청에 쓰려면 값 자리에 ref(index, key) 를 넣음
+     * - atomic(true): 하나라도 실패하면 전부 롤백
+     */
+    public static final class Batch {
+        private final Client client;
+        // {"action":"batch","requests":[ … 를 add 할 때마다 이어 씀 (atomic 은 send 때 뒤에 붙임)
+        private final JsonWriter body = JsonWriter.request("batch").name("requests").beginArray();
+        private int size;
+        private boolean atomic;
+
+        private Batch(Client client) {
+            this.client = client;
+        }
+
+        public Batch add(String json) {
+            body.rawValue(json);
+            size++;
+            return this;
+        }
+
+        // 요청 작성기 내용을 batch 본문에 옮겨 쓰고 작성기는 풀로 돌려줌
+        public Batch add(JsonWriter req) {
+            try {
+                body.rawValue(req);
+            } finally {
+                req.release();
+            }
+            size++;
+            return this;
+        }
+
+        public Batch atomic(boolean atomic) {
+            this.atomic = atomic;
+            return this;
+        }
+
+        // index 번째 요청 응답의 key 값 (JSON 값 자리에 그대로 넣음, JsonWriter.rawValue)
+        public static String ref(int index, String key) {
+            return "{\"$ref\":\"" + index + "." + escape(key) + "\"}";
+        }
+
+        public BatchResult send() throws Exception {
+            body.endArray().name("atomic").value(atomic).endObject();
+            return BatchResult.read(client.sendRaw(body), size);
+        }
+    }
+
+    /**
+     * batch 응답: 요청별 응답 원문 (실행되지 않은 요청은 null)
+     */
+    public static final class BatchResult {
+        private boolean success;
+        private String message;
+        private final byte[][] results;
+
+        private BatchResult(int n) {
+            results = new byte[n][];
+        }
+
+        // {"success": true, "results": [{...}, {...}]} 에서 요청별 객체 원문을 잘라 둠
+        // 바이너리 본문이면 잘라 낸 조각도 MAGIC 을 붙인 바이너리 본문
+        static BatchResult read(byte[] res, int n) {
+            BatchResult out = new BatchResult(n);
+            boolean binary = WireFormat.isBinary(res);
+            ValueReader r = WireFormat.reader(res);
+            r.beginObject();
+            while (r.hasNext()) {
+                String name = r.nextName();
+                if ("success".equals(name) && r.peek() == JsonReader.Token.BOOLEAN) {
+                    out.success = r.nextBoolean();
+                } else if ("message".equals(name)) {
+                    out.message = r.nextString();
+                } else if ("results".equals(name) && r.peek() == JsonReader.Token.BEGIN_ARRAY) {
+                    r.beginArray();
+                    for (int i = 0; r.hasNext(); i++) {
+                        int start = r.tokenStart();
+                        r.skipValue();
+                        if (i < n) {
+                            int prefix = binary ? 1 : 0;
+                            byte[] one = new byte[prefix + r.position() - start];
+                            if (binary) one[0] = WireFormat.MAGIC;
+                            System.arraycopy(res, start, one, prefix, one.length - prefix);
+                            out.results[i] = one;
+                        }
+                    }
+                    r.endArray();
+                } else {
+                    r.skipValue();
+                }
+            }
+            r.endObject();
+            return out;
+        }
+
+        // 모든 요청이 성공했는지
+        public boolean success() {
+            return success;
+        }
+
+        // batch 자체가 거절됐을 때의 메시지
+        public String message() {
+            return message;
+        }
+
+        public int size() {
+            return results.length;
+        }
+
+        // 응답 본문 (ResponseBinder / WireFormat.reader 로 읽음)
+        public byte[] raw(int index) {
+            return results[index];
+        }
+
+        // 응답 JSON 텍스트 (바이너리로 받았어도 JSON 으로 바꿔 줌)
+        public String get(int index) {
+            byte[] b = results[index];
+            return b == null ? null : WireFormat.toJson(b);
+        }
+    }
+
+    // JSON 문자열 안에 넣을 escape (" \\ 와 제어 문자). 새 코드는 JsonWriter 를 쓸 것
     public static String escape(String s) {
         if (s == null) return "";
-        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String rep;
+            if (c == '"' || c == '\\') {
+                rep = c == '"' ? "\\\"" : "\\\\";
+            } else if (c < 0x20) {
+                switch (c) {
+                    case '\n':
+                        rep = "\\n";
+                        break;
+                    case '\r':
+                        rep = "\\r";
+                        break;
+                    case '\t':
+                        rep = "\\t";
+                        break;
+                    default:
+                        rep = String.format("\\u%04x", (int) c);
+                }
+            } else {
+                if (sb != null) sb.append(c);
+                continue;
+            }
+            if (sb == null) sb = new StringBuilder(s.length() + 16).append(s, 0, i);
+            sb.append(rep);
+        }
+        return sb == null ? s : sb.toString();
     }
 }
@@ -0,0 +1,216 @@
+package calendar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * 클라이언트 설정 (서버 주소 / 연결 풀 / 시간 제한 / 재시도 / 회로 차단기 / 버퍼 크기 / 본문 형식)
+ * - 설정 파일: -Dcalendar.config=경로, 없으면 작업 디렉터리의 calendar.properties (있을 때만)
+ * - 같은 이름의 시스템 속성(-Dcalendar.pool.max=16 등)이 파일 값보다 우선
+ * - 처음 get() 할 때 한 번 읽음. 값이 잘못됐으면 IllegalArgumentException
+ *
+ *   calendar.endpoints=seoul.example.com:5000,busan.example.com:5000   (host[:port], 기본 포트 5000)
+ *   calendar.endpoint.select=latency   (latency: RTT 가 가장 짧은 서버 / first: 항상 첫 번째)
+ *   calendar.endpoint.probeMs=30000    (RTT 다시 재는 간격)
+ *   calendar.pool.max=8  calendar.pool.idleMs=30000  calendar.connectTimeoutMs=3000
+ *   calendar.buffer.read=16384  calendar.buffer.nio=65536
+ *   calendar.timeoutMs=10000            (응답 시간 제한, 0 = 없음)
+ *   calendar.timeout.<action>=ms         (액션별, 기본: hello 3000 / batch 30000)
+ *   calendar.retry.max=2  calendar.retry.baseMs=100  calendar.retry.maxMs=2000
+ *   calendar.retry.actions=calendar_list,schedule_range,...   (다시 보내도 되는 액션, 기본은 읽기 요청)
+ *   calendar.breaker.failures=5  calendar.breaker.openMs=5000
+ *   calendar.wire=auto                  (auto: hello 로 바이너리/압축 협상 / json: 항상 압축 없는 JSON, 패킷을 눈으로 볼 때)
+ */
+final class ClientConfig {
+
+    static final int DEFAULT_PORT = 5000;
+
+    /**
+     * 서버 하나 (host:port)
+     */
+    static final class Endpoint {
+        final String host;
+        final int port;
+
+        Endpoint(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        // "host" 또는 "host:port"
+        static Endpoint parse(String text) {
+            String s = text.trim();
+            int colon = s.lastIndexOf(':');
+            if (colon < 0) return new Endpoint(s, DEFAULT_PORT);
+            return new Endpoint(s.substring(0, colon), Integer.parseInt(s.substring(colon + 1).trim()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Endpoint)) return false;
+            Endpoint e = (Endpoint) o;
+            return port == e.port && host.equals(e.host);
+        }
+
+        @Override
+        public int hashCode() {
+            return host.hashCode() * 31 + port;
+        }
+
+        @Override
+        public String toString() {
+            return host + ":" + port;
+        }
+    }
+
+    // 다시 보내도 서버 상태가 바뀌지 않는 요청 (쓰기 / batch 는 두 번 실행될 수 있으므로 빼 둠)
+    private static final String DEFAULT_RETRY_ACTIONS = "hello,login,find_user,calendar_list,schedule_list,"
+            + "schedule_range,schedule_sync,invite_list,calendar_share_list";
+
+    private static volatile ClientConfig instance;
+
+    final List<Endpoint> endpoints;
+    final boolean latencyAware;
+    final long probeIntervalMs;
+    final int poolMaxTotal;
+    final long poolIdleMs;
+    final int connectTimeoutMs;
+    final int readBufferBytes;
+    final int nioBufferBytes;
+    final long timeoutMs;
+    private final Map<String, Long> actionTimeoutMs = new HashMap<>();
+    final int retryMax;
+    final long retryBaseMs;
+    final long retryMaxMs;
+    private final Set<String> retryActions = new HashSet<>();
+    final int breakerFailures;
+    final long breakerOpenMs;
+    final boolean jsonOnly;
+
+    private volatile EndpointSelector selector;
+
+    private ClientConfig(Properties p) {
+        List<Endpoint> list = new ArrayList<>();
+        for (String part : p.getProperty("calendar.endpoints", "localhost:" + DEFAULT_PORT).split(",")) {
+            if (part.isBlank()) continue;
+            try {
+                list.add(Endpoint.parse(part));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("잘못된 설정 값 calendar.endpoints=" + part);
+            }
+        }
+        if (list.isEmpty()) throw new IllegalArgumentException("calendar.endpoints 에 서버가 없습니다.");
+        endpoints = Collections.unmodifiableList(list);
+
+        String select = p.getProperty("calendar.endpoint.select", "latency").trim();
+        if (!"latency".equals(select) && !"first".equals(select)) {
+            throw new IllegalArgumentException("잘못된 설정 값 calendar.endpoint.select=" + select);
+        }
+        latencyAware = "latency".equals(select);
+        probeIntervalMs = number(p, "calendar.endpoint.probeMs", 30_000, 1_000);
+        poolMaxTotal = (int) number(p, "calendar.pool.max", 8, 1);
+        poolIdleMs = number(p, "calendar.pool.idleMs", 30_000, 1_000);   // 서버 idle timeout(60초)보다 짧게
+        connectTimeoutMs = (int) number(p, "calendar.connectTimeoutMs", 3000, 1);
+        readBufferBytes = (int) number(p, "calendar.buffer.read", 16 * 1024, 1024);
+        nioBufferBytes = (int) number(p, "calendar.buffer.nio", 64 * 1024, 1024);
+
+        timeoutMs = number(p, "calendar.timeoutMs", 10_000, 0);
+        actionTimeoutMs.put("hello", 3_000L);   // 협상은 짧게: 안 되면 JSON 으로 계속 씀
+        actionTimeoutMs.put("batch", 30_000L);
+        for (String name : p.stringPropertyNames()) {
+            if (name.startsWith("calendar.timeout.")) {
+                actionTimeoutMs.put(name.substring("calendar.timeout.".length()), number(p, name, 0, 0));
+            }
+        }
+        retryMax = (int) number(p, "calendar.retry.max", 2, 0);
+        retryBaseMs = number(p, "calendar.retry.baseMs", 100, 1);
+        retryMaxMs = number(p, "calendar.retry.maxMs", 2_000, retryBaseMs);
+        for (String action : p.getProperty("calendar.retry.actions", DEFAULT_RETRY_ACTIONS).split(",")) {
+            if (!action.isBlank()) retryActions.add(action.trim());
+        }
+        breakerFailures = (int) number(p, "calendar.breaker.failures", 5, 1);
+        breakerOpenMs = number(p, "calendar.breaker.openMs", 5_000, 1);
+
+        String wire = p.getProperty("calendar.wire", "auto").trim();
+        if (!"auto".equalsIgnoreCase(wire) && !"json".equalsIgnoreCase(wire)) {
+            throw new IllegalArgumentException("잘못된 설정 값 calendar.wire=" + wire);
+        }
+        jsonOnly = "json".equalsIgnoreCase(wire);
+    }
+
+    // 이 액션의 응답 시간 제한 (0 = 없음)
+    long timeoutMs(String action) {
+        Long ms = action == null ? null : actionTimeoutMs.get(action);
+        return ms != null ? ms : timeoutMs;
+    }
+
+    // 실패했을 때 다시 보내도 되는 액션인지
+    boolean retryable(String action) {
+        return action != null && retryActions.contains(action);
+    }
+
+    static ClientConfig get() {
+        ClientConfig c = instance;
+        if (c == null) {
+            synchronized (ClientConfig.class) {
+                c = instance;
+                if (c == null) instance = c = new ClientConfig(load());
+            }
+        }
+        return c;
+    }
+
+    // 설정 파일 + 시스템 속성 (calendar.* 만)
+    private static Properties load() {
+        Properties p = new Properties();
+        String configured = System.getProperty("calendar.config");
+        Path file = Paths.get(configured != null ? configured : "calendar.properties");
+        if (configured != null || Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                p.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("설정 파일을 읽을 수 없습니다: " + file, e);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("calendar.")) p.setProperty(name, System.getProperty(name));
+        }
+        return p;
+    }
+
+    private static long number(Properties p, String key, long def, long min) {
+        String v = p.getProperty(key);
+        if (v == null) return def;
+        try {
+            long n = Long.parseLong(v.trim());
+            if (n >= min) return n;
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("잘못된 설정 값 " + key + "=" + v + " (" + min + " 이상의 정수)");
+    }
+
+    // 지금 쓸 서버: 하나뿐이거나 select=first 면 첫 번째, 아니면 EndpointSelector 가 고른 서버
+    Endpoint endpoint() {
+        if (endpoints.size() == 1 || !latencyAware) return endpoints.get(0);
+        EndpointSelector s = selector;
+        if (s == null) {
+            synchronized (this) {
+                s = selector;
+                if (s == null) selector = s = new EndpointSelector(endpoints, probeIntervalMs);
+            }
+        }
+        return s.current();
+    }
+}
@@ -0,0 +1,35 @@
+package calendar;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client 장애 대응 카운터 (프로세스 전체 누적)
+ * - retries: 멱등 요청을 다시 보낸 횟수
+ * - timeouts: 응답 시간 제한을 넘긴 요청 수 (재시도한 시도도 각각 셈)
+ * - trips: 회로 차단기가 OPEN 으로 바뀐 횟수
+ * - recoveries: 시험 요청이 성공해 회로 차단기가 다시 CLOSED 로 바뀐 횟수
+ * - rejected: 차단 중이라 보내지 않고 바로 실패한 요청 수
+ * - endpointSwitches: EndpointSelector 가 요청을 보낼 서버를 바꾼 횟수
+ */
+final class ClientMetrics {
+
+    static final LongAdder retries = new LongAdder();
+    static final LongAdder timeouts = new LongAdder();
+    static final LongAdder trips = new LongAdder();
+    static final LongAdder recoveries = new LongAdder();
+    static final LongAdder rejected = new LongAdder();
+    static final LongAdder endpointSwitches = new LongAdder();
+
+    private ClientMetrics() {
+    }
+
+    static String summary() {
+        return "retries=" + retries.sum()
+                + " timeouts=" + timeouts.sum()
+                + " breaker trips=" + trips.sum()
+                + " recoveries=" + recoveries.sum()
+                + " rejected=" + rejected.sum()
+                + " endpoint switches=" + endpointSwitches.sum()
+                + " " + CircuitBreaker.all().values();
+    }
+}
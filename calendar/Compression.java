@@ -0,0 +1,93 @@
+package calendar;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 큰 본문 압축: raw deflate + 미리 정한 사전(preset dictionary)
+ * - 목록 응답은 행마다 같은 필드 이름이 반복됨 → 사전에 프로토콜 키를 넣어 두면 첫 행부터 짧게 줄어듦
+ * - THRESHOLD 보다 작거나 압축해도 줄지 않으면 그대로 보냄
+ * - Deflater / Inflater 는 만들 때 native 메모리를 잡으므로 스레드마다 하나씩 재사용
+ * - 사전은 calendar_server.py 의 DEFLATE_DICTIONARY 와 바이트 단위로 같아야 함
+ */
+final class Compression {
+
+    static final int THRESHOLD = 1024;
+    static final int LEVEL = 1;   // CompressionBenchmark: 6 은 15~25% 더 작지만 압축 CPU 가 2~3배
+
+    // 자주 나오는 것일수록 뒤쪽 (deflate 는 가까운 거리를 더 짧게 표현)
+    static final byte[] DICTIONARY = (
+            "\"message\": \"\", \"success\": false, "
+                    + "\"shares\": [{\"share_id\": , \"target_id\": , \"status\": \"accept\", "
+                    + "\"permission\": \"write\", \"target_name\": \"\", \"target_email\": \"@\"}, "
+                    + "\"invites\": [{\"id\": , \"user_id\": , \"calendar_id\": , \"status\": \"pending\", "
+                    + "\"permission\": \"read\", \"from_user\": \"\", \"calendar_name\": \"\"}, "
+                    + "\"etag\": \"\", \"calendars\": [{\"id\": , \"name\": \"\", \"relation\": \"shared\", "
+                    + "\"permission\": \"full\"}, {\"id\": , \"name\": \"\", \"relation\": \"owner\", "
+                    + "\"permission\": \"owner\"}, "
+                    + "\"cursor\": , \"calendar_ids\": [], \"end_time\": null, "
+                    + "{\"success\": true, \"schedules\": [{\"id\": , \"calendar_id\": , \"title\": \"\", "
+                    + "\"time\": \"2026-01-01 00:00:00\", \"place\": \"\", \"memo\": \"\"}, {\"id\": "
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(LEVEL, true));
+    private static final ThreadLocal<Inflater> INFLATER =
+            ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private Compression() {
+    }
+
+    // 압축한 본문. 작거나 줄지 않으면 null (그대로 보낼 것)
+    static byte[] deflate(byte[] body) {
+        return deflate(body, body.length);
+    }
+
+    // 앞 len 바이트만
+    static byte[] deflate(byte[] body, int len) {
+        if (len < THRESHOLD) return null;
+        Deflater d = DEFLATER.get();
+        d.reset();
+        d.setDictionary(DICTIONARY);
+        d.setInput(body, 0, len);
+        d.finish();
+
+        byte[] out = new byte[len];   // 이보다 커지면 압축할 이유가 없음
+        int n = 0;
+        while (!d.finished()) {
+            if (n == out.length) return null;
+            n += d.deflate(out, n, out.length - n);
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    static byte[] inflate(byte[] packed) throws IOException {
+        Inflater inf = INFLATER.get();
+        inf.reset();
+        inf.setDictionary(DICTIONARY);
+        inf.setInput(packed);
+
+        byte[] out = new byte[Math.max(THRESHOLD, packed.length * 4)];
+        int len = 0;
+        try {
+            while (!inf.finished()) {
+                if (len == out.length) {
+                    if (out.length >= Framing.MAX_FRAME) throw new IOException("압축을 푼 본문이 너무 큼");
+                    out = Arrays.copyOf(out, Math.min(out.length * 2, Framing.MAX_FRAME));
+                }
+                int n = inf.inflate(out, len, out.length - len);
+                if (n == 0 && (inf.needsInput() || inf.needsDictionary())) {
+                    throw new IOException("압축 본문이 중간에 끝남");
+                }
+                len += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("잘못된 압축 본문: " + e.getMessage(), e);
+        }
+        return Arrays.copyOf(out, len);
+    }
+}
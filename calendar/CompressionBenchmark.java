@@ -0,0 +1,135 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * 목록 응답 압축: 줄어드는 바이트 vs CPU 시간
+ * - schedule_list / calendar_list / invite_list / calendar_share_list 모양의 응답
+ *   (행 1천 개 / 1만 개, 사전 효과를 보려고 한 주 분량 정도인 20개도)
+ * - JSON 본문과 같은 내용의 바이너리 본문 (WireFormat) 각각
+ * - 사전 없음 / Compression.DICTIONARY 사용, 압축 수준 1 / 6 비교
+ * - "1Mbps 이득" = 1 Mbps 링크에서 전송 시간이 줄어드는 만큼 - (압축 + 풀기) 시간
+ *
+ * 실행: java calendar.CompressionBenchmark [반복=20]
+ */
+public class CompressionBenchmark {
+
+    private static final int[] ROWS = {20, 1_000, 10_000};
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+
+        System.out.printf("%-22s %-6s %-9s %11s %11s %7s %9s %9s %11s%n",
+                "응답", "본문", "설정", "원본", "압축", "비율", "압축 ms", "풀기 ms", "1Mbps 이득");
+        for (int rows : ROWS) {
+            report("schedule_list x" + rows, DecodeBenchmark.scheduleListResponse(rows), iterations);
+            report("calendar_list x" + rows, calendarListResponse(rows), iterations);
+            report("invite_list x" + rows, inviteListResponse(rows), iterations);
+            report("share_list x" + rows, shareListResponse(rows), iterations);
+        }
+    }
+
+    private static void report(String label, byte[] json, int iterations) throws Exception {
+        byte[] binary = BinaryWriter.fromJson(json, json.length);
+        for (byte[] body : new byte[][]{json, binary}) {
+            String kind = body == json ? "JSON" : "binary";
+            run(label, kind, "L1", body, 1, null, iterations);
+            run(label, kind, "L1+사전", body, 1, Compression.DICTIONARY, iterations);
+            run(label, kind, "L6+사전", body, 6, Compression.DICTIONARY, iterations);
+        }
+    }
+
+    private static void run(String label, String kind, String setting, byte[] body,
+                            int level, byte[] dict, int iterations) throws Exception {
+        Deflater d = new Deflater(level, true);
+        byte[] packed = deflate(d, body, dict);
+        for (int i = 0; i < 5; i++) deflate(d, body, dict);   // 워밍업
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) packed = deflate(d, body, dict);
+        double deflateMs = (System.nanoTime() - start) / 1e6 / iterations;
+        d.end();
+
+        // 풀기는 실제 경로(Compression.inflate)로. 사전이 없는 설정은 검증만 건너뜀
+        double inflateMs = Double.NaN;
+        if (dict != null) {
+            if (!Arrays.equals(Compression.inflate(packed), body)) throw new IllegalStateException("압축 왕복 불일치");
+            for (int i = 0; i < 5; i++) Compression.inflate(packed);
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) Compression.inflate(packed);
+            inflateMs = (System.nanoTime() - start) / 1e6 / iterations;
+        }
+
+        double savedMs = (body.length - packed.length) * 8 / 1e3;   // 1 Mbps = 1 bit/µs
+        double gainMs = savedMs - deflateMs - (Double.isNaN(inflateMs) ? 0 : inflateMs);
+        System.out.printf("%-22s %-6s %-9s %,11d %,11d %6.1f%% %9.2f %9.2f %11.1f%n",
+                label, kind, setting, body.length, packed.length, 100.0 * packed.length / body.length,
+                deflateMs, inflateMs, gainMs);
+    }
+
+    private static byte[] deflate(Deflater d, byte[] body, byte[] dict) {
+        d.reset();
+        if (dict != null) d.setDictionary(dict);
+        d.setInput(body);
+        d.finish();
+        byte[] out = new byte[body.length + 64];
+        int len = 0;
+        while (!d.finished()) {
+            if (len == out.length) out = Arrays.copyOf(out, out.length * 2);
+            len += d.deflate(out, len, out.length - len);
+        }
+        return Arrays.copyOf(out, len);
+    }
+
+    // calendar_server.py 의 json.dumps(ensure_ascii=False) 출력과 같은 모양
+    static byte[] calendarListResponse(int count) {
+        StringBuilder sb = new StringBuilder(count * 90);
+        sb.append("{\"success\": true, \"calendars\": [");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            boolean own = i % 4 != 0;
+            sb.append("{\"id\": ").append(i + 1)
+                    .append(", \"name\": \"").append(own ? "내 캘린더 " : "팀 일정 ").append(i).append('"')
+                    .append(", \"relation\": \"").append(own ? "owner" : "shared").append('"')
+                    .append(", \"permission\": \"").append(own ? "owner" : (i % 3 == 0 ? "write" : "read"))
+                    .append("\"}");
+        }
+        sb.append("], \"etag\": \"5f2c9a1e0b7d4c3a\"}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] inviteListResponse(int count) {
+        StringBuilder sb = new StringBuilder(count * 160);
+        sb.append("{\"success\": true, \"invites\": [");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("{\"id\": ").append(i + 1)
+                    .append(", \"user_id\": ").append(100 + i % 50)
+                    .append(", \"calendar_id\": ").append(1000 + i)
+                    .append(", \"status\": \"pending\"")
+                    .append(", \"permission\": \"").append(i % 2 == 0 ? "read" : "write").append('"')
+                    .append(", \"from_user\": \"사용자").append(i % 50).append('"')
+                    .append(", \"calendar_name\": \"프로젝트 ").append(i).append("\"}");
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] shareListResponse(int count) {
+        StringBuilder sb = new StringBuilder(count * 170);
+        sb.append("{\"success\": true, \"shares\": [");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("{\"share_id\": ").append(i + 1)
+                    .append(", \"target_id\": ").append(200 + i)
+                    .append(", \"status\": \"").append(i % 3 == 0 ? "pending" : "accept").append('"')
+                    .append(", \"permission\": \"").append(i % 2 == 0 ? "read" : "full").append('"')
+                    .append(", \"target_name\": \"사용자").append(i).append('"')
+                    .append(", \"target_email\": \"user").append(i).append("@example.com\"}");
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,111 @@
+package calendar;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버(host:port)별 keep-alive 연결 풀
+ * - 동시에 열 수 있는 연결 수 제한 (ClientConfig 의 calendar.pool.max)
+ * - 오래 놀던 연결은 꺼낼 때 살아있는지 확인
+ * - IDLE_TIMEOUT 이상 쓰지 않은 연결은 백그라운드에서 정리
+ */
+final class ConnectionPool {
+
+    private static final long IDLE_TIMEOUT_MS = ClientConfig.get().poolIdleMs;
+    private static final long VALIDATE_AFTER_MS = 2_000;
+
+    private static final Map<String, ConnectionPool> POOLS = new ConcurrentHashMap<>();
+
+    private static final ScheduledExecutorService EVICTOR =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "calendar-pool-evictor");
+                t.setDaemon(true);
+                return t;
+            });
+
+    static {
+        EVICTOR.scheduleWithFixedDelay(() -> {
+            for (ConnectionPool p : POOLS.values()) p.evictIdle();
+        }, IDLE_TIMEOUT_MS, IDLE_TIMEOUT_MS / 2, TimeUnit.MILLISECONDS);
+    }
+
+    static ConnectionPool of(String host, int port) {
+        return POOLS.computeIfAbsent(host + ":" + port, k -> new ConnectionPool(host, port));
+    }
+
+    private final String host;
+    private final int port;
+    private final Semaphore permits = new Semaphore(ClientConfig.get().poolMaxTotal, true);
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+
+    private ConnectionPool(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    // 놀고 있는 연결을 꺼내거나, 여유가 있으면 새로 연결
+    PooledConnection borrow() throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("연결 대기 중 인터럽트");
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            PooledConnection c;
+            while ((c = pollIdle()) != null) {
+                if (c.isOpen() && (c.idleMillis(now) < VALIDATE_AFTER_MS || c.isAlive())) return c;
+                c.close();
+            }
+            return new PooledConnection(host, port);
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // 정상적으로 응답까지 받은 연결 반납
+    void release(PooledConnection c) {
+        synchronized (idle) {
+            idle.push(c);   // 최근에 쓴 연결부터 다시 쓰도록 LIFO
+        }
+        permits.release();
+    }
+
+    // 오류가 난 연결은 닫고 버림
+    void invalidate(PooledConnection c) {
+        c.close();
+        permits.release();
+    }
+
+    private PooledConnection pollIdle() {
+        synchronized (idle) {
+            return idle.poll();
+        }
+    }
+
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        synchronized (idle) {
+            Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledConnection c = it.next();
+                if (c.idleMillis(now) >= IDLE_TIMEOUT_MS) {
+                    it.remove();
+                    c.close();
+                }
+            }
+        }
+    }
+}
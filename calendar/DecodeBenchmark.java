@@ -0,0 +1,108 @@
+package calendar;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * schedule_list 응답 디코딩 처리량 비교
+ * - JsonHelper 경로: getObjectsArray 로 객체 문자열을 뽑고 필드마다 getInt/getString
+ * - ResponseBinder 경로: 응답 바이트를 한 번에 ScheduleBlock 으로
+ *
+ * 실행: java calendar.DecodeBenchmark [일정 수=10000] [반복=30]
+ */
+public class DecodeBenchmark {
+
+    private static final DateTimeFormatter TIME_FMT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+
+        byte[] res = scheduleListResponse(count);
+        String resStr = new String(res, StandardCharsets.UTF_8);
+        System.out.printf("schedule_list 응답: 일정 %d개, %,d bytes%n", count, res.length);
+
+        // 워밍업 (JIT)
+        for (int i = 0; i < 10; i++) {
+            decodeWithJsonHelper(resStr, 1);
+            ResponseBinder.readSchedules(res, 1);
+        }
+
+        run("JsonHelper", iterations, count, () -> decodeWithJsonHelper(resStr, 1).size());
+        run("ResponseBinder", iterations, count, () -> ResponseBinder.readSchedules(res, 1).items.size());
+    }
+
+    private interface Decode {
+        int run();
+    }
+
+    private static void run(String label, int iterations, int count, Decode decode) {
+        long allocBefore = allocatedBytes();
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += decode.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long alloc = allocatedBytes() - allocBefore;
+
+        if (sink != count * iterations) throw new IllegalStateException("디코딩 결과 개수 불일치");
+
+        double msPerOp = elapsed / 1e6 / iterations;
+        double perSec = count * iterations / (elapsed / 1e9);
+        System.out.printf("%-15s %8.2f ms/응답  %,12.0f 일정/s  %,10d bytes 할당/응답%n",
+                label, msPerOp, perSec, alloc < 0 ? -1 : alloc / iterations);
+    }
+
+    // 기존 loadSchedulesForCurrentView 와 같은 방식
+    static List<ScheduleBlock> decodeWithJsonHelper(String res, int calendarId) {
+        List<ScheduleBlock> out = new ArrayList<>();
+        if (!JsonHelper.getBoolean(res, "success", false)) return out;
+
+        for (String obj : JsonHelper.getObjectsArray(res, "schedules")) {
+            ScheduleBlock b = new ScheduleBlock();
+            b.id = JsonHelper.getInt(obj, "id", -1);
+            b.calendarId = calendarId;
+            b.title = JsonHelper.getString(obj, "title");
+            b.place = JsonHelper.getString(obj, "place");
+            if (b.place == null) b.place = "";
+            String timeStr = JsonHelper.getString(obj, "time");
+            try {
+                b.dateTime = LocalDateTime.parse(timeStr, TIME_FMT);
+                out.add(b);
+            } catch (Exception ignore) {
+            }
+        }
+        return out;
+    }
+
+    // calendar_server.py 의 json.dumps(ensure_ascii=False) 출력과 같은 모양
+    static byte[] scheduleListResponse(int count) {
+        StringBuilder sb = new StringBuilder(count * 140);
+        sb.append("{\"success\": true, \"schedules\": [");
+        LocalDateTime t = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("{\"id\": ").append(i + 1)
+                    .append(", \"title\": \"회의 ").append(i).append(" - weekly sync\"")
+                    .append(", \"time\": \"").append(t.plusMinutes(37L * i).format(TIME_FMT)).append('"')
+                    .append(", \"place\": \"").append(i % 3 == 0 ? "" : "본관 3층 회의실").append('"')
+                    .append(", \"memo\": \"").append(i % 5 == 0 ? "자료 \\\"v2\\\" 준비" : "").append("\"}");
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
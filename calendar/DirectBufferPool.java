@@ -0,0 +1,46 @@
+package calendar;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 같은 크기 direct buffer 재사용 풀
+ * - direct buffer 는 만들고 해제하는 비용이 커서 연결/요청마다 새로 만들지 않음
+ * - 풀이 비면 새로 만들고, 돌려받은 버퍼는 maxPooled 개까지만 보관 (나머지는 GC 에 맡김)
+ */
+final class DirectBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    // 비어 있는(clear 된) 버퍼
+    ByteBuffer acquire() {
+        ByteBuffer buf = free.poll();
+        if (buf == null) return ByteBuffer.allocateDirect(bufferSize);
+        pooled.decrementAndGet();
+        return buf;
+    }
+
+    void release(ByteBuffer buf) {
+        if (buf == null || buf.capacity() != bufferSize) return;
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        buf.clear();
+        free.offer(buf);
+    }
+}
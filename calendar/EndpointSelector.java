@@ -0,0 +1,95 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버가 여러 개일 때 RTT 가 가장 짧은 서버 고르기 (지역마다 복제 서버를 둔 경우)
+ * - probeMs 마다 서버마다 새 연결로 hello 를 한 번 주고받아 왕복 시간을 잼 (연결 맺는 시간은 빼고)
+ * - RTT 는 지수 이동 평균 (한 번 튄 값에 바로 흔들리지 않게)
+ * - 지금 서버보다 20% 이상 빨라야 바꿈: 비슷한 서버 사이를 오가며 풀 / 협상 결과를 버리지 않도록
+ * - 연결이 안 되거나 hello 시간 제한 안에 답이 없는 서버는 고르지 않음. 아직 잰 값이 없으면 설정의 첫 번째 서버
+ */
+final class EndpointSelector {
+
+    private static final double SMOOTHING = 0.3;
+    private static final double SWITCH_RATIO = 0.8;
+    private static final long DOWN = Long.MAX_VALUE;
+    private static final byte[] PROBE = "{\"action\":\"hello\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<ClientConfig.Endpoint> endpoints;
+    private final long[] rttNanos;   // 서버별 평균 RTT, 0 = 아직 모름, DOWN = 연결 안 됨
+    private volatile ClientConfig.Endpoint current;
+
+    EndpointSelector(List<ClientConfig.Endpoint> endpoints, long probeMs) {
+        this.endpoints = endpoints;
+        this.rttNanos = new long[endpoints.size()];
+        this.current = endpoints.get(0);
+
+        ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "calendar-endpoint-probe");
+            t.setDaemon(true);
+            return t;
+        });
+        prober.scheduleWithFixedDelay(this::probeAll, 0, probeMs, TimeUnit.MILLISECONDS);
+    }
+
+    ClientConfig.Endpoint current() {
+        return current;
+    }
+
+    private void probeAll() {
+        for (int i = 0; i < endpoints.size(); i++) {
+            long sample = probe(endpoints.get(i));
+            synchronized (this) {
+                long old = rttNanos[i];
+                rttNanos[i] = sample == DOWN || old == 0 || old == DOWN
+                        ? sample
+                        : (long) (old * (1 - SMOOTHING) + sample * SMOOTHING);
+            }
+        }
+        choose();
+    }
+
+    private long probe(ClientConfig.Endpoint e) {
+        try (PooledConnection c = new PooledConnection(e.host, e.port)) {
+            long start = System.nanoTime();
+            c.exchange(PROBE, PROBE.length, false, ClientConfig.get().timeoutMs("hello"));
+            return Math.max(1, System.nanoTime() - start);
+        } catch (Exception ex) {
+            return DOWN;
+        }
+    }
+
+    private synchronized void choose() {
+        int best = -1;
+        for (int i = 0; i < rttNanos.length; i++) {
+            if (rttNanos[i] == 0 || rttNanos[i] == DOWN) continue;
+            if (best < 0 || rttNanos[i] < rttNanos[best]) best = i;
+        }
+        if (best < 0) return;   // 모두 안 되면 그대로 두고 요청이 실패하게 둠
+
+        int now = endpoints.indexOf(current);
+        long nowRtt = rttNanos[now];
+        if (nowRtt == 0 || nowRtt == DOWN || rttNanos[best] < nowRtt * SWITCH_RATIO) {
+            if (best != now) ClientMetrics.endpointSwitches.increment();
+            current = endpoints.get(best);
+        }
+    }
+
+    // 서버별 현재 RTT (로그 / 확인용)
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < endpoints.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(endpoints.get(i)).append('=');
+            long r = rttNanos[i];
+            sb.append(r == 0 ? "?" : r == DOWN ? "down" : r / 1000 + "µs");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package calendar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 메시지 프레이밍 규칙
+ * - [4바이트 헤더(big-endian)][본문]
+ * - 헤더 아래 30비트는 본문 길이, 위 2비트는 플래그
+ *   DEFLATED: 본문이 Compression 으로 압축됨
+ *   ACCEPT_DEFLATE: 보낸 쪽이 압축된 응답을 풀 수 있음 (요청에만 붙임)
+ * - 길이를 먼저 읽으므로 응답 크기와 상관없이 메시지 전체를 받을 수 있음
+ */
+final class Framing {
+
+    static final int HEADER_BYTES = 4;
+    static final int MAX_FRAME = 64 * 1024 * 1024;   // 비정상 길이 방어용 상한
+
+    static final int DEFLATED = 0x80000000;
+    static final int ACCEPT_DEFLATE = 0x40000000;
+    private static final int LENGTH_MASK = 0x3FFFFFFF;
+
+    private Framing() {
+    }
+
+    static int checkLength(int len) throws IOException {
+        if (len < 0 || len > MAX_FRAME) {
+            throw new IOException("잘못된 메시지 길이: " + len);
+        }
+        return len;
+    }
+
+    // 헤더에서 본문 길이
+    static int length(int header) throws IOException {
+        return checkLength(header & LENGTH_MASK);
+    }
+
+    // 받은 본문 (압축돼 있으면 풀어서)
+    static byte[] body(int header, byte[] raw) throws IOException {
+        return (header & DEFLATED) != 0 ? Compression.inflate(raw) : raw;
+    }
+
+    // 보낼 프레임 (헤더 + 본문). deflate 면 압축 응답을 받겠다고 알리고, 큰 본문은 압축
+    static ByteBuffer frame(byte[] body, boolean deflate) {
+        ByteBuffer[] parts = frame(body, body.length, deflate);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + parts[1].remaining());
+        frame.put(parts[0]).put(parts[1]).flip();
+        return frame;
+    }
+
+    // 본문(앞 len 바이트)을 복사하지 않는 프레임: {헤더, 본문} 을 gathering write 로 보냄
+    static ByteBuffer[] frame(byte[] body, int len, boolean deflate) {
+        int flags = 0;
+        ByteBuffer payload = ByteBuffer.wrap(body, 0, len);
+        if (deflate) {
+            flags = ACCEPT_DEFLATE;
+            byte[] packed = Compression.deflate(body, len);
+            if (packed != null) {
+                payload = ByteBuffer.wrap(packed);
+                flags |= DEFLATED;
+            }
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(flags | payload.remaining()).flip();
+        return new ByteBuffer[]{header, payload};
+    }
+}
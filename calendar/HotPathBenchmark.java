@@ -0,0 +1,162 @@
+package calendar;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 클라이언트 hot path 기준 측정 (최적화 전후 비교용)
+ * - JsonHelper: getObjectsArray / 뽑은 객체마다 getInt·getString
+ * - Client.escape, 요청 만들기 (예전 문자열 이어 붙이기 vs JsonWriter)
+ * - 주간 그리드 배치: WeekLayout 열 배정 + CalendarGridPanel 픽셀 위치 계산
+ * - 일정 10 / 100 / 1천 / 1만 / 10만 개 (DecodeBenchmark 와 같은 모양의 응답)
+ * - 측정 방식은 JMH 와 비슷하게: 워밍업 후 정해진 시간 동안 반복, 연산당 시간과
+ *   연산당 할당 바이트(B/op) / 할당 속도(MB/s) 를 같이 보고 (JMH -prof gc 의 alloc.rate.norm / alloc.rate)
+ *
+ * - JMH 없이 바로 돌려 보는 용도. 비교 수치는 benchmarks/ 의 JMH 벤치마크로 잼
+ *   (mvn -f benchmarks/pom.xml package → java -jar benchmarks/target/benchmarks.jar -prof gc)
+ *
+ * 실행: java calendar.HotPathBenchmark [측정 ms=1000] [이름 필터]
+ */
+public class HotPathBenchmark {
+
+    private static final int[] SIZES = {10, 100, 1_000, 10_000, 100_000};
+    private static final LocalDate WEEK = LocalDate.of(2025, 1, 6);   // 월요일
+
+    private static long measureMs;
+    private static String filter;
+    private static volatile Object sink;   // 결과를 버리지 않게 (JIT 가 연산을 지우지 못하도록)
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        measureMs = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        filter = args.length > 1 ? args[1] : null;
+
+        System.out.printf("%-34s %14s %14s %14s %10s%n", "benchmark", "ns/op", "ops/s", "B/op", "MB/s");
+
+        String plain = "주간 회의 자료 정리";
+        String nasty = "자료 \"v2\" 준비\n- C:\\share\\회의록\n\t끝";
+        run("escape (이스케이프 없음)", () -> Client.escape(plain));
+        run("escape (따옴표/개행)", () -> Client.escape(nasty));
+        run("request concat (schedule_add)", () -> concatRequest(nasty).getBytes(StandardCharsets.UTF_8));
+        run("request JsonWriter (schedule_add)", () -> {
+            JsonWriter w = writerRequest(nasty);
+            int n = w.length();
+            w.release();   // Client 가 보낸 뒤 하는 것과 같음
+            return n;
+        });
+
+        for (int size : SIZES) {
+            String res = new String(DecodeBenchmark.scheduleListResponse(size), StandardCharsets.UTF_8);
+            String[] objects = JsonHelper.getObjectsArray(res, "schedules");
+            if (objects.length != size) throw new IllegalStateException("생성한 응답의 일정 수가 다름");
+
+            run("getObjectsArray x" + size, () -> JsonHelper.getObjectsArray(res, "schedules"));
+            run("getInt+getString x" + size, () -> {
+                long sum = 0;
+                for (String obj : objects) {
+                    sum += JsonHelper.getInt(obj, "id", -1);
+                    String title = JsonHelper.getString(obj, "title");
+                    String time = JsonHelper.getString(obj, "time");
+                    sum += title.length() + time.length();
+                }
+                return sum;
+            });
+
+            // 같은 목록이면 WeekLayout 이 이전 배치를 재사용하므로 두 목록을 번갈아 넣음
+            List<List<ScheduleBlock>> weeks = List.of(weekSchedules(size, 0), weekSchedules(size, 15));
+            CalendarGridPanel grid = new CalendarGridPanel();
+            grid.setSize(grid.getPreferredSize());
+            int[] turn = {0};
+            run("grid layout x" + size, () -> {
+                grid.setSchedules(weeks.get(turn[0]++ & 1), WEEK);
+                return grid.findScheduleAt(300, 500);   // 픽셀 위치 계산(ensureLayout)까지
+            });
+        }
+    }
+
+    private interface Op {
+        Object run();
+    }
+
+    private static void run(String label, Op op) {
+        if (filter != null && !label.contains(filter)) return;
+
+        // 워밍업: 측정 시간의 절반 (JIT 컴파일이 끝나도록)
+        long warmupEnd = System.nanoTime() + measureMs * 500_000;
+        while (System.nanoTime() < warmupEnd) {
+            for (int i = 0; i < 16; i++) sink = op.run();
+        }
+
+        long ops = 0;
+        long allocBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long end = start + measureMs * 1_000_000;
+        long now;
+        do {
+            for (int i = 0; i < 16; i++) sink = op.run();
+            ops += 16;
+            now = System.nanoTime();
+        } while (now < end);
+        long alloc = allocatedBytes() - allocBefore;
+
+        double nsPerOp = (double) (now - start) / ops;
+        double seconds = (now - start) / 1e9;
+        System.out.printf("%-34s %,14.1f %,14.0f %,14d %,10.1f%n",
+                label, nsPerOp, ops / seconds,
+                allocBefore < 0 ? -1 : alloc / ops,
+                allocBefore < 0 ? -1 : alloc / seconds / (1024 * 1024));
+    }
+
+    // 20번 이전 CalendarUI 의 schedule_add 요청 만들기
+    static String concatRequest(String memo) {
+        return "{"
+                + "\"action\":\"schedule_add\","
+                + "\"calendar_id\":" + 12 + ","
+                + "\"user_id\":" + 3 + ","
+                + "\"title\":\"" + Client.escape("주간 회의") + "\","
+                + "\"time\":\"" + Client.escape("2025-01-06 10:00:00") + "\","
+                + "\"place\":\"" + Client.escape("본관 3층 회의실") + "\","
+                + "\"memo\":\"" + Client.escape(memo) + "\""
+                + "}";
+    }
+
+    static JsonWriter writerRequest(String memo) {
+        return JsonWriter.request("schedule_add")
+                .name("calendar_id").value(12)
+                .name("user_id").value(3)
+                .name("title").value("주간 회의")
+                .name("time").value("2025-01-06 10:00:00")
+                .name("place").value("본관 3층 회의실")
+                .name("memo").value(memo)
+                .endObject();
+    }
+
+    // 한 주에 고르게 퍼진 일정 (겹치는 일정이 많아야 열 배정이 의미 있음)
+    static List<ScheduleBlock> weekSchedules(int count, int shiftMinutes) {
+        List<ScheduleBlock> out = new ArrayList<>(count);
+        LocalDateTime base = WEEK.atTime(8, 0).plusMinutes(shiftMinutes);
+        for (int i = 0; i < count; i++) {
+            ScheduleBlock b = new ScheduleBlock();
+            b.id = i + 1;
+            b.calendarId = 1 + i % 4;
+            b.title = "회의 " + i;
+            b.place = "";
+            b.dateTime = base.plusDays(i % 7).plusMinutes(17L * (i / 7) % (12 * 60));
+            if (i % 3 == 0) b.endTime = b.dateTime.plusMinutes(90);
+            out.add(b);
+        }
+        return out;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
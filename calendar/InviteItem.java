@@ -0,0 +1,12 @@
+package calendar;
+
+/**
+ * invite_list 응답의 받은 초대 한 개
+ */
+class InviteItem {
+    int shareId = -1;
+    int fromUserId = -1;
+    int calendarId = -1;
+    String fromUser;
+    String calendarName;
+}
@@ -1,121 +1,107 @@
 package calendar;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * 응답 JSON 에서 key 로 값 하나씩 꺼내는 간단한 도우미
+ * - 내부적으로 JsonReader 로 앞에서부터 한 번만 훑음 (indexOf 반복 없음)
+ * - key 는 중첩 위치와 상관없이 문서에서 처음 나오는 것을 사용
+ * - 여러 필드를 읽어야 하면 JsonReader 를 직접 쓰는 쪽이 빠름
+ */
 public class JsonHelper {
 
     // {"success": true ...} 에서 success 값
     public static boolean getBoolean(String json, String key, boolean defaultVal) {
-        String pattern = "\"" + key + "\"";
-        int idx = json.indexOf(pattern);
-        if (idx < 0) return defaultVal;
-
-        idx = json.indexOf(':', idx);
-        if (idx < 0) return defaultVal;
-
-        String sub = json.substring(idx + 1).trim();
-
-        if (sub.startsWith("true")) return true;
-        if (sub.startsWith("false")) return false;
-        return defaultVal;
+        try {
+            JsonReader r = seek(json, key);
+            if (r == null || r.peek() != JsonReader.Token.BOOLEAN) return defaultVal;
+            return r.nextBoolean();
+        } catch (RuntimeException e) {
+            return defaultVal;
+        }
     }
 
     // {"message":"텍스트"} 에서 message
     public static String getString(String json, String key) {
-        String pattern = "\"" + key + "\"";
-        int idx = json.indexOf(pattern);
-        if (idx < 0) return null;
-
-        idx = json.indexOf(':', idx);
-        if (idx < 0) return null;
-
-        idx = json.indexOf('"', idx + 1);
-        if (idx < 0) return null;
-
-        int end = json.indexOf('"', idx + 1);
-        if (end < 0) return null;
-
-        String raw = json.substring(idx + 1, end);
-        return raw.replace("\\\"", "\"").replace("\\\\", "\\");
+        try {
+            JsonReader r = seek(json, key);
+            if (r == null) return null;
+            JsonReader.Token t = r.peek();
+            if (t != JsonReader.Token.STRING && t != JsonReader.Token.NUMBER) return null;
+            return r.nextString();
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
 
     // {"id": 3} 또는 {"user_id": 12, ...} 에서 숫자
     public static int getInt(String json, String key, int defaultVal) {
-        String pattern = "\"" + key + "\"";
-        int idx = json.indexOf(pattern);
-        if (idx < 0) return defaultVal;
-
-        idx = json.indexOf(':', idx);
-        if (idx < 0) return defaultVal;
-
-        int i = idx + 1;
-        // 공백 스킵
-        while (i < json.length() && Character.isWhitespace(json.charAt(i))) i++;
-
-        int start = i;
-
-        if (i < json.length() && (json.charAt(i) == '-' || Character.isDigit(json.charAt(i)))) {
-            i++;
-        } else {
-            return defaultVal;
-        }
-
-        while (i < json.length() && Character.isDigit(json.charAt(i))) {
-            i++;
-        }
-
-        String numberStr = json.substring(start, i);
         try {
-            return Integer.parseInt(numberStr);
-        } catch (Exception e) {
+            JsonReader r = seek(json, key);
+            if (r == null || r.peek() != JsonReader.Token.NUMBER) return defaultVal;
+            return r.nextInt();
+        } catch (RuntimeException e) {
             return defaultVal;
         }
     }
 
     // {"calendars":[{...},{...}]} 에서 {...} 배열 추출
     public static String[] getObjectsArray(String json, String arrayKey) {
-        String pattern = "\"" + arrayKey + "\"";
-        int idx = json.indexOf(pattern);
-        if (idx < 0) return new String[0];
-
-        idx = json.indexOf('[', idx);
-        if (idx < 0) return new String[0];
-
-        int depth = 0;
-        int i = idx + 1;
         List<String> list = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inString = false;
-
-        for (; i < json.length(); i++) {
-            char c = json.charAt(i);
-
-            if (c == '"' && json.charAt(i - 1) != '\\') {
-                inString = !inString;
-            }
-
-            if (!inString) {
-                if (c == '{') {
-                    if (depth == 0) current = new StringBuilder();
-                    depth++;
-                } else if (c == '}') {
-                    depth--;
-                    current.append(c);
-                    if (depth == 0) {
-                        list.add(current.toString());
-                        continue;
-                    }
-                } else if (c == ']' && depth == 0) {
-                    break;
+        try {
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            JsonReader r = seek(new JsonReader(bytes), arrayKey);
+            if (r == null || r.peek() != JsonReader.Token.BEGIN_ARRAY) return new String[0];
+
+            r.beginArray();
+            while (r.hasNext()) {
+                if (r.peek() != JsonReader.Token.BEGIN_OBJECT) {
+                    r.skipValue();
+                    continue;
                 }
+                // 객체 원문 구간을 그대로 잘라냄
+                int start = r.tokenStart();
+                r.skipValue();
+                list.add(new String(bytes, start, r.position() - start, StandardCharsets.UTF_8));
             }
+        } catch (RuntimeException ignore) {
+            // 깨진 응답이면 그때까지 읽은 객체만 돌려줌 (기존 동작과 동일)
+        }
+        return list.toArray(new String[0]);
+    }
 
-            if (depth > 0) {
-                current.append(c);
+    private static JsonReader seek(String json, String key) {
+        if (json == null) return null;
+        return seek(new JsonReader(json), key);
+    }
+
+    // key 가 문서에서 처음 나오는 곳의 값 바로 앞까지 reader 를 옮김. 없으면 null
+    static JsonReader seek(JsonReader r, String key) {
+        while (true) {
+            switch (r.peek()) {
+                case NAME:
+                    if (key.equals(r.nextName())) return r;
+                    break;
+                case BEGIN_OBJECT:
+                    r.beginObject();
+                    break;
+                case END_OBJECT:
+                    r.endObject();
+                    break;
+                case BEGIN_ARRAY:
+                    r.beginArray();
+                    break;
+                case END_ARRAY:
+                    r.endArray();
+                    break;
+                case END_DOCUMENT:
+                    return null;
+                default:
+                    r.skipValue();
+                    break;
             }
         }
-
-        return list.toArray(new String[0]);
     }
 }
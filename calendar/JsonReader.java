@@ -0,0 +1,519 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 응답 바이트(UTF-8)를 앞에서부터 한 번만 읽는 JSON pull parser
+ * - 소켓에서 받은 byte[] 를 그대로 읽음 (String 으로 바꾸지 않음)
+ * - peek() 로 다음 토큰 종류를 보고 nextXxx() 로 값을 꺼내는 방식
+ * - 필드 이름은 작은 캐시로 재사용 → 같은 키가 반복돼도 새 String 을 만들지 않음
+ * - 잘못된 JSON 이면 IllegalStateException
+ */
+public final class JsonReader implements ValueReader {
+
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY,
+        NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    // 중첩 상태
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private static final int NAME_CACHE_SIZE = 64;   // 2의 거듭제곱
+
+    private final byte[] buf;
+    private final int limit;
+    private int pos;
+
+    private int[] stack = new int[16];
+    private int depth;
+
+    private Token peeked;
+    private int tokenStart;   // 현재 peek 한 토큰의 첫 바이트 위치
+
+    private final byte[][] nameKeys = new byte[NAME_CACHE_SIZE][];
+    private final String[] nameValues = new String[NAME_CACHE_SIZE];
+
+    public JsonReader(byte[] buf) {
+        this(buf, 0, buf.length);
+    }
+
+    public JsonReader(byte[] buf, int off, int len) {
+        this.buf = buf;
+        this.pos = off;
+        this.limit = off + len;
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    public JsonReader(String json) {
+        this(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ============================================================
+    // 토큰 보기
+    // ============================================================
+
+    public Token peek() {
+        if (peeked != null) return peeked;
+
+        int ctx = stack[depth - 1];
+        int c;
+        switch (ctx) {
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') return setPeeked(Token.END_ARRAY, pos - 1);
+                return peekValue(c);
+
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') return setPeeked(Token.END_ARRAY, pos - 1);
+                if (c != ',') throw syntaxError("',' 또는 ']' 필요");
+                return peekValue(nextNonWhitespace());
+
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                stack[depth - 1] = DANGLING_NAME;
+                c = nextNonWhitespace();
+                if (c == '}') return setPeeked(Token.END_OBJECT, pos - 1);
+                if (ctx == NONEMPTY_OBJECT) {
+                    if (c != ',') throw syntaxError("',' 또는 '}' 필요");
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') throw syntaxError("필드 이름 필요");
+                return setPeeked(Token.NAME, pos - 1);
+
+            case DANGLING_NAME:
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') throw syntaxError("':' 필요");
+                return peekValue(nextNonWhitespace());
+
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                return peekValue(nextNonWhitespace());
+
+            default: // NONEMPTY_DOCUMENT
+                if (nextNonWhitespace() != -1) throw syntaxError("문서 끝에 남은 데이터");
+                return setPeeked(Token.END_DOCUMENT, pos);
+        }
+    }
+
+    private Token peekValue(int c) {
+        int start = pos - 1;
+        switch (c) {
+            case '{':
+                return setPeeked(Token.BEGIN_OBJECT, start);
+            case '[':
+                return setPeeked(Token.BEGIN_ARRAY, start);
+            case '"':
+                return setPeeked(Token.STRING, start);
+            case 't':
+            case 'f':
+                pos = start;
+                return setPeeked(Token.BOOLEAN, start);
+            case 'n':
+                pos = start;
+                return setPeeked(Token.NULL, start);
+            case -1:
+                throw syntaxError("값이 필요한데 입력이 끝남");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    pos = start;
+                    return setPeeked(Token.NUMBER, start);
+                }
+                throw syntaxError("예상하지 못한 문자 '" + (char) c + "'");
+        }
+    }
+
+    private Token setPeeked(Token t, int start) {
+        peeked = t;
+        tokenStart = start;
+        return t;
+    }
+
+    public boolean hasNext() {
+        Token t = peek();
+        return t != Token.END_OBJECT && t != Token.END_ARRAY && t != Token.END_DOCUMENT;
+    }
+
+    // ============================================================
+    // 구조
+    // ============================================================
+
+    public void beginObject() {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+
+    public void beginArray() {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+
+    private void push(int ctx) {
+        if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+        stack[depth++] = ctx;
+    }
+
+    private void expect(Token t) {
+        if (peek() != t) throw syntaxError(t + " 필요, 실제 " + peeked);
+        peeked = null;
+    }
+
+    // ============================================================
+    // 값 꺼내기
+    // ============================================================
+
+    public String nextName() {
+        expect(Token.NAME);
+        int start = pos;
+        int end = scanString();
+        if (end < 0) return decodeString(start);   // escape 가 있는 이름은 캐시하지 않음
+
+        int len = end - start;
+        int h = 1;
+        for (int i = start; i < end; i++) h = 31 * h + buf[i];
+        int slot = (h ^ (h >>> 16)) & (NAME_CACHE_SIZE - 1);
+
+        byte[] key = nameKeys[slot];
+        if (key != null && Arrays.equals(key, 0, key.length, buf, start, end)) {
+            return nameValues[slot];
+        }
+        String name = new String(buf, start, len, StandardCharsets.UTF_8);
+        nameKeys[slot] = Arrays.copyOfRange(buf, start, end);
+        nameValues[slot] = name;
+        return name;
+    }
+
+    // 문자열 값. null 이면 null, 숫자면 숫자 표기 그대로
+    public String nextString() {
+        Token t = peek();
+        if (t == Token.NULL) {
+            nextNull();
+            return null;
+        }
+        if (t == Token.NUMBER) {
+            peeked = null;
+            int start = pos;
+            skipNumber();
+            return new String(buf, start, pos - start, StandardCharsets.ISO_8859_1);
+        }
+        expect(Token.STRING);
+        int start = pos;
+        int end = scanString();
+        if (end < 0) return decodeString(start);
+        return fastString(start, end);
+    }
+
+    /**
+     * 값이 known 중 하나와 같으면 새 String 을 만들지 않고 그 상수를 그대로 돌려줌
+     * (relation / permission 처럼 값 종류가 몇 개 안 되는 필드용)
+     */
+    public String nextString(String[] known) {
+        if (peek() != Token.STRING) return nextString();
+        peeked = null;
+        int start = pos;
+        int end = scanString();
+        if (end < 0) return decodeString(start);
+        for (String k : known) {
+            if (asciiEquals(k, start, end)) return k;
+        }
+        return fastString(start, end);
+    }
+
+    /**
+     * "yyyy-MM-dd HH:mm:ss" 문자열을 중간 String 없이 바로 LocalDateTime 으로.
+     * 형식이 다르면 null
+     */
+    public LocalDateTime nextDateTime() {
+        if (peek() != Token.STRING) {
+            skipValue();
+            return null;
+        }
+        peeked = null;
+        int start = pos;
+        int end = scanString();
+        if (end < 0) {
+            decodeString(start);
+            return null;
+        }
+        if (end - start != 19
+                || buf[start + 4] != '-' || buf[start + 7] != '-' || buf[start + 10] != ' '
+                || buf[start + 13] != ':' || buf[start + 16] != ':') {
+            return null;
+        }
+        int year = digits(start, 4);
+        int month = digits(start + 5, 2);
+        int day = digits(start + 8, 2);
+        int hour = digits(start + 11, 2);
+        int minute = digits(start + 14, 2);
+        int second = digits(start + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) return null;
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    public boolean nextBoolean() {
+        expect(Token.BOOLEAN);
+        if (matchLiteral("true")) return true;
+        if (matchLiteral("false")) return false;
+        throw syntaxError("true/false 필요");
+    }
+
+    public void nextNull() {
+        expect(Token.NULL);
+        if (!matchLiteral("null")) throw syntaxError("null 필요");
+    }
+
+    // 정수 값. 소수/지수 부분은 버림 (기존 JsonHelper.getInt 와 같은 동작)
+    public long nextLong() {
+        expect(Token.NUMBER);
+        boolean neg = false;
+        if (buf[pos] == '-') {
+            neg = true;
+            pos++;
+        }
+        if (pos >= limit || buf[pos] < '0' || buf[pos] > '9') throw syntaxError("숫자 필요");
+
+        long v = 0;
+        while (pos < limit && buf[pos] >= '0' && buf[pos] <= '9') {
+            int d = buf[pos++] - '0';
+            if (v > (Long.MAX_VALUE - d) / 10) throw new NumberFormatException("정수 범위 초과");
+            v = v * 10 + d;
+        }
+        skipNumber();
+        return neg ? -v : v;
+    }
+
+    public int nextInt() {
+        long v = nextLong();
+        if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) {
+            throw new NumberFormatException("int 범위 초과: " + v);
+        }
+        return (int) v;
+    }
+
+    public double nextDouble() {
+        expect(Token.NUMBER);
+        int start = pos;
+        skipNumber();
+        return Double.parseDouble(new String(buf, start, pos - start, StandardCharsets.ISO_8859_1));
+    }
+
+    // 다음 값 하나를 통째로 건너뜀 (객체/배열이면 안쪽까지)
+    public void skipValue() {
+        int count = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_ARRAY:
+                    beginArray();
+                    count++;
+                    break;
+                case BEGIN_OBJECT:
+                    beginObject();
+                    count++;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    count--;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    count--;
+                    break;
+                case NAME:
+                case STRING:
+                    peeked = null;
+                    skipString();
+                    break;
+                case NUMBER:
+                    peeked = null;
+                    skipNumber();
+                    break;
+                case BOOLEAN:
+                    nextBoolean();
+                    break;
+                case NULL:
+                    nextNull();
+                    break;
+                default:
+                    throw syntaxError("건너뛸 값이 없음");
+            }
+        } while (count > 0);
+    }
+
+    // peek 한 토큰의 시작 위치 / 현재 읽은 위치 (JsonHelper 가 원본 구간을 자를 때 사용)
+    public int tokenStart() {
+        return tokenStart;
+    }
+
+    public int position() {
+        return pos;
+    }
+
+    // ============================================================
+    // 내부: 스캔
+    // ============================================================
+
+    private int nextNonWhitespace() {
+        while (pos < limit) {
+            int c = buf[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c & 0xFF;
+        }
+        return -1;
+    }
+
+    /**
+     * 여는 따옴표 다음(pos)부터 닫는 따옴표까지 이동하고 본문 끝 위치를 돌려줌.
+     * escape 가 있으면 -1 (pos 는 그대로 두고 decodeString 이 처리)
+     */
+    private int scanString() {
+        for (int p = pos; p < limit; p++) {
+            byte b = buf[p];
+            if (b == '"') {
+                pos = p + 1;
+                return p;
+            }
+            if (b == '\\') return -1;
+        }
+        throw syntaxError("닫히지 않은 문자열");
+    }
+
+    // 디코딩 없이 닫는 따옴표 뒤로 이동
+    private void skipString() {
+        for (int p = pos; p < limit; p++) {
+            byte b = buf[p];
+            if (b == '"') {
+                pos = p + 1;
+                return;
+            }
+            if (b == '\\') p++;
+        }
+        throw syntaxError("닫히지 않은 문자열");
+    }
+
+    private String fastString(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buf[i] < 0) return new String(buf, start, end - start, StandardCharsets.UTF_8);
+        }
+        // ASCII 만 있으면 가장 싼 경로
+        return new String(buf, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    private String decodeString(int start) {
+        StringBuilder sb = new StringBuilder();
+        int seg = start;
+        int p = start;
+        while (true) {
+            if (p >= limit) throw syntaxError("닫히지 않은 문자열");
+            byte b = buf[p];
+            if (b == '"') {
+                appendUtf8(sb, seg, p);
+                pos = p + 1;
+                return sb.toString();
+            }
+            if (b != '\\') {
+                p++;
+                continue;
+            }
+            appendUtf8(sb, seg, p);
+            if (p + 1 >= limit) throw syntaxError("잘못된 escape");
+            byte e = buf[p + 1];
+            p += 2;
+            switch (e) {
+                case '"': sb.append('"'); break;
+                case '\\': sb.append('\\'); break;
+                case '/': sb.append('/'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u':
+                    if (p + 4 > limit) throw syntaxError("잘못된 \\u escape");
+                    int cp = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int d = Character.digit(buf[p + i], 16);
+                        if (d < 0) throw syntaxError("잘못된 \\u escape");
+                        cp = (cp << 4) | d;
+                    }
+                    p += 4;
+                    sb.append((char) cp);   // surrogate pair 는 두 번에 나눠 붙으면서 합쳐짐
+                    break;
+                default:
+                    throw syntaxError("잘못된 escape '\\" + (char) e + "'");
+            }
+            seg = p;
+        }
+    }
+
+    private boolean asciiEquals(String s, int start, int end) {
+        if (s.length() != end - start) return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (buf[start + i] != s.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    // 숫자 n 자리. 숫자가 아닌 문자가 있으면 -1
+    private int digits(int start, int n) {
+        int v = 0;
+        for (int i = start; i < start + n; i++) {
+            int d = buf[i] - '0';
+            if (d < 0 || d > 9) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private void appendUtf8(StringBuilder sb, int from, int to) {
+        if (from < to) sb.append(new String(buf, from, to - from, StandardCharsets.UTF_8));
+    }
+
+    private void skipNumber() {
+        while (pos < limit) {
+            byte b = buf[pos];
+            if ((b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+                pos++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    private boolean matchLiteral(String lit) {
+        int n = lit.length();
+        if (pos + n > limit) return false;
+        for (int i = 0; i < n; i++) {
+            if (buf[pos + i] != lit.charAt(i)) return false;
+        }
+        pos += n;
+        return true;
+    }
+
+    private IllegalStateException syntaxError(String msg) {
+        return new IllegalStateException("잘못된 JSON (offset " + pos + "): " + msg);
+    }
+}
@@ -0,0 +1,313 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JSON 요청 작성기: 문자열을 이어 붙이지 않고 UTF-8 바이트 버퍼에 바로 씀
+ * - JsonWriter.request("action") → name/value … → endObject → Client.send / sendRaw / sendAsync
+ *   (바이너리를 협상한 서버에 sendRaw / sendAsync 로 보낼 요청은 Client.request(action) 가 바로 바이너리로 씀)
+ * - 문자열은 JSON 규칙대로 escape: " \ 와 제어 문자(\n \r \t …, 그 외 \\u00XX)
+ *   짝이 맞는 surrogate 는 4바이트 UTF-8 로, 짝 없는 surrogate 는 U+FFFD 로
+ * - 버퍼는 풀에서 빌려 쓰고 Client 가 보낸 뒤 돌려줌 → 보낸 작성기는 다시 쓰면 안 됨
+ *   (만든 스레드와 보내는 스레드가 달라도 됨: UI 스레드에서 만들고 작업 스레드에서 보내는 경우)
+ */
+public final class JsonWriter implements ValueWriter {
+
+    private static final int INITIAL_BUFFER = 256;
+    private static final int MAX_POOLED_BUFFER = 64 * 1024;   // 큰 batch 로 커진 버퍼는 풀에 두지 않음
+    private static final int MAX_POOLED = 32;
+
+    private static final Queue<JsonWriter> FREE = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buf = new byte[INITIAL_BUFFER];
+    private int len;
+    private int depth;
+    private boolean needComma;   // 다음 값/이름 앞에 ',' 가 필요한지
+    private boolean released;
+
+    private JsonWriter() {
+    }
+
+    // {"action":"..." 까지 쓴 작성기 (나머지 필드를 이어 쓰고 endObject 로 닫음)
+    public static JsonWriter request(String action) {
+        return create().beginObject().name("action").value(action);
+    }
+
+    // 빈 작성기 (요청이 아닌 값 하나를 쓸 때)
+    static JsonWriter create() {
+        JsonWriter w = FREE.poll();
+        if (w == null) return new JsonWriter();
+        POOLED.decrementAndGet();
+        w.len = 0;
+        w.depth = 0;
+        w.needComma = false;
+        w.released = false;
+        return w;
+    }
+
+    // 보낸 뒤 Client 가 부름: 버퍼를 풀로 돌려줌
+    void release() {
+        if (released) return;
+        released = true;
+        if (buf.length > MAX_POOLED_BUFFER) return;
+        if (POOLED.incrementAndGet() > MAX_POOLED) {
+            POOLED.decrementAndGet();
+            return;
+        }
+        FREE.offer(this);
+    }
+
+    @Override
+    public JsonWriter beginObject() {
+        separator();
+        put('{');
+        depth++;
+        needComma = false;
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() {
+        put('}');
+        depth--;
+        needComma = true;
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginArray() {
+        separator();
+        put('[');
+        depth++;
+        needComma = false;
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() {
+        put(']');
+        depth--;
+        needComma = true;
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(String name) {
+        separator();
+        string(name);
+        put(':');
+        needComma = false;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String s) {
+        if (s == null) return nullValue();
+        separator();
+        string(s);
+        needComma = true;
+        return this;
+    }
+
+    // "yyyy-MM-dd HH:mm:ss" (서버의 DATETIME 문자열 형식)
+    @Override
+    public JsonWriter value(LocalDateTime t) {
+        if (t == null) return nullValue();
+        return value(WireFormat.format(t));
+    }
+
+    @Override
+    public JsonWriter value(long v) {
+        separator();
+        if (v == Long.MIN_VALUE) {
+            ascii(Long.toString(v));
+        } else {
+            if (v < 0) {
+                put('-');
+                v = -v;
+            }
+            digits(v);
+        }
+        needComma = true;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(double v) {
+        if (Double.isNaN(v) || Double.isInfinite(v)) throw new IllegalArgumentException("JSON 숫자가 아님: " + v);
+        separator();
+        ascii(Double.toString(v));
+        needComma = true;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean v) {
+        separator();
+        ascii(v ? "true" : "false");
+        needComma = true;
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() {
+        separator();
+        ascii("null");
+        needComma = true;
+        return this;
+    }
+
+    // 이미 JSON 인 값을 그대로 (Client.Batch.ref 등)
+    public JsonWriter rawValue(String json) {
+        separator();
+        utf8(json, false);
+        needComma = true;
+        return this;
+    }
+
+    // 다른 작성기가 쓴 값을 그대로 (닫히지 않았거나 이미 보낸 작성기면 예외)
+    JsonWriter rawValue(JsonWriter other) {
+        other.checkComplete();
+        separator();
+        ensure(other.len);
+        System.arraycopy(other.buf, 0, buf, len, other.len);
+        len += other.len;
+        needComma = true;
+        return this;
+    }
+
+    // 아래 세 개는 보내는 쪽(Client)용: 버퍼를 복사하지 않고 그대로 소켓에 씀
+    byte[] buffer() {
+        checkComplete();
+        return buf;
+    }
+
+    int length() {
+        return len;
+    }
+
+    byte[] toByteArray() {
+        checkComplete();
+        return Arrays.copyOf(buf, len);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, len, StandardCharsets.UTF_8);
+    }
+
+    private void checkComplete() {
+        if (released) throw new IllegalStateException("이미 보낸 요청 작성기");
+        if (depth != 0 || len == 0) throw new IllegalStateException("닫히지 않은 JSON: " + this);
+    }
+
+    private void separator() {
+        if (needComma) put(',');
+    }
+
+    private void string(String s) {
+        put('"');
+        utf8(s, true);
+        put('"');
+    }
+
+    // UTF-8 로 쓰기 (escape: JSON 문자열 안에 넣을 때)
+    private void utf8(String s, boolean escape) {
+        int n = s.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (!escape || (c >= 0x20 && c != '"' && c != '\\')) {
+                    if (len == buf.length) ensure(1);
+                    buf[len++] = (byte) c;
+                } else {
+                    escapeAscii(c);
+                }
+            } else if (c < 0x800) {
+                ensure(2);
+                buf[len++] = (byte) (0xC0 | (c >> 6));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                ensure(4);
+                buf[len++] = (byte) (0xF0 | (cp >> 18));
+                buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                if (Character.isSurrogate(c)) c = '\uFFFD';   // 짝 없는 surrogate 는 UTF-8 로 쓸 수 없음
+                ensure(3);
+                buf[len++] = (byte) (0xE0 | (c >> 12));
+                buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void escapeAscii(char c) {
+        ensure(6);
+        buf[len++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buf[len++] = (byte) c;
+                break;
+            case '\n':
+                buf[len++] = 'n';
+                break;
+            case '\r':
+                buf[len++] = 'r';
+                break;
+            case '\t':
+                buf[len++] = 't';
+                break;
+            case '\b':
+                buf[len++] = 'b';
+                break;
+            case '\f':
+                buf[len++] = 'f';
+                break;
+            default:
+                buf[len++] = 'u';
+                buf[len++] = '0';
+                buf[len++] = '0';
+                buf[len++] = HEX[c >> 4];
+                buf[len++] = HEX[c & 0xF];
+        }
+    }
+
+    // 0 이상의 정수를 문자열로 만들지 않고 바로 씀
+    private void digits(long v) {
+        int n = 1;
+        for (long t = v; t >= 10; t /= 10) n++;
+        ensure(n);
+        for (int i = len + n - 1; i >= len; i--) {
+            buf[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        len += n;
+    }
+
+    private void ascii(String s) {
+        ensure(s.length());
+        for (int i = 0; i < s.length(); i++) buf[len++] = (byte) s.charAt(i);
+    }
+
+    private void put(char c) {
+        ensure(1);
+        buf[len++] = (byte) c;
+    }
+
+    private void ensure(int n) {
+        if (len + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + n));
+    }
+}
@@ -0,0 +1,322 @@
+package calendar;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 화면 없는 부하 발생기: CalendarUI 를 띄운 사용자 여러 명이 하는 요청을 흉내 냄
+ * - 가상 사용자마다 회원가입(이미 있으면 그대로) → login → 자기 캘린더 하나 만들기 후
+ *   정해진 비율(mix)로 액션을 골라 보내고 think 시간만큼 쉼 (닫힌 모델: 응답을 받아야 다음 요청)
+ * - 액션별 처리량과 지연 시간 p50 / p90 / p99 / p99.9 / max (LatencyHistogram)
+ *   success=false 응답과 예외는 errors 로 따로 셈 (지연 시간에는 둘 다 포함)
+ * - 사용자마다 가상 스레드 하나 (JDK 21 이상, 아니면 플랫폼 스레드)
+ * - transport=nio(기본): 사용자마다 연결 하나를 NioTransport 이벤트 루프가 처리 → 클라이언트 여러 대와 같음
+ *   transport=pool: 모든 사용자가 Client 기본 연결 풀을 같이 씀 → 클라이언트 한 대에서 몰아 보내는 것과 같음
+ *
+ * 실행: java calendar.LoadGenerator [이름=값 ...]
+ *   users=50 duration=60 warmup=5 ramp=5 think=500 host=localhost port=5000 transport=nio loops=2
+ *   (host / port 를 안 주면 ClientConfig 의 calendar.endpoints 첫 번째 서버)
+ *   mix=calendar_list:30,schedule_list:30,schedule_add:15,invite_list:10,invite_send:5,invite_response:5,login:5
+ *   (duration / warmup / ramp 는 초, think 는 평균 ms: 0 ~ 2*think 사이에서 고름)
+ */
+public class LoadGenerator {
+
+    private static final String DEFAULT_MIX =
+            "calendar_list:30,schedule_list:30,schedule_add:15,invite_list:10,"
+                    + "invite_send:5,invite_response:5,login:5";
+    private static final String[] ACTIONS = {
+            "login", "calendar_list", "schedule_list", "schedule_add",
+            "invite_send", "invite_list", "invite_response"};
+    private static final String PASSWORD = "load-test";
+
+    private final String host;
+    private final int port;
+    private final int users;
+    private final long thinkMs;
+    private final String[] mix;      // 가중치만큼 액션 이름을 넣어 둔 배열 (고르기 = 아무 칸)
+    private final NioTransport transport;
+
+    private final Map<String, LatencyHistogram> latency = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new LinkedHashMap<>();
+    private final LatencyHistogram total = new LatencyHistogram();   // 모든 액션 (요청마다 같이 기록)
+    private final AtomicIntegerArray userIds;   // 초대 대상 고르기용 (로그인 전이면 0)
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    private LoadGenerator(Map<String, String> opts) throws IOException {
+        ClientConfig.Endpoint server = ClientConfig.get().endpoints.get(0);   // 없으면 설정의 첫 번째 서버
+        host = opts.getOrDefault("host", server.host);
+        port = Integer.parseInt(opts.getOrDefault("port", String.valueOf(server.port)));
+        users = Integer.parseInt(opts.getOrDefault("users", "50"));
+        thinkMs = Long.parseLong(opts.getOrDefault("think", "500"));
+        mix = parseMix(opts.getOrDefault("mix", DEFAULT_MIX));
+        transport = "pool".equals(opts.getOrDefault("transport", "nio"))
+                ? null
+                : new NioTransport(Integer.parseInt(opts.getOrDefault("loops", "2")));
+        userIds = new AtomicIntegerArray(users);
+        for (String action : ACTIONS) {
+            latency.put(action, new LatencyHistogram());
+            errors.put(action, new LongAdder());
+        }
+        latency.put("calendar_add", new LatencyHistogram());
+        errors.put("calendar_add", new LongAdder());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                System.err.println("사용법: java calendar.LoadGenerator [users=50] [duration=60] [warmup=5] "
+                        + "[ramp=5] [think=500] [mix=" + DEFAULT_MIX + "] [host=localhost] [port=5000] "
+                        + "[transport=nio|pool] [loops=2]");
+                System.exit(2);
+            }
+            opts.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        long duration = Long.parseLong(opts.getOrDefault("duration", "60"));
+        long warmup = Long.parseLong(opts.getOrDefault("warmup", "5"));
+        long ramp = Long.parseLong(opts.getOrDefault("ramp", "5"));
+
+        LoadGenerator gen = new LoadGenerator(opts);
+        System.out.printf("%s:%d 사용자 %d명, think 평균 %dms, 워밍업 %ds + 측정 %ds (%s)%n",
+                gen.host, gen.port, gen.users, gen.thinkMs, warmup, duration,
+                gen.transport != null ? "NioTransport" : "연결 풀");
+        gen.run(TimeUnit.SECONDS.toMillis(ramp), TimeUnit.SECONDS.toMillis(warmup), TimeUnit.SECONDS.toMillis(duration));
+        System.exit(0);
+    }
+
+    private void run(long rampMs, long warmupMs, long durationMs) throws InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        CountDownLatch done = new CountDownLatch(users);
+        ExecutorService threads = userThreads();
+        for (int i = 0; i < users; i++) {
+            int n = i;
+            long delay = users > 1 ? rampMs * i / (users - 1) : 0;   // 한꺼번에 로그인하지 않게
+            threads.execute(() -> {
+                try {
+                    Thread.sleep(delay);
+                    new VirtualUser(n, runId).run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        Thread.sleep(rampMs + warmupMs);
+        recording = true;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        long lastTotal = 0;
+        while (System.nanoTime() < end) {
+            Thread.sleep(Math.min(5_000, Math.max(1, TimeUnit.NANOSECONDS.toMillis(end - System.nanoTime()))));
+            long count = total.count();
+            long errs = 0;
+            for (LongAdder e : errors.values()) errs += e.sum();
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            System.out.printf("  %5.0fs  요청 %,d (+%,d)  오류 %,d  %,.0f 요청/s%n",
+                    elapsed, count, count - lastTotal, errs, count / elapsed);
+            lastTotal = count;
+        }
+        recording = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        running = false;
+        done.await(10, TimeUnit.SECONDS);
+        threads.shutdownNow();
+        if (transport != null) transport.close();
+
+        report(seconds);
+    }
+
+    private void report(double seconds) {
+        System.out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n",
+                "action", "count", "errors", "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long allErrors = 0;
+        for (Map.Entry<String, LatencyHistogram> e : latency.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            if (h.count() == 0) continue;
+            long errs = errors.get(e.getKey()).sum();
+            allErrors += errs;
+            row(e.getKey(), h, errs, seconds);
+        }
+        row("(all)", total, allErrors, seconds);
+        System.out.println("client: " + ClientMetrics.summary());
+    }
+
+    private static void row(String name, LatencyHistogram h, long errs, double seconds) {
+        System.out.printf("%-16s %,9d %,7d %,9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, h.count(), errs, h.count() / seconds, h.mean() / 1000,
+                h.percentile(50) / 1000.0, h.percentile(90) / 1000.0, h.percentile(99) / 1000.0,
+                h.percentile(99.9) / 1000.0, h.max() / 1000.0);
+    }
+
+    /**
+     * 가상 사용자 한 명 (자기 Client / 연결 하나)
+     */
+    private final class VirtualUser {
+        private final int n;
+        private final String email;
+        private final Client client;
+        private final Deque<Integer> pendingInvites = new ArrayDeque<>();   // invite_list 로 받은 share id
+        private int userId = -1;
+        private int calendarId = -1;
+
+        VirtualUser(int n, String runId) {
+            this.n = n;
+            // 실행마다 새 사용자 (이전 실행이 남긴 초대/일정과 섞이지 않게)
+            this.email = "load-" + runId + "-" + n + "@load.test";
+            this.client = transport != null ? new Client(host, port, transport) : new Client(host, port);
+        }
+
+        void run() throws InterruptedException {
+            try {
+                client.send(JsonWriter.request("register")
+                        .name("email").value(email).name("pw").value(PASSWORD).name("name").value("부하 " + n)
+                        .endObject());
+            } catch (Exception e) {
+                System.err.println("회원가입 실패 (" + email + "): " + e);
+            }
+            while (running && userId < 0) {
+                if (!call("login", login()) || userId < 0) Thread.sleep(1_000);   // 서버가 아직 안 떴을 때 등
+            }
+            while (running && calendarId < 0) {
+                if (!call("calendar_add", JsonWriter.request("calendar_add")
+                        .name("user_id").value(userId).name("name").value("부하 캘린더 " + n)
+                        .name("description").value("load test").endObject())) {
+                    Thread.sleep(1_000);
+                }
+            }
+            userIds.set(n, userId);
+
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            while (running) {
+                if (thinkMs > 0) Thread.sleep(rnd.nextLong(2 * thinkMs + 1));
+                if (!running) break;
+                String action = mix[rnd.nextInt(mix.length)];
+                // 응답할 초대가 없으면 목록부터 받음
+                if ("invite_response".equals(action) && pendingInvites.isEmpty()) action = "invite_list";
+                call(action, request(action, rnd));
+            }
+            client.close();
+        }
+
+        private JsonWriter login() {
+            return JsonWriter.request("login").name("email").value(email).name("pw").value(PASSWORD).endObject();
+        }
+
+        private JsonWriter request(String action, ThreadLocalRandom rnd) {
+            switch (action) {
+                case "login":
+                    return login();
+                case "calendar_list":
+                    return JsonWriter.request("calendar_list").name("user_id").value(userId).endObject();
+                case "schedule_list":
+                    return JsonWriter.request("schedule_list").name("calendar_id").value(calendarId).endObject();
+                case "schedule_add":
+                    LocalDate day = LocalDate.now().plusDays(rnd.nextInt(-7, 8));
+                    return JsonWriter.request("schedule_add")
+                            .name("calendar_id").value(calendarId)
+                            .name("user_id").value(userId)
+                            .name("title").value("부하 일정 " + rnd.nextInt(1_000))
+                            .name("time").value(day.atTime(rnd.nextInt(8, 20), rnd.nextInt(4) * 15))
+                            .name("place").value("회의실 " + rnd.nextInt(10))
+                            .name("memo").value(rnd.nextInt(4) == 0 ? "안건:\n- 진행 상황\n- \"다음 주\" 계획" : "")
+                            .endObject();
+                case "invite_send":
+                    int target = userIds.get(rnd.nextInt(users));
+                    return JsonWriter.request("invite_send")
+                            .name("user_id").value(userId)
+                            .name("target_id").value(target > 0 ? target : userId)
+                            .name("calendar_id").value(calendarId)
+                            .endObject();
+                case "invite_response":
+                    return JsonWriter.request("invite_response")
+                            .name("share_id").value(pendingInvites.poll())
+                            .name("status").value(rnd.nextBoolean() ? "accept" : "reject")
+                            .endObject();
+                default:
+                    return JsonWriter.request("invite_list").name("target_id").value(userId).endObject();
+            }
+        }
+
+        // 보내고 기록. 성공 응답이면 true
+        private boolean call(String action, JsonWriter req) {
+            long start = System.nanoTime();
+            String res = null;
+            try {
+                res = client.send(req);
+            } catch (Exception e) {
+                if (!recording) System.err.println(action + " 실패: " + e);
+            }
+            long nanos = System.nanoTime() - start;
+            boolean ok = res != null && JsonHelper.getBoolean(res, "success", false);
+            if (recording) {
+                latency.get(action).recordNanos(nanos);
+                total.recordNanos(nanos);
+                if (!ok) errors.get(action).increment();
+            }
+            if (ok) onResponse(action, res);
+            return ok;
+        }
+
+        private void onResponse(String action, String res) {
+            switch (action) {
+                case "login":
+                    userId = JsonHelper.getInt(res, "user_id", -1);
+                    break;
+                case "calendar_add":
+                    calendarId = JsonHelper.getInt(res, "calendar_id", -1);
+                    break;
+                case "invite_list":
+                    for (String obj : JsonHelper.getObjectsArray(res, "invites")) {
+                        int id = JsonHelper.getInt(obj, "id", -1);
+                        if (id > 0 && !pendingInvites.contains(id)) pendingInvites.add(id);
+                    }
+                    break;
+                default:
+            }
+        }
+    }
+
+    // "a:30,b:10" → 가중치만큼 반복한 액션 배열
+    private static String[] parseMix(String spec) {
+        List<String> out = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            String action = kv[0].trim();
+            if (!List.of(ACTIONS).contains(action)) throw new IllegalArgumentException("모르는 액션: " + action);
+            int weight = kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) out.add(action);
+        }
+        if (out.isEmpty()) throw new IllegalArgumentException("mix 가 비어 있음");
+        return out.toArray(new String[0]);
+    }
+
+    // JDK 21 이상이면 사용자마다 가상 스레드, 아니면 플랫폼 스레드 (블로킹 호출이라 사용자 수만큼)
+    private ExecutorService userThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(users, r -> {
+                Thread t = new Thread(r, "load-user");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
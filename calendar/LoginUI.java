@@ -53,31 +53,23 @@ public class LoginUI extends JFrame {
         }
 
         try {
-            Client client = new Client("localhost", 5000);
-            String jsonReq =
-                    "{"
-                            + "\"action\":\"login\","
-                            + "\"email\":\"" + Client.escape(email) + "\","
-                            + "\"pw\":\"" + Client.escape(pw) + "\""
-                            + "}";
-
-            String resStr = client.send(jsonReq);
-            // System.out.println("LOGIN RESPONSE = " + resStr);
-
-            boolean success = JsonHelper.getBoolean(resStr, "success", false);
-            if (success) {
-                int userId = JsonHelper.getInt(resStr, "user_id", -1);
-                if (userId < 0) {
-                    userId = JsonHelper.getInt(resStr, "id", -1);
-                }
-                String name = JsonHelper.getString(resStr, "name");
+            Client client = new Client();
+            JsonWriter jsonReq = JsonWriter.request("login")
+                    .name("email").value(email)
+                    .name("pw").value(pw)
+                    .endObject();
+
+            // user_id (예전 서버는 id) / name / message 를 한 번에 읽음
+            ResponseBinder.UserResponse res = ResponseBinder.readUser(client.sendRaw(jsonReq));
+
+            if (res.success) {
+                String name = res.name;
                 JOptionPane.showMessageDialog(this, "로그인 성공: " + name);
 
-                new CalendarUI(userId, name == null ? "" : name);
+                new CalendarUI(res.userId, name == null ? "" : name);
                 dispose();
             } else {
-                String msg = JsonHelper.getString(resStr, "message");
-                JOptionPane.showMessageDialog(this, msg == null ? "로그인 실패" : msg);
+                JOptionPane.showMessageDialog(this, res.message == null ? "로그인 실패" : res.message);
             }
         } catch (Exception ex) {
             ex.printStackTrace();
@@ -0,0 +1,383 @@
+package calendar;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Selector 이벤트 루프 기반 non-blocking 전송 (Client 의 send / sendRaw / sendAsync 뒤에 끼워 씀)
+ * - 연결(Session) 수천 개를 이벤트 루프 스레드 몇 개가 나눠 맡음 → 요청마다 블록되는 스레드가 없음
+ * - 세션마다 요청에 rid 를 붙여 응답을 기다리지 않고 보냄 (PipelinedConnection 과 같은 규칙)
+ * - 읽기: 루프마다 direct buffer 하나로 읽고, 여러 번에 나눠 도착한 프레임은 세션별로 이어 붙임
+ * - 쓰기: 보낼 프레임을 풀에서 빌린 direct buffer 에 채워 보내고, 다 못 보내면 OP_WRITE 를 기다려 이어 보냄
+ * - 응답 future 는 이벤트 루프 스레드에서 완료 → 콜백 안에서 블록하면 루프 전체가 멈춤 (…Async 로 넘길 것)
+ */
+final class NioTransport implements Closeable {
+
+    private static final int MAX_POOLED_BUFFERS = 256;
+    private static final long SELECT_TIMEOUT_MS = 1000;   // 연결 시간 초과 확인 주기
+
+    private final EventLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private final int connectTimeoutMs = ClientConfig.get().connectTimeoutMs;
+    private final DirectBufferPool buffers = new DirectBufferPool(ClientConfig.get().nioBufferBytes, MAX_POOLED_BUFFERS);
+    private volatile boolean closed;
+
+    NioTransport(int threads) throws IOException {
+        if (threads < 1) throw new IllegalArgumentException("이벤트 루프 스레드 수: " + threads);
+        loops = new EventLoop[threads];
+        try {
+            for (int i = 0; i < threads; i++) loops[i] = new EventLoop(i);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        for (EventLoop loop : loops) loop.thread.start();
+    }
+
+    // 새 연결 하나. 연결은 루프에서 끝나고, 그 전에 보낸 요청은 연결되면 나감
+    Session open(String host, int port) throws IOException {
+        if (closed) throw new IOException("전송이 이미 닫힘");
+        SocketChannel ch = SocketChannel.open();
+        try {
+            ch.configureBlocking(false);
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            ch.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            ch.connect(new InetSocketAddress(host, port));
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        EventLoop loop = loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+        Session s = new Session(loop, ch);
+        loop.execute(s::register);
+        return s;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (EventLoop loop : loops) {
+            if (loop != null) loop.selector.wakeup();
+        }
+    }
+
+    /**
+     * Selector 하나와 그 스레드
+     * - 다른 스레드의 작업(등록, 보내기)은 tasks 에 넣고 wakeup → 세션 상태는 루프 스레드만 만짐
+     */
+    private final class EventLoop implements Runnable {
+        final Selector selector;
+        final Thread thread;
+        final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        final ByteBuffer readBuf = buffers.acquire();   // 이 루프의 모든 세션이 같이 씀
+
+        EventLoop(int index) throws IOException {
+            selector = Selector.open();
+            thread = new Thread(this, "calendar-nio-" + index);
+            thread.setDaemon(true);
+        }
+
+        void execute(Runnable task) {
+            tasks.add(task);
+            if (Thread.currentThread() != thread) selector.wakeup();
+        }
+
+        boolean inLoop() {
+            return Thread.currentThread() == thread;
+        }
+
+        @Override
+        public void run() {
+            long nextTimeoutCheck = System.currentTimeMillis() + SELECT_TIMEOUT_MS;
+            Throwable cause = null;
+            try {
+                while (!closed) {
+                    selector.select(SELECT_TIMEOUT_MS);
+                    runTasks();
+
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        ((Session) key.attachment()).handle(key);
+                    }
+
+                    long now = System.currentTimeMillis();
+                    if (now >= nextTimeoutCheck) {
+                        checkConnectTimeouts(now);
+                        nextTimeoutCheck = now + SELECT_TIMEOUT_MS;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                cause = e;   // 루프가 죽은 이유는 남은 요청의 실패 원인으로 넘김
+            } finally {
+                shutdown(cause);
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) task.run();
+        }
+
+        private void checkConnectTimeouts(long now) {
+            for (SelectionKey key : selector.keys()) {
+                Session s = (Session) key.attachment();
+                if (!s.ch.isConnected() && now - s.openedAt > connectTimeoutMs) {
+                    s.fail(new SocketTimeoutException("연결 시간 초과"));
+                }
+            }
+        }
+
+        private void shutdown(Throwable cause) {
+            IOException e = new IOException("전송 닫힘", cause);
+            for (SelectionKey key : selector.keys()) ((Session) key.attachment()).fail(e);
+            runTasks();   // 아직 등록 안 된 세션은 register 에서 실패 처리
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+            buffers.release(readBuf);
+        }
+    }
+
+    /**
+     * 이벤트 루프 위의 연결 하나
+     * - pending / closed / lastUsed 외의 상태는 루프 스레드에서만 읽고 씀
+     */
+    final class Session implements AsyncConnection {
+        private final EventLoop loop;
+        private final SocketChannel ch;
+        private final long openedAt = System.currentTimeMillis();
+        private final Map<Long, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+        private final AtomicLong nextRid = new AtomicLong();
+        private volatile boolean closed;
+        private volatile long lastUsed = openedAt;
+        private volatile long lastReceived = System.nanoTime();
+
+        private SelectionKey key;
+        private final Deque<ByteBuffer> outQueue = new ArrayDeque<>();
+        private ByteBuffer staging;        // 보내는 중인 바이트 (쓰기 모드), 보낼 게 없으면 풀에 돌려줌
+        private final ByteBuffer header = ByteBuffer.allocate(Framing.HEADER_BYTES);
+        private int head;                  // 받는 중인 응답의 헤더 (길이 + 플래그)
+        private byte[] body;               // 받는 중인 응답 본문 (헤더를 다 읽기 전엔 null)
+        private int bodyPos;
+
+        private Session(EventLoop loop, SocketChannel ch) {
+            this.loop = loop;
+            this.ch = ch;
+        }
+
+        @Override
+        public CompletableFuture<byte[]> send(byte[] body, WireFormat.Options options) {
+            long rid = nextRid.incrementAndGet();
+            CompletableFuture<byte[]> f = new CompletableFuture<>();
+            ByteBuffer frame = Framing.frame(PipelinedConnection.withRid(body, rid), options.deflate);
+
+            long sentAt = System.nanoTime();
+            pending.put(rid, f);
+            f.whenComplete((res, err) -> {
+                if (err != null) abandon(rid, f, err, sentAt);
+            });
+            if (closed) {
+                pending.remove(rid);
+                f.completeExceptionally(new PooledConnection.StaleConnectionException(true));
+                return f;
+            }
+            lastUsed = System.currentTimeMillis();
+            loop.execute(() -> enqueue(frame));
+            return f;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public boolean isReused() {
+            return nextRid.get() > 0;
+        }
+
+        @Override
+        public long idleMillis() {
+            return pending.isEmpty() ? System.currentTimeMillis() - lastUsed : 0;
+        }
+
+        @Override
+        public void close() {
+            fail(new IOException("연결 닫음"));
+        }
+
+        // ---- 여기부터 루프 스레드 ----
+
+        private void register() {
+            if (closed || NioTransport.this.closed) {
+                fail(new IOException("전송 닫힘"));
+                return;
+            }
+            try {
+                boolean connected = ch.isConnected();
+                key = ch.register(loop.selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+                if (connected) flush();
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void enqueue(ByteBuffer frame) {
+            if (closed) return;   // fail 에서 이미 future 실패 처리
+            outQueue.add(frame);
+            if (key != null && ch.isConnected()) {
+                try {
+                    flush();
+                } catch (IOException | RuntimeException e) {
+                    fail(e);
+                }
+            }
+        }
+
+        private void handle(SelectionKey k) {
+            try {
+                if (k.isConnectable()) {
+                    if (!ch.finishConnect()) return;
+                    k.interestOps(SelectionKey.OP_READ);
+                    flush();
+                }
+                if (k.isValid() && k.isReadable()) read();
+                if (k.isValid() && k.isWritable()) flush();
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        // 소켓이 받아 주는 만큼 보냄. 송신 버퍼가 가득 차면 OP_WRITE 로 다음 기회에
+        private void flush() throws IOException {
+            while (true) {
+                if (staging == null) {
+                    if (outQueue.isEmpty()) break;
+                    staging = buffers.acquire();
+                }
+                while (staging.hasRemaining() && !outQueue.isEmpty()) {
+                    ByteBuffer head = outQueue.peek();
+                    int n = Math.min(head.remaining(), staging.remaining());
+                    int limit = head.limit();
+                    head.limit(head.position() + n);
+                    staging.put(head);
+                    head.limit(limit);
+                    if (!head.hasRemaining()) outQueue.poll();
+                }
+
+                staging.flip();
+                int written = ch.write(staging);
+                staging.compact();
+                if (staging.position() == 0 && outQueue.isEmpty()) {
+                    buffers.release(staging);
+                    staging = null;
+                    break;
+                }
+                if (written == 0) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+            if ((key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            }
+        }
+
+        // 한 번 읽은 바이트에 프레임 여러 개 / 프레임 일부가 섞여 있을 수 있음
+        private void read() throws IOException {
+            ByteBuffer buf = loop.readBuf;
+            buf.clear();
+            int n = ch.read(buf);
+            if (n < 0) {
+                if (body == null && header.position() == 0) throw new PooledConnection.StaleConnectionException();
+                throw new EOFException("메시지 도중 연결 종료");
+            }
+            buf.flip();
+            while (buf.hasRemaining()) {
+                if (body == null) {
+                    while (header.hasRemaining() && buf.hasRemaining()) header.put(buf.get());
+                    if (header.hasRemaining()) break;
+                    header.flip();
+                    head = header.getInt();
+                    body = new byte[Framing.length(head)];
+                    bodyPos = 0;
+                    header.clear();
+                }
+                int len = Math.min(buf.remaining(), body.length - bodyPos);
+                buf.get(body, bodyPos, len);
+                bodyPos += len;
+                if (bodyPos == body.length) {
+                    byte[] res = body;
+                    body = null;
+                    deliver(res);
+                }
+            }
+        }
+
+        private void deliver(byte[] res) throws IOException {
+            res = Framing.body(head, res);   // 압축 풀기도 루프 스레드에서
+            lastReceived = System.nanoTime();
+            long rid = PipelinedConnection.ridOf(res);
+            CompletableFuture<byte[]> f = pending.remove(rid);
+            if (f == null && PipelinedConnection.isLate(rid, nextRid)) return;   // 이미 포기한 요청
+            if (f == null) {
+                throw new IOException("rid 를 알 수 없는 응답: "
+                        + new String(res, 0, Math.min(res.length, 200), StandardCharsets.UTF_8));
+            }
+            lastUsed = System.currentTimeMillis();
+            f.complete(res);
+        }
+
+        // PipelinedConnection.abandon 과 같음 (future 를 끝낸 스레드에서 불림)
+        private void abandon(long rid, CompletableFuture<byte[]> f, Throwable err, long sentAt) {
+            pending.remove(rid, f);
+            if (err instanceof TimeoutException && lastReceived - sentAt < 0 && !closed) {
+                fail(new SocketTimeoutException("응답 없는 연결"));
+            }
+        }
+
+        // 아무 스레드에서나 불릴 수 있음 (여러 번 불려도 됨)
+        private void fail(Exception cause) {
+            closed = true;
+            try {
+                ch.close();   // 등록된 key 도 같이 취소됨
+            } catch (IOException ignored) {
+            }
+            if (loop.inLoop()) {
+                outQueue.clear();
+                if (staging != null) {
+                    buffers.release(staging);
+                    staging = null;
+                }
+            }
+            IOException e = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+            for (Long rid : pending.keySet()) {
+                CompletableFuture<byte[]> f = pending.remove(rid);
+                if (f != null) f.completeExceptionally(e);
+            }
+        }
+    }
+}
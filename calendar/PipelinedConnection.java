@@ -0,0 +1,203 @@
+package calendar;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 응답을 기다리지 않고 요청을 연달아 보내는 연결 하나
+ * - 요청마다 "rid" (correlation id) 를 붙이고, 서버는 응답에 같은 rid 를 돌려줌
+ * - 서버는 rid 가 있는 요청을 동시에 처리하므로 응답 순서는 요청 순서와 다를 수 있음
+ * - 읽기 전용 스레드가 응답을 받아 rid 로 CompletableFuture 를 찾아 완료
+ * - 연결이 끊기면 기다리던 요청은 모두 실패 (메시지 경계에서 닫혔으면 StaleConnectionException)
+ * - 호출한 쪽이 future 를 먼저 끝내면 (orTimeout 등) 그 요청만 빠지고 늦게 온 응답은 버림
+ */
+final class PipelinedConnection implements AsyncConnection {
+
+    private final SocketChannel ch;
+    private final Object writeLock = new Object();
+    private final Map<Long, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextRid = new AtomicLong();
+
+    private volatile boolean closed;
+    private volatile long lastUsed;
+    private volatile long lastReceived = System.nanoTime();
+
+    PipelinedConnection(String host, int port) throws IOException {
+        ch = SocketChannel.open();
+        try {
+            ch.socket().setTcpNoDelay(true);
+            ch.socket().setKeepAlive(true);
+            ch.socket().connect(new InetSocketAddress(host, port), ClientConfig.get().connectTimeoutMs);
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        lastUsed = System.currentTimeMillis();
+
+        Thread reader = new Thread(this::readLoop, "calendar-pipeline-" + host + ":" + port);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public boolean isReused() {
+        return nextRid.get() > 0;
+    }
+
+    @Override
+    public long idleMillis() {
+        return pending.isEmpty() ? System.currentTimeMillis() - lastUsed : 0;
+    }
+
+    @Override
+    public CompletableFuture<byte[]> send(byte[] body, WireFormat.Options options) {
+        long rid = nextRid.incrementAndGet();
+        CompletableFuture<byte[]> f = new CompletableFuture<>();
+        long sentAt = System.nanoTime();
+        pending.put(rid, f);
+        f.whenComplete((res, err) -> {
+            if (err != null) abandon(rid, f, err, sentAt);
+        });
+        if (closed) {
+            pending.remove(rid);
+            f.completeExceptionally(new PooledConnection.StaleConnectionException(true));
+            return f;
+        }
+
+        ByteBuffer frame = Framing.frame(withRid(body, rid), options.deflate);
+        try {
+            synchronized (writeLock) {
+                while (frame.hasRemaining()) {
+                    ch.write(frame);
+                }
+            }
+            lastUsed = System.currentTimeMillis();
+        } catch (IOException e) {
+            fail(e);
+        }
+        return f;
+    }
+
+    // {"action":...} → {"rid":7,"action":...} (바이너리 본문은 BinaryWriter.withRid)
+    static byte[] withRid(byte[] json, long rid) {
+        if (WireFormat.isBinary(json)) return BinaryWriter.withRid(json, rid);
+        int open = 0;
+        while (open < json.length && json[open] != '{') open++;
+        if (open == json.length) {
+            throw new IllegalArgumentException("JSON 객체가 아님: " + new String(json, StandardCharsets.UTF_8));
+        }
+        int i = open + 1;
+        while (i < json.length && Character.isWhitespace(json[i])) i++;
+        boolean empty = i < json.length && json[i] == '}';
+
+        byte[] prefix = ("{\"rid\":" + rid + (empty ? "" : ",")).getBytes(StandardCharsets.US_ASCII);
+        int rest = json.length - open - 1;
+        byte[] out = Arrays.copyOf(prefix, prefix.length + rest);
+        System.arraycopy(json, open + 1, out, prefix.length, rest);
+        return out;
+    }
+
+    private void readLoop() {
+        ByteBuffer header = ByteBuffer.allocateDirect(Framing.HEADER_BYTES);
+        try {
+            while (!closed) {
+                header.clear();
+                if (!readFully(header)) throw new PooledConnection.StaleConnectionException();
+                header.flip();
+                int head = header.getInt();
+                ByteBuffer body = ByteBuffer.allocate(Framing.length(head));
+                if (!readFully(body)) throw new EOFException("메시지 도중 연결 종료");
+
+                byte[] res = Framing.body(head, body.array());
+                lastReceived = System.nanoTime();
+                long rid = ridOf(res);
+                CompletableFuture<byte[]> f = pending.remove(rid);
+                if (f == null && isLate(rid, nextRid)) continue;
+                if (f == null) {
+                    // rid 가 없는 응답(서버가 요청을 해석하지 못함)은 어느 요청의 것인지 알 수 없음
+                    throw new IOException("rid 를 알 수 없는 응답: "
+                            + new String(res, 0, Math.min(res.length, 200), StandardCharsets.UTF_8));
+                }
+                lastUsed = System.currentTimeMillis();
+                f.complete(res);
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private boolean readFully(ByteBuffer buf) throws IOException {
+        boolean any = false;
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf);
+            if (n < 0) {
+                if (!any && buf.position() == 0) return false;
+                throw new EOFException("메시지 도중 연결 종료");
+            }
+            any = true;
+        }
+        return true;
+    }
+
+    // 서버는 rid 를 응답의 첫 필드로 넣으므로 보통 첫 이름에서 끝남
+    static long ridOf(byte[] res) {
+        ValueReader r = WireFormat.reader(res);
+        r.beginObject();
+        while (r.hasNext()) {
+            if ("rid".equals(r.nextName()) && r.peek() == JsonReader.Token.NUMBER) {
+                return r.nextLong();
+            }
+            r.skipValue();
+        }
+        return -1;
+    }
+
+    // 보낸 rid 인데 기다리는 요청이 없으면 호출한 쪽이 이미 포기한 요청의 늦은 응답
+    static boolean isLate(long rid, AtomicLong nextRid) {
+        return rid > 0 && rid <= nextRid.get();
+    }
+
+    // 응답 전에 끝난 요청은 pending 에서 뺌
+    // 시간 초과인데 보낸 뒤로 이 연결에서 응답을 하나도 못 받았으면 서버가 멈춘 것으로 보고 연결을 닫음
+    // (응답이 오고 있으면 그 요청만 느린 것이므로 같이 기다리던 요청은 그대로 둠)
+    private void abandon(long rid, CompletableFuture<byte[]> f, Throwable err, long sentAt) {
+        pending.remove(rid, f);
+        if (err instanceof TimeoutException && lastReceived - sentAt < 0 && !closed) {
+            fail(new SocketTimeoutException("응답 없는 연결"));
+        }
+    }
+
+    private void fail(Exception cause) {
+        closed = true;
+        try {
+            ch.close();
+        } catch (IOException ignored) {
+        }
+        IOException e = cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        for (Long rid : pending.keySet()) {
+            CompletableFuture<byte[]> f = pending.remove(rid);
+            if (f != null) f.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        fail(new IOException("연결 닫음"));
+    }
+}
@@ -0,0 +1,187 @@
+package calendar;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버와의 keep-alive 연결 하나
+ * - 한 연결로 여러 요청/응답을 순서대로 주고받음
+ * - 메시지는 길이 헤더로 구분 (Framing 참고)
+ * - 응답은 연결마다 재사용하는 direct buffer 로 끝까지 읽음
+ * - 시간 제한: blocking 채널은 SO_TIMEOUT 을 따르지 않으므로, 제한 시간이 지나면 감시 스레드가
+ *   채널을 닫아 읽기를 깨우고 SocketTimeoutException 으로 바꿔 던짐 (응답이 남은 연결은 다시 못 씀)
+ */
+final class PooledConnection implements Closeable {
+
+    private static final ScheduledThreadPoolExecutor WATCHDOG = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "calendar-read-timeout");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        WATCHDOG.setRemoveOnCancelPolicy(true);   // 제때 끝난 요청의 예약은 바로 치움
+    }
+
+    private final SocketChannel ch;
+    private final ByteBuffer header = ByteBuffer.allocateDirect(Framing.HEADER_BYTES);
+    private ByteBuffer readBuf = ByteBuffer.allocateDirect(ClientConfig.get().readBufferBytes);
+
+    private long lastUsed;
+    private int uses;
+    private volatile boolean timedOut;
+
+    PooledConnection(String host, int port) throws IOException {
+        ch = SocketChannel.open();
+        try {
+            ch.socket().setTcpNoDelay(true);
+            ch.socket().setKeepAlive(true);
+            ch.socket().connect(new InetSocketAddress(host, port), ClientConfig.get().connectTimeoutMs);
+        } catch (IOException e) {
+            ch.close();
+            throw e;
+        }
+        lastUsed = System.currentTimeMillis();
+    }
+
+    // 요청(payload 앞 len 바이트) 하나 보내고 응답 프레임 하나 받기
+    // deflate: 압축 응답을 받겠다고 알리고 큰 요청은 압축
+    byte[] exchange(byte[] payload, int len, boolean deflate) throws IOException {
+        return exchange(payload, len, deflate, 0);
+    }
+
+    // timeoutMs: 보내기 시작부터 응답을 다 받을 때까지 (0 = 제한 없음)
+    byte[] exchange(byte[] payload, int len, boolean deflate, long timeoutMs) throws IOException {
+        uses++;
+        timedOut = false;
+        ScheduledFuture<?> deadline = timeoutMs > 0
+                ? WATCHDOG.schedule(this::expire, timeoutMs, TimeUnit.MILLISECONDS)
+                : null;
+        try {
+            writeFrame(Framing.frame(payload, len, deflate));
+            byte[] res = readFrame();
+            lastUsed = System.currentTimeMillis();
+            return res;
+        } catch (ClosedChannelException e) {
+            if (timedOut) throw new SocketTimeoutException("응답 시간 초과 (" + timeoutMs + "ms)");
+            throw e;
+        } finally {
+            if (deadline != null) deadline.cancel(false);
+        }
+    }
+
+    private void expire() {
+        timedOut = true;
+        close();
+    }
+
+    private void writeFrame(ByteBuffer[] frame) throws IOException {
+        while (frame[frame.length - 1].hasRemaining()) {
+            ch.write(frame);
+        }
+    }
+
+    private byte[] readFrame() throws IOException {
+        header.clear();
+        if (!readFully(header)) {
+            // 응답을 한 바이트도 못 받고 끊김 → 서버가 idle 연결을 닫은 경우
+            throw new StaleConnectionException();
+        }
+        int head = header.flip().getInt();
+        int len = Framing.length(head);
+
+        ByteBuffer buf = bufferFor(len);
+        if (!readFully(buf)) throw new EOFException("응답 도중 연결 종료");
+
+        byte[] out = new byte[len];
+        buf.flip().get(out);
+        return Framing.body(head, out);
+    }
+
+    // 버퍼가 찰 때까지 읽기. 시작 전에 EOF 면 false
+    private boolean readFully(ByteBuffer buf) throws IOException {
+        int start = buf.position();
+        while (buf.hasRemaining()) {
+            if (ch.read(buf) < 0) {
+                if (buf.position() == start) return false;
+                throw new EOFException("응답 도중 연결 종료");
+            }
+        }
+        return true;
+    }
+
+    // 큰 응답이 오면 버퍼를 2배씩 키워서 계속 재사용
+    private ByteBuffer bufferFor(int len) {
+        if (readBuf.capacity() < len) {
+            int cap = readBuf.capacity();
+            while (cap < len) cap = Math.min(cap * 2, Framing.MAX_FRAME);
+            readBuf = ByteBuffer.allocateDirect(cap);
+        }
+        readBuf.clear().limit(len);
+        return readBuf;
+    }
+
+    // 오래 놀던 연결이 아직 살아있는지 확인 (서버가 닫았으면 EOF가 읽힘)
+    boolean isAlive() {
+        if (!ch.isOpen() || !ch.isConnected()) return false;
+        try {
+            ch.configureBlocking(false);
+            try {
+                // 0 이면 읽을 것 없음 = 정상
+                // EOF(-1)든 요청 없이 들어온 데이터든 읽히면 더 쓸 수 없는 연결
+                header.clear().limit(1);
+                return ch.read(header) == 0;
+            } finally {
+                ch.configureBlocking(true);
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // 시간 제한에 걸려 닫힌 연결이 아닌지 (응답을 받은 직후에 닫혔을 수 있음)
+    boolean isOpen() {
+        return ch.isOpen();
+    }
+
+    long idleMillis(long now) {
+        return now - lastUsed;
+    }
+
+    boolean isReused() {
+        return uses > 0;
+    }
+
+    @Override
+    public void close() {
+        try {
+            ch.close();
+        } catch (IOException ignore) {
+        }
+    }
+
+    // 재사용한 연결이 이미 끊겨 있었음
+    // - unsent: 보내기 전에 닫힌 것을 알았음 → 서버는 요청을 받지 않았으므로 어느 액션이든 새 연결로 다시 보내도 됨
+    // - 아니면 요청을 쓴 뒤에 끊김 → 서버가 이미 실행했을 수 있으므로 멱등 액션만 다시 보냄
+    static final class StaleConnectionException extends IOException {
+        final boolean unsent;
+
+        StaleConnectionException() {
+            this(false);
+        }
+
+        StaleConnectionException(boolean unsent) {
+            super("서버가 연결을 닫았습니다.");
+            this.unsent = unsent;
+        }
+    }
+}
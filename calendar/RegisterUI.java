@@ -64,19 +64,16 @@ public class RegisterUI extends JFrame {
         }
 
         try {
-            Client client = new Client("localhost", 5000);
-            String jsonReq =
-                    "{"
-                            + "\"action\":\"register\","
-                            + "\"email\":\"" + Client.escape(email) + "\","
-                            + "\"pw\":\"" + Client.escape(pw1) + "\","
-                            + "\"name\":\"" + Client.escape(name) + "\""
-                            + "}";
+            Client client = new Client();
+            JsonWriter jsonReq = JsonWriter.request("register")
+                    .name("email").value(email)
+                    .name("pw").value(pw1)
+                    .name("name").value(name)
+                    .endObject();
 
-            String resStr = client.send(jsonReq);
-            boolean success = JsonHelper.getBoolean(resStr, "success", false);
-            String msg = JsonHelper.getString(resStr, "message");
-            if (success) {
+            ResponseBinder.Status res = ResponseBinder.readStatus(client.sendRaw(jsonReq));
+            String msg = res.message;
+            if (res.success) {
                 JOptionPane.showMessageDialog(this, msg == null ? "회원가입 완료" : msg);
                 dispose();
             } else {
@@ -0,0 +1,123 @@
+package calendar;
+
+import javax.swing.SwingUtilities;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 서버 요청을 EDT 밖에서 실행하고 결과를 EDT 로 돌려주는 실행기
+ * - submit: 백그라운드 실행 → CompletableFuture (cancel(true) 면 스레드 인터럽트)
+ * - run: submit + 성공/실패 콜백을 EDT 에서 호출
+ * - runLatest: 같은 key 의 이전 요청은 취소하고 마지막 요청 결과만 반영
+ *   (주 이동 버튼을 빠르게 여러 번 눌러도 마지막 주만 그림)
+ */
+final class RequestExecutor {
+
+    private static final int MAX_THREADS = 8;
+
+    private final ExecutorService io;
+    private final Map<String, CompletableFuture<?>> latest = new ConcurrentHashMap<>();
+
+    RequestExecutor(String name) {
+        AtomicInteger seq = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                MAX_THREADS, MAX_THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, name + "-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.io = pool;
+    }
+
+    // 백그라운드에서 실행. 반환된 future 를 cancel(true) 하면 실행 중인 스레드도 인터럽트
+    <T> CompletableFuture<T> submit(Callable<T> work) {
+        Task<T> cf = new Task<>();
+        cf.runner = io.submit(() -> {
+            if (cf.isDone()) return;   // 시작 전에 취소됨
+            try {
+                cf.complete(work.call());
+            } catch (Throwable t) {
+                cf.completeExceptionally(t);
+            }
+        });
+        return cf;
+    }
+
+    // 결과를 EDT 에서 받기. 취소된 요청은 어느 콜백도 호출하지 않음
+    <T> CompletableFuture<T> run(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        CompletableFuture<T> cf = submit(work);
+        deliver(cf, onSuccess, onError, () -> true);
+        return cf;
+    }
+
+    // 같은 key 로 새 요청이 오면 이전 요청은 취소하고 결과도 버림
+    <T> CompletableFuture<T> runLatest(String key, Callable<T> work,
+                                       Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        CompletableFuture<T> cf = submit(work);
+        CompletableFuture<?> prev = latest.put(key, cf);
+        if (prev != null) prev.cancel(false);   // 연결을 끊지 않도록 인터럽트는 하지 않음
+        // key 별로 마지막 요청만 남겨 두고, EDT 에서 결과를 반영할 때 다시 확인
+        deliver(cf, onSuccess, onError, () -> latest.get(key) == cf);
+        return cf;
+    }
+
+    void cancel(String key) {
+        CompletableFuture<?> prev = latest.remove(key);
+        if (prev != null) prev.cancel(true);
+    }
+
+    void shutdown() {
+        io.shutdownNow();
+    }
+
+    // cancel(true) 를 실제 실행 스레드 인터럽트까지 이어주는 future
+    private static final class Task<T> extends CompletableFuture<T> {
+        volatile Future<?> runner;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> r = runner;
+            if (cancelled && r != null) r.cancel(mayInterruptIfRunning);
+            return cancelled;
+        }
+    }
+
+    private interface Check {
+        boolean ok();
+    }
+
+    private static <T> void deliver(CompletableFuture<T> cf, Consumer<T> onSuccess,
+                                    Consumer<Throwable> onError, Check stillWanted) {
+        cf.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (cf.isCancelled() || !stillWanted.ok()) return;
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                onError.accept(unwrap(error));
+            }
+        }));
+    }
+
+    static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException)
+                && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+}
@@ -0,0 +1,427 @@
+package calendar;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 응답 바이트를 CalendarItem / ScheduleBlock / ShareItem / InviteItem 으로 바로 채우는 변환기
+ * - JsonReader / BinaryReader 로 한 번만 읽음 (객체별 중간 문자열 없음, 본문 형식은 첫 바이트로 구분)
+ * - relation / permission 처럼 값이 몇 개 안 되는 필드는 상수 String 을 재사용
+ * - 모르는 필드는 건너뜀
+ */
+final class ResponseBinder {
+
+    static final String[] RELATIONS = {"owner", "shared", "pending", "reject"};
+    static final String[] PERMISSIONS = {"owner", "read", "write", "full"};
+    static final String[] SHARE_STATUSES = {"pending", "accept", "reject"};
+
+    private ResponseBinder() {
+    }
+
+    /**
+     * 목록이 없는 응답: success / message
+     */
+    static class Status {
+        boolean success;
+        String message;
+    }
+
+    /**
+     * login / find_user 응답: 사용자 id / 이름
+     */
+    static final class UserResponse extends Status {
+        int userId = -1;
+        String name;
+    }
+
+    /**
+     * 일정 추가/수정/삭제 응답: 같은 필드로 실려 온 변경 알림 (event 필드가 없으면 null)
+     */
+    static final class ChangeResponse extends Status {
+        ChangeEvent event;
+    }
+
+    /**
+     * 목록 응답 하나: success / message + 배열 항목들
+     */
+    static final class ListResponse<T> extends Status {
+        List<T> items = Collections.emptyList();
+        long cursor = -1;       // schedule_range: 이 목록을 읽은 시점의 변경 커서
+        String etag;            // calendar_list: 목록 내용 해시
+        boolean notModified;    // calendar_list: if_none_match 와 같아서 목록 생략
+    }
+
+    /**
+     * schedule_sync 응답: 바뀐 캘린더만 들어 있음 (없는 캘린더는 그대로)
+     */
+    static final class SyncResponse {
+        boolean success;
+        boolean notModified;
+        long cursor = -1;
+        List<CalendarDelta> calendars = Collections.emptyList();
+    }
+
+    static final class CalendarDelta {
+        int calendarId;
+        boolean reset;          // 커서가 너무 오래됨 / 캘린더 삭제 → 전부 다시 읽어야 함
+        List<ScheduleBlock> schedules = new ArrayList<>();   // 추가/수정된 일정의 현재 값
+        List<Integer> deleted = new ArrayList<>();
+    }
+
+    private interface ItemReader<T> {
+        T read(ValueReader r);
+    }
+
+    // {"success": true, "calendars": [...]}
+    static ListResponse<CalendarItem> readCalendars(byte[] res) {
+        return readList(res, "calendars", ResponseBinder::readCalendar);
+    }
+
+    // {"success": true, "schedules": [...]}
+    // schedule_list 응답에는 calendar_id 가 없으므로 호출 쪽에서 넘김 (schedule_range 는 항목마다 있음)
+    static ListResponse<ScheduleBlock> readSchedules(byte[] res, int calendarId) {
+        return readList(res, "schedules", r -> readSchedule(r, calendarId));
+    }
+
+    // {"success": true, "shares": [...]} (calendar_share_list)
+    static ListResponse<ShareItem> readShares(byte[] res) {
+        return readList(res, "shares", ResponseBinder::readShare);
+    }
+
+    // {"success": true, "invites": [...]} (invite_list)
+    static ListResponse<InviteItem> readInvites(byte[] res) {
+        return readList(res, "invites", ResponseBinder::readInvite);
+    }
+
+    // {"success": ..., "message": ...}
+    static Status readStatus(byte[] res) {
+        Status out = new Status();
+        ValueReader r = WireFormat.reader(res);
+        r.beginObject();
+        while (r.hasNext()) {
+            if (!readStatusField(r, r.nextName(), out)) r.skipValue();
+        }
+        r.endObject();
+        return out;
+    }
+
+    // {"success": true, "user_id": 1, "name": "..."} (login 은 예전 서버가 id 로 줄 수 있음)
+    static UserResponse readUser(byte[] res) {
+        UserResponse out = new UserResponse();
+        int id = -1;
+        ValueReader r = WireFormat.reader(res);
+        r.beginObject();
+        while (r.hasNext()) {
+            String name = r.nextName();
+            if (readStatusField(r, name, out)) continue;
+            switch (name) {
+                case "user_id":
+                    out.userId = readInt(r, -1);
+                    break;
+                case "id":
+                    id = readInt(r, -1);
+                    break;
+                case "name":
+                    out.name = r.nextString();
+                    break;
+                default:
+                    r.skipValue();
+            }
+        }
+        r.endObject();
+        if (out.userId < 0) out.userId = id;
+        return out;
+    }
+
+    // {"success": true, "message": "...", "event": "schedule_added", "schedule": {...}, ...}
+    static ChangeResponse readChangeResponse(byte[] res) {
+        ChangeResponse out = new ChangeResponse();
+        out.event = readChangeEvent(res, out);
+        return out;
+    }
+
+    // {"success": true, "cursor": 42, "calendars": [{"calendar_id": 1, "schedules": [...], "deleted": [..]}]}
+    static SyncResponse readSync(byte[] res) {
+        SyncResponse out = new SyncResponse();
+        ValueReader r = WireFormat.reader(res);
+        r.beginObject();
+        while (r.hasNext()) {
+            String name = r.nextName();
+            if ("success".equals(name) && r.peek() == JsonReader.Token.BOOLEAN) {
+                out.success = r.nextBoolean();
+            } else if ("not_modified".equals(name) && r.peek() == JsonReader.Token.BOOLEAN) {
+                out.notModified = r.nextBoolean();
+            } else if ("cursor".equals(name) && r.peek() == JsonReader.Token.NUMBER) {
+                out.cursor = r.nextLong();
+            } else if ("calendars".equals(name) && r.peek() == JsonReader.Token.BEGIN_ARRAY) {
+                out.calendars = new ArrayList<>();
+                r.beginArray();
+                while (r.hasNext()) out.calendars.add(readDelta(r));
+                r.endArray();
+            } else {
+                r.skipValue();
+            }
+        }
+        r.endObject();
+        return out;
+    }
+
+    private static CalendarDelta readDelta(ValueReader r) {
+        CalendarDelta d = new CalendarDelta();
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "calendar_id":
+                    d.calendarId = readInt(r, -1);
+                    break;
+                case "reset":
+                    d.reset = r.peek() == JsonReader.Token.BOOLEAN ? r.nextBoolean() : skip(r);
+                    break;
+                case "schedules":
+                    r.beginArray();
+                    while (r.hasNext()) {
+                        ScheduleBlock b = readSchedule(r, d.calendarId);
+                        if (b != null) d.schedules.add(b);
+                    }
+                    r.endArray();
+                    break;
+                case "deleted":
+                    r.beginArray();
+                    while (r.hasNext()) d.deleted.add(readInt(r, -1));
+                    r.endArray();
+                    break;
+                default:
+                    r.skipValue();
+            }
+        }
+        r.endObject();
+        return d;
+    }
+
+    private static boolean skip(ValueReader r) {
+        r.skipValue();
+        return false;
+    }
+
+    // 변경 알림 / 일정 변경 응답: {"event": "...", "calendar_id": .., "schedule": {...}, ...}
+    // event 필드가 없으면 null
+    static ChangeEvent readChangeEvent(byte[] res) {
+        return readChangeEvent(res, null);
+    }
+
+    // status 가 있으면 success / message 도 같이 읽음
+    private static ChangeEvent readChangeEvent(byte[] res, Status status) {
+        ChangeEvent e = new ChangeEvent();
+        ValueReader r = WireFormat.reader(res);
+        r.beginObject();
+        while (r.hasNext()) {
+            String name = r.nextName();
+            if (status != null && readStatusField(r, name, status)) continue;
+            switch (name) {
+                case "event":
+                    e.type = r.nextString(ChangeEvent.TYPES);
+                    break;
+                case "calendar_id":
+                    e.calendarId = readInt(r, -1);
+                    break;
+                case "schedule_id":
+                    e.scheduleId = readInt(r, -1);
+                    break;
+                case "old_time":
+                    e.oldTime = r.nextDateTime();
+                    break;
+                case "schedule":
+                    if (r.peek() == JsonReader.Token.BEGIN_OBJECT) {
+                        e.schedule = readSchedule(r, -1);
+                    } else {
+                        r.skipValue();
+                    }
+                    break;
+                default:
+                    r.skipValue();
+            }
+        }
+        r.endObject();
+        if (e.schedule != null && e.schedule.calendarId < 0) e.schedule.calendarId = e.calendarId;
+        if (e.schedule != null && e.scheduleId < 0) e.scheduleId = e.schedule.id;
+        return e.type == null ? null : e;
+    }
+
+    private static <T> ListResponse<T> readList(byte[] res, String arrayKey, ItemReader<T> itemReader) {
+        ListResponse<T> out = new ListResponse<>();
+        ValueReader r = WireFormat.reader(res);
+        r.beginObject();
+        while (r.hasNext()) {
+            String name = r.nextName();
+            if (readStatusField(r, name, out)) continue;
+            if ("cursor".equals(name) && r.peek() == JsonReader.Token.NUMBER) {
+                out.cursor = r.nextLong();
+            } else if ("etag".equals(name)) {
+                out.etag = r.nextString();
+            } else if ("not_modified".equals(name) && r.peek() == JsonReader.Token.BOOLEAN) {
+                out.notModified = r.nextBoolean();
+            } else if (arrayKey.equals(name) && r.peek() == JsonReader.Token.BEGIN_ARRAY) {
+                List<T> items = new ArrayList<>();
+                r.beginArray();
+                while (r.hasNext()) {
+                    if (r.peek() != JsonReader.Token.BEGIN_OBJECT) {
+                        r.skipValue();
+                        continue;
+                    }
+                    T item = itemReader.read(r);
+                    if (item != null) items.add(item);
+                }
+                r.endArray();
+                out.items = items;
+            } else {
+                r.skipValue();
+            }
+        }
+        r.endObject();
+        return out;
+    }
+
+    static CalendarItem readCalendar(ValueReader r) {
+        CalendarItem item = new CalendarItem();
+        item.id = -1;
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "id":
+                    item.id = readInt(r, -1);
+                    break;
+                case "name":
+                    item.name = r.nextString();
+                    break;
+                case "relation":
+                    item.relation = r.nextString(RELATIONS);
+                    break;
+                case "permission":
+                    item.permission = r.nextString(PERMISSIONS);
+                    break;
+                default:
+                    r.skipValue();
+            }
+        }
+        r.endObject();
+        if (item.relation == null) item.relation = "";
+        if (item.permission == null) item.permission = "read";
+        return item;
+    }
+
+    static ShareItem readShare(ValueReader r) {
+        ShareItem item = new ShareItem();
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "share_id":
+                    item.shareId = readInt(r, -1);
+                    break;
+                case "target_id":
+                    item.targetId = readInt(r, -1);
+                    break;
+                case "target_name":
+                    item.targetName = r.nextString();
+                    break;
+                case "target_email":
+                    item.targetEmail = r.nextString();
+                    break;
+                case "status":
+                    item.status = r.nextString(SHARE_STATUSES);
+                    break;
+                case "permission":
+                    item.permission = r.nextString(PERMISSIONS);
+                    break;
+                default:
+                    r.skipValue();
+            }
+        }
+        r.endObject();
+        return item;
+    }
+
+    static InviteItem readInvite(ValueReader r) {
+        InviteItem item = new InviteItem();
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "id":
+                    item.shareId = readInt(r, -1);
+                    break;
+                case "user_id":
+                    item.fromUserId = readInt(r, -1);
+                    break;
+                case "calendar_id":
+                    item.calendarId = readInt(r, -1);
+                    break;
+                case "from_user":
+                    item.fromUser = r.nextString();
+                    break;
+                case "calendar_name":
+                    item.calendarName = r.nextString();
+                    break;
+                default:
+                    r.skipValue();
+            }
+        }
+        r.endObject();
+        return item;
+    }
+
+    // time 형식이 잘못된 일정은 null (기존처럼 건너뜀)
+    static ScheduleBlock readSchedule(ValueReader r, int calendarId) {
+        ScheduleBlock b = new ScheduleBlock();
+        b.id = -1;
+        b.calendarId = calendarId;
+        r.beginObject();
+        while (r.hasNext()) {
+            switch (r.nextName()) {
+                case "id":
+                    b.id = readInt(r, -1);
+                    break;
+                case "calendar_id":
+                    b.calendarId = readInt(r, calendarId);
+                    break;
+                case "title":
+                    b.title = r.nextString();
+                    break;
+                case "place":
+                    b.place = r.nextString();
+                    break;
+                case "time":
+                    b.dateTime = r.nextDateTime();
+                    break;
+                case "end_time":
+                    b.endTime = r.nextDateTime();
+                    break;
+                default:
+                    r.skipValue();
+            }
+        }
+        r.endObject();
+        if (b.place == null) b.place = "";
+        return b.dateTime == null ? null : b;
+    }
+
+    // success / message 필드면 읽어서 out 에 넣고 true
+    private static boolean readStatusField(ValueReader r, String name, Status out) {
+        if ("success".equals(name) && r.peek() == JsonReader.Token.BOOLEAN) {
+            out.success = r.nextBoolean();
+            return true;
+        }
+        if ("message".equals(name)) {
+            out.message = r.nextString();
+            return true;
+        }
+        return false;
+    }
+
+    private static int readInt(ValueReader r, int defaultVal) {
+        if (r.peek() != JsonReader.Token.NUMBER) {
+            r.skipValue();
+            return defaultVal;
+        }
+        return r.nextInt();
+    }
+}
@@ -0,0 +1,15 @@
+package calendar;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주간 그리드에 그려지는 일정 한 개
+ */
+class ScheduleBlock {
+    int id;
+    int calendarId;
+    LocalDateTime dateTime;
+    LocalDateTime endTime;   // 서버가 end_time 을 주지 않으면 null (1시간으로 그림)
+    String title;
+    String place;
+}
@@ -0,0 +1,254 @@
+package calendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * (캘린더, 주) 단위 일정 캐시
+ * - 같은 주로 돌아가거나 캘린더 체크를 껐다 켜도 서버에 다시 묻지 않음
+ * - 대략적인 메모리 사용량이 MAX_BYTES 를 넘으면 가장 오래 안 쓴 주부터 버림 (LRU)
+ * - 캘린더마다 버전 번호: 무효화하면 올라가고, 무효화 전에 시작한 조회 결과는 저장하지 않음
+ * - 변경 알림은 캐시된 주 목록을 직접 고쳐서 반영 (서버에 다시 묻지 않음)
+ * - 캘린더마다 변경 커서: 캐시된 주들을 읽은 시점 중 가장 이른 것.
+ *   schedule_sync 로 그 이후 바뀐 일정만 받아 applyDelta 로 반영
+ */
+final class ScheduleCache {
+
+    private static final long MAX_BYTES = 8L * 1024 * 1024;
+
+    private static final class Key {
+        final int calendarId;
+        final LocalDate weekStart;
+
+        Key(int calendarId, LocalDate weekStart) {
+            this.calendarId = calendarId;
+            this.weekStart = weekStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return calendarId == k.calendarId && weekStart.equals(k.weekStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(calendarId, weekStart);
+        }
+    }
+
+    private static final class Entry {
+        final List<ScheduleBlock> blocks;
+        final long bytes;
+
+        Entry(List<ScheduleBlock> blocks) {
+            this.blocks = Collections.unmodifiableList(blocks);
+            this.bytes = estimate(blocks);
+        }
+    }
+
+    // accessOrder = true → 조회할 때마다 맨 뒤로 (앞쪽이 가장 오래 안 쓴 것)
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Integer, Long> versions = new HashMap<>();
+    private final Map<Integer, Long> cursors = new HashMap<>();   // -1 = 커서 모름 (동기화 불가)
+    private long versionSeq;      // 무효화할 때마다 증가하는 전역 순번
+    private long clearedAt;       // 마지막 clear() 때의 순번
+    private long totalBytes;
+
+    // 일요일 기준 주 시작일 (CalendarUI 와 같은 규칙)
+    static LocalDate weekStartOf(LocalDate d) {
+        return d.minusDays(d.getDayOfWeek().getValue() % 7);
+    }
+
+    synchronized List<ScheduleBlock> get(int calendarId, LocalDate weekStart) {
+        Entry e = entries.get(new Key(calendarId, weekStart));
+        return e == null ? null : e.blocks;
+    }
+
+    // 조회를 시작하기 전에 받아 두고 put 할 때 넘김
+    synchronized long version(int calendarId) {
+        return Math.max(versions.getOrDefault(calendarId, 0L), clearedAt);
+    }
+
+    // cursor: 이 목록을 읽은 시점의 서버 변경 커서 (모르면 -1)
+    synchronized void put(int calendarId, LocalDate weekStart, List<ScheduleBlock> blocks,
+                          long version, long cursor) {
+        if (version != version(calendarId)) return;   // 조회 중에 변경이 있었음 → 오래된 데이터
+        cursors.merge(calendarId, cursor, Math::min);
+
+        Entry e = new Entry(blocks);
+        Entry old = entries.put(new Key(calendarId, weekStart), e);
+        if (old != null) totalBytes -= old.bytes;
+        totalBytes += e.bytes;
+
+        Iterator<Entry> it = entries.values().iterator();
+        while (totalBytes > MAX_BYTES && it.hasNext()) {
+            Entry eldest = it.next();
+            if (eldest == e) break;   // 방금 넣은 것은 남김
+            totalBytes -= eldest.bytes;
+            it.remove();
+        }
+    }
+
+    // 여러 캘린더를 한 번에 읽기 전에 받아 두는 값 (putRange 에 넘김)
+    synchronized long stamp() {
+        return versionSeq;
+    }
+
+    // 여러 캘린더의 한 주 일정을 캘린더별로 나눠 저장 (일정이 없는 캘린더는 빈 주로)
+    // stamp 이후에 무효화된 캘린더는 건너뜀
+    synchronized void putRange(List<Integer> calendarIds, LocalDate weekStart,
+                               List<ScheduleBlock> blocks, long stamp, long cursor) {
+        Map<Integer, List<ScheduleBlock>> byCalendar = new HashMap<>();
+        for (int id : calendarIds) byCalendar.put(id, new ArrayList<>());
+        for (ScheduleBlock b : blocks) {
+            List<ScheduleBlock> list = byCalendar.get(b.calendarId);
+            if (list != null) list.add(b);
+        }
+        for (Map.Entry<Integer, List<ScheduleBlock>> e : byCalendar.entrySet()) {
+            long version = version(e.getKey());
+            if (version > stamp) continue;
+            put(e.getKey(), weekStart, e.getValue(), version, cursor);
+        }
+    }
+
+    // 한 주만 무효화 (일정 추가/수정/삭제)
+    synchronized void invalidate(int calendarId, LocalDate weekStart) {
+        bump(calendarId);
+        Entry old = entries.remove(new Key(calendarId, weekStart));
+        if (old != null) totalBytes -= old.bytes;
+    }
+
+    // 캘린더 전체 무효화 (캘린더 삭제 등)
+    synchronized void invalidateCalendar(int calendarId) {
+        bump(calendarId);
+        cursors.remove(calendarId);
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> e = it.next();
+            if (e.getKey().calendarId == calendarId) {
+                totalBytes -= e.getValue().bytes;
+                it.remove();
+            }
+        }
+    }
+
+    // 일정 한 개를 그 주의 캐시 목록에 넣음 (같은 id 가 있으면 교체, 시간 순서 유지)
+    synchronized void putSchedule(ScheduleBlock b) {
+        bump(b.calendarId);
+        Key key = new Key(b.calendarId, weekStartOf(b.dateTime.toLocalDate()));
+        Entry e = entries.get(key);
+        if (e == null) return;   // 캐시에 없는 주는 볼 때 새로 받음
+
+        List<ScheduleBlock> blocks = new ArrayList<>(e.blocks.size() + 1);
+        for (ScheduleBlock old : e.blocks) {
+            if (old.id != b.id) blocks.add(old);
+        }
+        int i = blocks.size();
+        while (i > 0 && blocks.get(i - 1).dateTime.isAfter(b.dateTime)) i--;
+        blocks.add(i, b);
+        replace(key, e, blocks);
+    }
+
+    // 일정 한 개를 그 주의 캐시 목록에서 뺌
+    synchronized void removeSchedule(int calendarId, int scheduleId, LocalDate weekStart) {
+        bump(calendarId);
+        Key key = new Key(calendarId, weekStart);
+        Entry e = entries.get(key);
+        if (e == null) return;
+
+        List<ScheduleBlock> blocks = new ArrayList<>(e.blocks.size());
+        for (ScheduleBlock old : e.blocks) {
+            if (old.id != scheduleId) blocks.add(old);
+        }
+        if (blocks.size() != e.blocks.size()) replace(key, e, blocks);
+    }
+
+    private void replace(Key key, Entry old, List<ScheduleBlock> blocks) {
+        Entry e = new Entry(blocks);
+        entries.put(key, e);
+        totalBytes += e.bytes - old.bytes;
+    }
+
+    // schedule_sync 에 보낼 캘린더별 커서 (커서를 아는 캘린더만)
+    synchronized Map<Integer, Long> syncCursors() {
+        Map<Integer, Long> out = new HashMap<>();
+        for (Map.Entry<Integer, Long> e : cursors.entrySet()) {
+            if (e.getValue() >= 0) out.put(e.getKey(), e.getValue());
+        }
+        return out;
+    }
+
+    // 동기화 결과 반영. 동기화 요청 중에 다른 변경이 있었으면 건너뜀 (다음 동기화 때 다시 받음)
+    // 반환값: 캐시 내용이 바뀌었는지
+    synchronized boolean applyDelta(ResponseBinder.CalendarDelta d, long cursor, long version) {
+        int calendarId = d.calendarId;
+        if (version != version(calendarId)) return false;
+        if (d.reset) {
+            invalidateCalendar(calendarId);
+            return true;
+        }
+
+        // 수정으로 다른 주로 옮겨졌을 수 있으므로 바뀐 id 는 모든 주에서 빼고 새 주에 다시 넣음
+        Set<Integer> changed = new HashSet<>(d.deleted);
+        for (ScheduleBlock b : d.schedules) changed.add(b.id);
+
+        List<Key> keys = new ArrayList<>();
+        for (Key k : entries.keySet()) {
+            if (k.calendarId == calendarId) keys.add(k);
+        }
+        for (Key k : keys) {
+            Entry e = entries.get(k);
+            List<ScheduleBlock> blocks = new ArrayList<>(e.blocks.size());
+            for (ScheduleBlock old : e.blocks) {
+                if (!changed.contains(old.id)) blocks.add(old);
+            }
+            if (blocks.size() != e.blocks.size()) replace(k, e, blocks);
+        }
+        for (ScheduleBlock b : d.schedules) putSchedule(b);
+
+        bump(calendarId);
+        cursors.put(calendarId, cursor);
+        return true;
+    }
+
+    // 바뀐 것이 없던 캘린더는 커서만 앞으로
+    synchronized void advanceCursor(int calendarId, long cursor, long version) {
+        if (version != version(calendarId)) return;
+        Long current = cursors.get(calendarId);
+        if (current != null && current >= 0 && current < cursor) cursors.put(calendarId, cursor);
+    }
+
+    synchronized void clear() {
+        clearedAt = ++versionSeq;
+        versions.clear();
+        cursors.clear();
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    private void bump(int calendarId) {
+        versions.put(calendarId, ++versionSeq);
+    }
+
+    // 객체 헤더 + 필드 + 문자열 길이 정도의 대략치
+    private static long estimate(List<ScheduleBlock> blocks) {
+        long bytes = 64;
+        for (ScheduleBlock b : blocks) {
+            bytes += 120;
+            if (b.title != null) bytes += 48 + 2L * b.title.length();
+            if (b.place != null) bytes += 48 + 2L * b.place.length();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,280 @@
+package calendar;
+
+import javax.swing.SwingUtilities;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 체크된 캘린더들의 한 주 일정을 동시에 받아오는 로더
+ * - 현재 주의 캘린더별 요청은 파이프라인 연결 하나로 응답을 기다리지 않고 보냄
+ *   보내기는 백그라운드 스레드에서 (연결/쓰기가 EDT 를 막지 않게), 동시에 기다리는 요청은
+ *   미리 받기까지 합쳐 MAX_IN_FLIGHT 개까지 (응답 해석/캐시 반영은 최대 MAX_PARALLEL 개 스레드에서)
+ * - 결과는 항상 캘린더 목록 순서대로 합침 (응답이 도착한 순서와 무관)
+ * - 먼저 끝난 캘린더부터 화면에 반영, 느리거나 실패한 캘린더는 나머지를 막지 않음
+ * - 새 load() 가 오면 이전 load 의 남은 요청은 보내지 않고 결과도 버림
+ * - ScheduleCache 에 있는 (캘린더, 주) 는 서버에 묻지 않음
+ * - 현재 주를 다 그리면 앞/뒤 주를 낮은 우선순위로 미리 받아 캐시에 넣어 둠
+ *   (다른 주로 이동하면 아직 시작 안 한 미리 받기는 취소)
+ * - sync(): 캐시된 캘린더들의 커서 이후 변경만 받아 캐시에 반영 (재연결/새로고침용)
+ */
+final class ScheduleLoader {
+
+    private static final int MAX_PARALLEL = 6;
+    private static final int MAX_PREFETCH = 2;   // 화면용 요청을 방해하지 않도록 적게
+    private static final int MAX_IN_FLIGHT = 6;   // 캘린더가 많아도 서버에 한꺼번에 몰리지 않게
+
+    private final ExecutorService pool;
+    private final ExecutorService prefetchPool;
+    private final ScheduleCache cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+
+    ScheduleLoader(ScheduleCache cache) {
+        this.cache = cache;
+        AtomicInteger seq = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(MAX_PARALLEL, r -> {
+            Thread t = new Thread(r, "calendar-schedule-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        prefetchPool = Executors.newFixedThreadPool(MAX_PREFETCH, r -> {
+            Thread t = new Thread(r, "calendar-prefetch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /**
+     * 화면 갱신 콜백 (EDT 에서 호출)
+     */
+    interface Listener {
+        // 지금까지 받은 캘린더들의 일정 (캘린더 순서대로), done = 모든 캘린더 처리 끝
+        void onSchedules(List<ScheduleBlock> merged, boolean done);
+    }
+
+    void load(List<Integer> calendarIds, LocalDate weekStart, Listener listener) {
+        long gen = generation.incrementAndGet();
+        int n = calendarIds.size();
+        if (n == 0) {
+            SwingUtilities.invokeLater(() -> {
+                if (generation.get() == gen) listener.onSchedules(new ArrayList<>(), true);
+            });
+            return;
+        }
+
+        Slots slots = new Slots(calendarIds, weekStart);
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            List<ScheduleBlock> cached = cache.get(calendarIds.get(i), weekStart);
+            if (cached != null) slots.complete(i, cached);
+            else missing.add(i);
+        }
+        if (missing.isEmpty()) {
+            publish(gen, slots, listener);   // 네트워크 없이 바로 그림
+            return;
+        }
+        pool.execute(() -> fetchMissing(gen, slots, missing, listener));
+    }
+
+    // (백그라운드) 캐시에 없는 캘린더들을 보냄. 자리가 날 때까지 기다리는 동안 load() 가 다시 불리면 중단
+    private void fetchMissing(long gen, Slots slots, List<Integer> missing, Listener listener) {
+        for (int index : missing) {
+            if (!acquire(gen)) return;
+            int calendarId = slots.calendarIds.get(index);
+            long version = cache.version(calendarId);
+            CompletableFuture<byte[]> sent;
+            try {
+                Client client = new Client();
+                sent = client.sendAsync(weekRequest(client, calendarId, slots.weekStart));
+            } catch (RuntimeException e) {
+                // 보내지도 못한 캘린더도 빈 칸으로 두고 나머지는 계속 보냄
+                e.printStackTrace();
+                inFlight.release();
+                slots.complete(index, null);
+                publish(gen, slots, listener);
+                continue;
+            }
+            // 자리는 응답을 받은 스레드에서 바로 돌려줌 (해석 스레드를 기다리지 않게)
+            sent.whenComplete((res, err) -> inFlight.release())
+                    .handleAsync((res, err) -> {
+                        if (generation.get() != gen) return null;   // 이미 다른 주/목록으로 바뀜
+                        List<ScheduleBlock> blocks = null;   // 실패한 캘린더는 빈 칸으로 두고 나머지만 표시
+                        if (err == null) {
+                            try {
+                                ResponseBinder.ListResponse<ScheduleBlock> list =
+                                        ResponseBinder.readSchedules(res, calendarId);
+                                blocks = list.items;
+                                if (list.success) {
+                                    cache.put(calendarId, slots.weekStart, blocks, version, list.cursor);
+                                }
+                            } catch (RuntimeException e) {
+                                e.printStackTrace();
+                            }
+                        } else {
+                            err.printStackTrace();
+                        }
+                        slots.complete(index, blocks);
+                        publish(gen, slots, listener);
+                        return null;
+                    }, pool);
+        }
+    }
+
+    // 보낼 자리 하나. 그사이 gen 이 바뀌었으면 false (자리는 돌려줌)
+    private boolean acquire(long gen) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (generation.get() == gen) return true;
+        inFlight.release();
+        return false;
+    }
+
+    // 지금 보고 있는 주의 앞/뒤 주를 캐시에 미리 채움. 그 사이 load() 가 다시 불리면 중단
+    private void prefetchAround(long gen, List<Integer> calendarIds, LocalDate weekStart) {
+        for (LocalDate week : new LocalDate[]{weekStart.plusWeeks(1), weekStart.minusWeeks(1)}) {
+            for (int calendarId : calendarIds) {
+                if (cache.get(calendarId, week) != null) continue;
+                prefetchPool.execute(() -> {
+                    if (generation.get() != gen) return;   // 다른 주로 이동함 → 오래된 미리 받기
+                    if (cache.get(calendarId, week) != null) return;
+                    if (!acquire(gen)) return;
+                    long version = cache.version(calendarId);
+                    try {
+                        ResponseBinder.ListResponse<ScheduleBlock> res = fetchWeek(calendarId, week);
+                        if (res.success) cache.put(calendarId, week, res.items, version, res.cursor);
+                    } catch (Exception e) {
+                        // 미리 받기 실패는 조용히 무시 (실제로 이동하면 다시 요청)
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    // 캐시된 캘린더들을 schedule_sync 로 한 번에 갱신. onDone(바뀐 캘린더 id) 은 EDT 에서
+    void sync(int userId, Consumer<Set<Integer>> onDone) {
+        pool.execute(() -> {
+            Set<Integer> changed = new HashSet<>();
+            try {
+                Map<Integer, Long> cursors = cache.syncCursors();
+                if (!cursors.isEmpty()) changed = syncCursors(userId, cursors);
+            } catch (Exception e) {
+                e.printStackTrace();   // 다음 새로고침 때 다시 시도
+            }
+            Set<Integer> result = changed;
+            SwingUtilities.invokeLater(() -> onDone.accept(result));
+        });
+    }
+
+    private Set<Integer> syncCursors(int userId, Map<Integer, Long> cursors) throws Exception {
+        Map<Integer, Long> versions = new HashMap<>();
+        Client client = new Client();
+        ValueWriter req = client.request("schedule_sync")
+                .name("user_id").value(userId)
+                .name("cursors").beginObject();
+        for (Map.Entry<Integer, Long> e : cursors.entrySet()) {
+            versions.put(e.getKey(), cache.version(e.getKey()));   // 요청 전에 받아 둠
+            req.name(Integer.toString(e.getKey())).value(e.getValue());
+        }
+        req.endObject().endObject();
+
+        ResponseBinder.SyncResponse res =
+                ResponseBinder.readSync(client.sendRaw(req));
+        Set<Integer> changed = new HashSet<>();
+        if (!res.success || res.cursor < 0) return changed;
+
+        for (ResponseBinder.CalendarDelta d : res.calendars) {
+            Long version = versions.remove(d.calendarId);
+            if (version != null && cache.applyDelta(d, res.cursor, version)) changed.add(d.calendarId);
+        }
+        for (Map.Entry<Integer, Long> e : versions.entrySet()) {
+            cache.advanceCursor(e.getKey(), res.cursor, e.getValue());   // not modified
+        }
+        return changed;
+    }
+
+    void cancel() {
+        generation.incrementAndGet();
+    }
+
+    // 여러 캘린더가 거의 동시에 끝나도 EDT 갱신은 한 번으로 묶음
+    private void publish(long gen, Slots slots, Listener listener) {
+        if (!slots.updateScheduled.compareAndSet(false, true)) return;
+        SwingUtilities.invokeLater(() -> {
+            slots.updateScheduled.set(false);
+            if (generation.get() != gen) return;
+            List<ScheduleBlock> merged = new ArrayList<>();
+            boolean done = slots.merge(merged);
+            listener.onSchedules(merged, done);
+            if (done && slots.prefetchStarted.compareAndSet(false, true)) {
+                prefetchAround(gen, slots.calendarIds, slots.weekStart);
+            }
+        });
+    }
+
+    // (백그라운드) 캘린더 하나의 해당 주 일정: 서버에서 [weekStart, weekStart+7) 만 받아옴
+    private static ResponseBinder.ListResponse<ScheduleBlock> fetchWeek(int calendarId, LocalDate weekStart)
+            throws Exception {
+        Client client = new Client();
+        return ResponseBinder.readSchedules(client.sendRaw(weekRequest(client, calendarId, weekStart)), calendarId);
+    }
+
+    // 협상한 형식으로 바로 씀 (바이너리면 JSON 을 거치지 않음)
+    private static ValueWriter weekRequest(Client client, int calendarId, LocalDate weekStart) {
+        return client.request("schedule_range")
+                .name("calendar_id").value(calendarId)
+                .name("from").value(weekStart.atStartOfDay())
+                .name("to").value(weekStart.plusDays(7).atStartOfDay())
+                .endObject();
+    }
+
+    // 캘린더 순서대로 결과를 담아 두는 칸
+    private static final class Slots {
+        final List<Integer> calendarIds;
+        final LocalDate weekStart;
+        private final List<List<ScheduleBlock>> results;
+        private int remaining;
+        final AtomicBoolean updateScheduled = new AtomicBoolean();
+        final AtomicBoolean prefetchStarted = new AtomicBoolean();
+
+        Slots(List<Integer> calendarIds, LocalDate weekStart) {
+            this.calendarIds = calendarIds;
+            this.weekStart = weekStart;
+            int n = calendarIds.size();
+            results = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) results.add(null);
+            remaining = n;
+        }
+
+        synchronized void complete(int index, List<ScheduleBlock> blocks) {
+            results.set(index, blocks);
+            remaining--;
+        }
+
+        synchronized boolean merge(List<ScheduleBlock> out) {
+            for (List<ScheduleBlock> r : results) {
+                if (r != null) out.addAll(r);
+            }
+            return remaining == 0;
+        }
+    }
+}
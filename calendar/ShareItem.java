@@ -0,0 +1,13 @@
+package calendar;
+
+/**
+ * calendar_share_list 응답의 공유 한 개 (캘린더 owner 가 보는 공유받은 사용자)
+ */
+class ShareItem {
+    int shareId = -1;
+    int targetId = -1;
+    String targetName;
+    String targetEmail;
+    String status;     // pending / accept / reject
+    String permission; // read / write / full
+}
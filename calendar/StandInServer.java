@@ -0,0 +1,623 @@
+package calendar;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * calendar_server.py 대신 쓰는 프로세스 안 서버 (MySQL 없이 같은 프로토콜, 성능 테스트를 재현 가능하게)
+ * - 프레이밍 / JSON·바이너리 본문 / 압축 / rid 파이프라인 / batch / subscribe 까지 같은 규칙
+ * - 데이터는 StandInStore 의 메모리 테이블 (미리 채워 두고 시작할 수 있음)
+ * - 응답마다 지연(latency + 0~jitter ms)과 장애(Fault)를 seed 로 정한 난수로 넣음
+ *   난수는 연결마다 seed 에서 갈라 쓰므로 스레드 순서와 상관없이 연결별로 같은 순서가 나옴
+ *
+ * 코드에서: try (StandInServer s = new StandInServer().latency(5).jitter(10).start()) { ... s.port() ... }
+ *   port(0)(기본)이면 빈 포트를 골라 씀
+ * 실행: java calendar.StandInServer [이름=값 ...]
+ *   port=5000 latency=0 jitter=0 seed=1 slow=1000 binary=true deflate=true
+ *   faults=slow:0.01,partial:0.05,drop:0.001,error:0.01 (요청마다 그 확률로 적용, 앞의 것부터 하나만)
+ */
+public class StandInServer implements AutoCloseable {
+
+    /**
+     * 넣을 수 있는 장애
+     * - SLOW: 응답을 slow ms 만큼 더 늦게
+     * - PARTIAL: 응답 프레임을 몇 바이트씩 나눠 조금씩 보냄 (클라이언트가 나눠 읽는 경로 확인)
+     * - DROP: 요청을 읽고 응답 없이 연결을 끊음
+     * - ERROR: 처리하지 않고 서버 오류 응답
+     */
+    public enum Fault {
+        SLOW, PARTIAL, DROP, ERROR
+    }
+
+    private static final int IDLE_TIMEOUT_MS = 60_000;
+    private static final int BACKLOG = 1024;
+    private static final int PIPELINE_WORKERS = 32;
+    private static final int SUBSCRIBER_QUEUE = 1000;
+    private static final int PARTIAL_CHUNK = 7;   // PARTIAL: 헤더(4바이트)도 나눠지도록 작게
+    private static final byte[] PING = "{\"event\":\"ping\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final StandInStore store = new StandInStore();
+    private final Map<Fault, Double> faults = new EnumMap<>(Fault.class);
+    private final LongAdder requests = new LongAdder();
+    private final Map<Fault, LongAdder> injected = new EnumMap<>(Fault.class);
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Hub hub = new Hub();
+    private final Set<Socket> open = ConcurrentHashMap.newKeySet();
+
+    private int port;
+    private long latencyMs;
+    private long jitterMs;
+    private long slowMs = 1000;
+    private long pingMs = 25_000;
+    private long seed = 1;
+    private boolean log;
+
+    private ServerSocket server;
+    private Thread acceptor;
+    private ExecutorService workers;
+    private volatile boolean closed;
+
+    public StandInServer() {
+        for (Fault f : Fault.values()) injected.put(f, new LongAdder());
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("이름=값 형식이 아님: " + arg);
+            opts.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        StandInServer s = new StandInServer()
+                .port(Integer.parseInt(opts.getOrDefault("port", "5000")))
+                .latency(Long.parseLong(opts.getOrDefault("latency", "0")))
+                .jitter(Long.parseLong(opts.getOrDefault("jitter", "0")))
+                .slow(Long.parseLong(opts.getOrDefault("slow", "1000")))
+                .seed(Long.parseLong(opts.getOrDefault("seed", "1")))
+                .offer(Boolean.parseBoolean(opts.getOrDefault("binary", "true")),
+                        Boolean.parseBoolean(opts.getOrDefault("deflate", "true")))
+                .log(Boolean.parseBoolean(opts.getOrDefault("log", "false")));
+        String spec = opts.getOrDefault("faults", "");
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) continue;
+            String[] kv = part.split(":");
+            s.fault(Fault.valueOf(kv[0].trim().toUpperCase()), Double.parseDouble(kv[1]));
+        }
+        s.start();
+        System.out.println("[StandInServer] PORT=" + s.port() + " latency=" + s.latencyMs + "ms jitter="
+                + s.jitterMs + "ms faults=" + s.faults);
+        s.await();
+    }
+
+    // ============================================================
+    // 설정 (start 전에)
+    // ============================================================
+
+    public StandInServer port(int port) {
+        this.port = port;
+        return this;
+    }
+
+    public StandInServer latency(long ms) {
+        this.latencyMs = ms;
+        return this;
+    }
+
+    public StandInServer jitter(long ms) {
+        this.jitterMs = ms;
+        return this;
+    }
+
+    public StandInServer slow(long ms) {
+        this.slowMs = ms;
+        return this;
+    }
+
+    public StandInServer seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    // 요청마다 이 확률(0~1)로 장애를 넣음
+    public StandInServer fault(Fault fault, double probability) {
+        if (probability < 0 || probability > 1) throw new IllegalArgumentException("확률은 0~1: " + probability);
+        faults.put(fault, probability);
+        return this;
+    }
+
+    // hello 에 바이너리 / 압축을 허용할지 (false 면 예전 서버처럼 json / none)
+    public StandInServer offer(boolean binary, boolean deflate) {
+        store.offer(binary, deflate);
+        return this;
+    }
+
+    // 구독 연결 ping 간격 (끊김 감지 테스트용)
+    public StandInServer ping(long ms) {
+        this.pingMs = ms;
+        return this;
+    }
+
+    public StandInServer log(boolean log) {
+        this.log = log;
+        return this;
+    }
+
+    // 미리 데이터를 채울 때 (start 전후 모두 가능)
+    StandInStore store() {
+        return store;
+    }
+
+    public synchronized StandInServer start() throws IOException {
+        if (server != null) throw new IllegalStateException("이미 시작한 서버");
+        server = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        workers = Executors.newFixedThreadPool(PIPELINE_WORKERS, daemon("standin-worker"));
+        acceptor = new Thread(this::acceptLoop, "standin-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return this;
+    }
+
+    // 실제로 연 포트 (port(0) 이면 시작 후에 정해짐)
+    public int port() {
+        return server == null ? port : server.getLocalPort();
+    }
+
+    // close 될 때까지 기다림 (main 처럼 서버만 띄워 둘 때)
+    public void await() throws InterruptedException {
+        acceptor.join();
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    public long faultCount(Fault fault) {
+        return injected.get(fault).sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            if (server != null) server.close();
+        } catch (IOException ignored) {
+        }
+        for (Socket s : open) closeQuietly(s);
+        if (workers != null) workers.shutdownNow();
+    }
+
+    // ============================================================
+    // 연결 처리 (calendar_server.py 의 handle_client 와 같은 흐름)
+    // ============================================================
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket s = server.accept();
+                s.setTcpNoDelay(true);
+                s.setSoTimeout(IDLE_TIMEOUT_MS);
+                open.add(s);
+                long connSeed = seed ^ (0x9E3779B97F4A7C15L * connections.incrementAndGet());
+                Thread t = new Thread(() -> serve(s, new SplittableRandom(connSeed)), "standin-conn");
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                if (!closed) System.out.println("[StandInServer accept 실패] " + e);
+            }
+        }
+    }
+
+    // 요청 하나를 처리하는 방법 (읽은 스레드에서 난수로 정함 → 처리 스레드와 상관없이 재현)
+    private static final class Plan {
+        final long delayMs;
+        final Fault fault;
+
+        Plan(long delayMs, Fault fault) {
+            this.delayMs = delayMs;
+            this.fault = fault;
+        }
+    }
+
+    private Plan plan(SplittableRandom random) {
+        long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+        Fault fault = null;
+        for (Fault f : Fault.values()) {
+            Double p = faults.get(f);
+            if (p != null && random.nextDouble() < p) {
+                fault = f;
+                break;
+            }
+        }
+        if (fault != null) injected.get(fault).increment();
+        if (fault == Fault.SLOW) delay += slowMs;
+        return new Plan(delay, fault);
+    }
+
+    private void serve(Socket s, SplittableRandom random) {
+        Object writeLock = new Object();   // 작업 스레드들이 같은 연결에 응답을 쓰므로 프레임 단위로 잠금
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+            OutputStream out = s.getOutputStream();
+            while (true) {
+                int header;
+                try {
+                    header = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] raw = new byte[Framing.length(header)];
+                in.readFully(raw);
+                byte[] body = Framing.body(header, raw);
+                boolean deflate = (header & Framing.ACCEPT_DEFLATE) != 0;
+                boolean binary = WireFormat.isBinary(body);
+                requests.increment();
+
+                Map<String, Object> req;
+                try {
+                    req = readRequest(body);
+                } catch (RuntimeException e) {
+                    send(out, writeLock, StandInStore.fail("JSON 파싱 실패"), binary, deflate, null);
+                    continue;
+                }
+                if (log) System.out.println("[수신 " + s.getRemoteSocketAddress() + "] " + req);
+
+                if ("subscribe".equals(req.get("action"))) {
+                    serveSubscriber(s, in, req);   // 이 연결은 이제 변경 알림 전용
+                    break;
+                }
+
+                Plan plan = plan(random);
+                if (plan.fault == Fault.DROP) break;
+
+                Object rid = req.remove("rid");
+                if (rid != null) {
+                    workers.execute(() -> {
+                        try {
+                            Map<String, Object> res = new LinkedHashMap<>();
+                            res.put("rid", rid);
+                            res.putAll(process(req, plan));
+                            pause(plan.delayMs);
+                            send(out, writeLock, res, binary, deflate, plan.fault);
+                        } catch (IOException e) {
+                            // 응답 전에 클라이언트가 연결을 닫음: 읽기 스레드가 연결을 정리
+                        }
+                    });
+                    continue;
+                }
+                Map<String, Object> res = process(req, plan);
+                pause(plan.delayMs);
+                send(out, writeLock, res, binary, deflate, plan.fault);
+            }
+        } catch (SocketTimeoutException e) {
+            // idle 연결 정리
+        } catch (IOException e) {
+            if (log && !closed) System.out.println("[클라이언트 처리 중 에러] " + e);
+        } finally {
+            open.remove(s);
+            closeQuietly(s);
+        }
+    }
+
+    private Map<String, Object> process(Map<String, Object> req, Plan plan) {
+        if (plan.fault == Fault.ERROR) return StandInStore.fail("서버 오류: 넣은 장애 (StandInServer)");
+        List<StandInStore.Event> events = new ArrayList<>();
+        Map<String, Object> res;
+        try {
+            res = store.handle(req, events);
+        } catch (RuntimeException e) {
+            // 요청 하나가 실패해도 연결은 계속 사용
+            return StandInStore.fail("서버 오류: " + e.getMessage());
+        }
+        for (StandInStore.Event e : events) hub.publish(e);
+        return res;
+    }
+
+    private static void pause(long ms) {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 응답 프레임 하나 (요청과 같은 본문 형식, 요청에 압축 허용 표시가 있으면 큰 본문은 압축)
+    private static void send(OutputStream out, Object writeLock, Map<String, Object> res,
+                             boolean binary, boolean deflate, Fault fault) throws IOException {
+        byte[] frame = frame(encode(res, binary), deflate);
+        synchronized (writeLock) {
+            if (fault == Fault.PARTIAL) {
+                for (int off = 0; off < frame.length; off += PARTIAL_CHUNK) {
+                    out.write(frame, off, Math.min(PARTIAL_CHUNK, frame.length - off));
+                    out.flush();
+                    pause(1);
+                }
+            } else {
+                out.write(frame);
+                out.flush();
+            }
+        }
+    }
+
+    private static byte[] frame(byte[] body, boolean deflate) {
+        int flags = 0;
+        if (deflate) {
+            byte[] packed = Compression.deflate(body, body.length);
+            if (packed != null) {
+                body = packed;
+                flags = Framing.DEFLATED;
+            }
+        }
+        ByteBuffer frame = ByteBuffer.allocate(Framing.HEADER_BYTES + body.length);
+        frame.putInt(flags | body.length).put(body);
+        return frame.array();
+    }
+
+    private static void closeQuietly(Socket s) {
+        try {
+            s.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // ============================================================
+    // 변경 알림 (calendar_server.py 의 Subscriber / ChangeHub)
+    // ============================================================
+
+    private final class Subscriber {
+        final Socket socket;
+        final int userId;
+        final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(SUBSCRIBER_QUEUE);
+        Set<Integer> calendarIds = new HashSet<>();
+
+        Subscriber(Socket socket, int userId) {
+            this.socket = socket;
+            this.userId = userId;
+        }
+
+        void push(byte[] payload) {
+            if (!queue.offer(payload)) closeQuietly(socket);   // 큐 초과: 끊으면 클라이언트가 다시 연결하며 새로 읽음
+        }
+
+        void sendLoop() {
+            try {
+                OutputStream out = socket.getOutputStream();
+                while (true) {
+                    byte[] payload = queue.poll(pingMs, TimeUnit.MILLISECONDS);
+                    if (payload == null) payload = PING;
+                    if (payload.length == 0) break;
+                    out.write(frame(payload, false));
+                    out.flush();
+                }
+            } catch (IOException e) {
+                closeQuietly(socket);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class Hub {
+        private final Map<Integer, Set<Subscriber>> byCalendar = new HashMap<>();
+        private final Map<Integer, Set<Subscriber>> byUser = new HashMap<>();
+
+        synchronized void register(Subscriber sub) {
+            byUser.computeIfAbsent(sub.userId, k -> new HashSet<>()).add(sub);
+        }
+
+        synchronized void setCalendars(Subscriber sub, Set<Integer> calendarIds) {
+            for (int cid : sub.calendarIds) {
+                Set<Subscriber> subs = byCalendar.get(cid);
+                if (subs != null && subs.remove(sub) && subs.isEmpty()) byCalendar.remove(cid);
+            }
+            for (int cid : calendarIds) byCalendar.computeIfAbsent(cid, k -> new HashSet<>()).add(sub);
+            sub.calendarIds = calendarIds;
+        }
+
+        synchronized void unregister(Subscriber sub) {
+            setCalendars(sub, new HashSet<>());
+            Set<Subscriber> subs = byUser.get(sub.userId);
+            if (subs != null && subs.remove(sub) && subs.isEmpty()) byUser.remove(sub.userId);
+        }
+
+        void publish(StandInStore.Event e) {
+            List<Subscriber> targets;
+            synchronized (this) {
+                Set<Subscriber> subs = (e.user ? byUser : byCalendar).get(e.target);
+                if (subs == null) return;
+                targets = new ArrayList<>(subs);
+            }
+            byte[] payload = encode(e.payload, false);
+            for (Subscriber sub : targets) sub.push(payload);
+        }
+    }
+
+    private void serveSubscriber(Socket s, DataInputStream in, Map<String, Object> first) throws IOException {
+        s.setSoTimeout(0);   // 요청 없이 오래 열려 있는 연결
+        s.setKeepAlive(true);
+        Subscriber sub = new Subscriber(s, StandInStore.intOf(first.get("user_id")));
+        hub.register(sub);
+        Thread sender = new Thread(sub::sendLoop, "standin-subscriber");
+        sender.setDaemon(true);
+        sender.start();
+        try {
+            Map<String, Object> req = first;
+            while (req != null) {
+                Map<String, Object> res;
+                try {
+                    Object ids = req.get("calendar_ids");
+                    Set<Integer> readable = store.readableCalendars(sub.userId, ids instanceof List ? (List<?>) ids : List.of());
+                    hub.setCalendars(sub, readable);
+                    res = StandInStore.obj("success", true, "event", "subscribed", "calendar_ids", new ArrayList<>(readable));
+                } catch (RuntimeException e) {
+                    res = StandInStore.obj("success", false, "event", "subscribed", "message", "서버 오류: " + e.getMessage());
+                }
+                sub.push(encode(res, false));
+
+                int header;
+                try {
+                    header = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] raw = new byte[Framing.length(header)];
+                in.readFully(raw);
+                req = readRequest(Framing.body(header, raw));
+            }
+        } catch (IOException | RuntimeException e) {
+            // 구독 연결 종료
+        } finally {
+            hub.unregister(sub);
+            sub.push(new byte[0]);
+        }
+    }
+
+    // ============================================================
+    // 본문 ↔ Map / List / Long / Double / String / Boolean
+    // ============================================================
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> readRequest(byte[] body) {
+        ValueReader r = WireFormat.reader(body);
+        Object value = readValue(r);
+        if (!(value instanceof Map)) throw new IllegalArgumentException("요청이 객체가 아님");
+        return (Map<String, Object>) value;
+    }
+
+    private static Object readValue(ValueReader r) {
+        switch (r.peek()) {
+            case BEGIN_OBJECT: {
+                Map<String, Object> m = new LinkedHashMap<>();
+                r.beginObject();
+                while (r.hasNext()) {
+                    String name = r.nextName();
+                    m.put(name, readValue(r));
+                }
+                r.endObject();
+                return m;
+            }
+            case BEGIN_ARRAY: {
+                List<Object> list = new ArrayList<>();
+                r.beginArray();
+                while (r.hasNext()) list.add(readValue(r));
+                r.endArray();
+                return list;
+            }
+            case NUMBER: {
+                String text = r.nextString();
+                if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                    return Long.parseLong(text);
+                }
+                return Double.parseDouble(text);
+            }
+            case BOOLEAN:
+                return r.nextBoolean();
+            case NULL:
+                r.nextNull();
+                return null;
+            default:
+                return r.nextString();
+        }
+    }
+
+    static byte[] encode(Map<String, Object> res, boolean binary) {
+        if (binary) {
+            BinaryWriter w = new BinaryWriter();
+            write(w, res);
+            return w.toByteArray();
+        }
+        JsonWriter w = JsonWriter.create();
+        try {
+            write(w, res);
+            return w.toByteArray();
+        } finally {
+            w.release();
+        }
+    }
+
+    private static void write(JsonWriter w, Object v) {
+        if (v == null) {
+            w.nullValue();
+        } else if (v instanceof Map) {
+            w.beginObject();
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) v).entrySet()) {
+                w.name(String.valueOf(e.getKey()));
+                write(w, e.getValue());
+            }
+            w.endObject();
+        } else if (v instanceof Collection) {
+            w.beginArray();
+            for (Object item : (Collection<?>) v) write(w, item);
+            w.endArray();
+        } else if (v instanceof Double || v instanceof Float) {
+            w.value(((Number) v).doubleValue());
+        } else if (v instanceof Number) {
+            w.value(((Number) v).longValue());
+        } else if (v instanceof Boolean) {
+            w.value((boolean) v);
+        } else {
+            w.value(String.valueOf(v));
+        }
+    }
+
+    private static void write(BinaryWriter w, Object v) {
+        if (v == null) {
+            w.nullValue();
+        } else if (v instanceof Map) {
+            w.beginObject();
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) v).entrySet()) {
+                w.name(String.valueOf(e.getKey()));
+                write(w, e.getValue());
+            }
+            w.endObject();
+        } else if (v instanceof Collection) {
+            w.beginArray();
+            for (Object item : (Collection<?>) v) write(w, item);
+            w.endArray();
+        } else if (v instanceof Double || v instanceof Float) {
+            w.value(((Number) v).doubleValue());
+        } else if (v instanceof Number) {
+            w.value(((Number) v).longValue());
+        } else if (v instanceof Boolean) {
+            w.value((boolean) v);
+        } else {
+            w.value(String.valueOf(v));
+        }
+    }
+}
@@ -0,0 +1,855 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * StandInServer 의 메모리 테이블과 액션 처리
+ * - calendar_server.py 의 handle_request 와 같은 액션 / 같은 응답 모양 (메시지 문구 포함)
+ * - Users / Calendar / Share / Schedule / ChangeLog 를 맵으로 두고 잠금 하나로 직렬화 (DB 트랜잭션 대신)
+ * - 일정은 캘린더마다 시간 순 TreeMap → schedule_range 는 기간만 잘라 읽음 (DB 인덱스와 같은 효과)
+ * - batch: 쓰기마다 되돌리기 동작을 남겨 두고, 실패한 요청(atomic 이면 전체)의 쓰기만 되돌림
+ * - 변경 알림은 events 에 모아서 돌려줌 → 서버가 잠금 밖에서 구독자에게 보냄 (커밋 뒤 알림과 같음)
+ */
+final class StandInStore {
+
+    static final int MAX_BATCH = 64;
+
+    // 구독자에게 보낼 알림 (calendar: 그 캘린더 구독자 / user: 그 사용자의 구독 연결)
+    static final class Event {
+        final boolean user;
+        final int target;
+        final Map<String, Object> payload;
+
+        Event(boolean user, int target, Map<String, Object> payload) {
+            this.user = user;
+            this.target = target;
+            this.payload = payload;
+        }
+    }
+
+    private static final class User {
+        int id;
+        String email;
+        String pw;
+        String name;
+    }
+
+    private static final class Cal {
+        int id;
+        int userId;
+        String name;
+        String description;
+        String visibility;
+    }
+
+    private static final class Share {
+        int id;
+        int userId;
+        int targetId;
+        int calendarId;
+        String status;
+        String permission;
+    }
+
+    private static final class Sched {
+        int id;
+        int calendarId;
+        String title;
+        String time;
+        String place;
+        String memo;
+
+        String key() {
+            return timeKey(time, id);
+        }
+    }
+
+    private static final class Change {
+        final long seq;
+        final int calendarId;
+        final Integer scheduleId;
+        final String op;
+
+        Change(long seq, int calendarId, Integer scheduleId, String op) {
+            this.seq = seq;
+            this.calendarId = calendarId;
+            this.scheduleId = scheduleId;
+            this.op = op;
+        }
+    }
+
+    private final Map<Integer, User> users = new LinkedHashMap<>();
+    private final Map<String, User> usersByEmail = new HashMap<>();
+    private final Map<Integer, Cal> calendars = new LinkedHashMap<>();
+    private final Map<Integer, Share> shares = new LinkedHashMap<>();
+    private final Map<Integer, Sched> schedules = new HashMap<>();
+    private final Map<Integer, NavigableMap<String, Sched>> byCalendar = new HashMap<>();
+    private final List<Change> changes = new ArrayList<>();
+    private long seq;
+    private int nextUserId = 1;
+    private int nextCalendarId = 1;
+    private int nextShareId = 1;
+    private int nextScheduleId = 1;
+
+    private List<Runnable> undo;   // batch 중에만: 쓰기를 되돌리는 동작 (뒤에서부터 실행)
+
+    // hello 로 알려 줄 형식 (예전 서버 흉내: 둘 다 false)
+    private volatile boolean offerBinary = true;
+    private volatile boolean offerDeflate = true;
+
+    void offer(boolean binary, boolean deflate) {
+        offerBinary = binary;
+        offerDeflate = deflate;
+    }
+
+    // 요청 하나 처리. 알림은 events 에 추가
+    synchronized Map<String, Object> handle(Map<String, Object> req, List<Event> events) {
+        if ("batch".equals(req.get("action"))) return batch(req, events);
+        return dispatch(req, events);
+    }
+
+    // ============================================================
+    // 미리 채우기 (벤치마크용 데이터)
+    // ============================================================
+
+    synchronized int addUser(String email, String pw, String name) {
+        User u = new User();
+        u.id = nextUserId++;
+        u.email = email;
+        u.pw = pw;
+        u.name = name;
+        users.put(u.id, u);
+        usersByEmail.put(email, u);
+        return u.id;
+    }
+
+    synchronized int addCalendar(int userId, String name) {
+        Cal c = new Cal();
+        c.id = nextCalendarId++;
+        c.userId = userId;
+        c.name = name;
+        c.description = "";
+        c.visibility = "전체";
+        calendars.put(c.id, c);
+        return c.id;
+    }
+
+    synchronized int addSchedule(int calendarId, String title, String time, String place, String memo) {
+        Sched s = new Sched();
+        s.id = nextScheduleId++;
+        s.calendarId = calendarId;
+        s.title = title;
+        s.time = normalizeTime(time);
+        s.place = place;
+        s.memo = memo;
+        putSchedule(s);
+        return s.id;
+    }
+
+    // 구독 요청의 캘린더 중 볼 권한이 있는 것만
+    synchronized Set<Integer> readableCalendars(int userId, List<?> calendarIds) {
+        Set<Integer> out = new TreeSet<>();
+        for (Object id : calendarIds) {
+            int cid = intOf(id);
+            if (permission(userId, cid) != null) out.add(cid);
+        }
+        return out;
+    }
+
+    // ============================================================
+    // batch
+    // ============================================================
+
+    private Map<String, Object> batch(Map<String, Object> req, List<Event> events) {
+        Object list = req.get("requests");
+        if (!(list instanceof List) || ((List<?>) list).size() > MAX_BATCH) {
+            return fail("requests 는 " + MAX_BATCH + "개 이하의 배열이어야 합니다.");
+        }
+        boolean atomic = Boolean.TRUE.equals(req.get("atomic"));
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<Runnable> all = new ArrayList<>();
+        List<Event> pending = new ArrayList<>();
+        boolean okAll = true;
+        for (Object one : (List<?>) list) {
+            Map<String, Object> res;
+            Object action = one instanceof Map ? ((Map<?, ?>) one).get("action") : null;
+            if (!(one instanceof Map) || "batch".equals(action) || "subscribe".equals(action)) {
+                res = fail("batch 안에서 쓸 수 없는 요청입니다.");
+            } else {
+                undo = new ArrayList<>();
+                int mark = pending.size();
+                try {
+                    res = dispatch(asMap(resolveRefs(one, results)), pending);
+                } catch (RefException e) {
+                    res = fail(e.getMessage());
+                } catch (RuntimeException e) {
+                    res = fail("서버 오류: " + e.getMessage());
+                }
+                if (!success(res)) {
+                    rollback(undo);   // SAVEPOINT 까지 되돌림
+                    pending.subList(mark, pending.size()).clear();
+                } else {
+                    all.addAll(undo);
+                }
+                undo = null;
+            }
+            results.add(res);
+            if (!success(res)) {
+                okAll = false;
+                if (atomic) break;
+            }
+        }
+
+        if (atomic && !okAll) {
+            rollback(all);
+            pending.clear();
+        }
+        events.addAll(pending);
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("success", okAll);
+        out.put("results", results);
+        return out;
+    }
+
+    private static void rollback(List<Runnable> steps) {
+        for (int i = steps.size() - 1; i >= 0; i--) steps.get(i).run();
+    }
+
+    private static final class RefException extends RuntimeException {
+        RefException(String message) {
+            super(message);
+        }
+    }
+
+    // {"$ref":"0.user_id"} → results[0]["user_id"]
+    private static Object resolveRefs(Object value, List<Map<String, Object>> results) {
+        if (value instanceof Map) {
+            Map<?, ?> m = (Map<?, ?>) value;
+            if (m.size() == 1 && m.containsKey("$ref")) {
+                String ref = String.valueOf(m.get("$ref"));
+                int dot = ref.indexOf('.');
+                int index = Integer.parseInt(dot < 0 ? ref : ref.substring(0, dot));
+                if (index >= results.size() || !success(results.get(index))) {
+                    throw new RefException("선행 요청 " + index + " 실패");
+                }
+                Object target = results.get(index);
+                for (String part : (dot < 0 ? "" : ref.substring(dot + 1)).split("\\.")) {
+                    if (!(target instanceof Map) || !((Map<?, ?>) target).containsKey(part)) {
+                        throw new RefException("참조할 값 없음: " + ref);
+                    }
+                    target = ((Map<?, ?>) target).get(part);
+                }
+                return target;
+            }
+            Map<String, Object> out = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> e : m.entrySet()) out.put((String) e.getKey(), resolveRefs(e.getValue(), results));
+            return out;
+        }
+        if (value instanceof List) {
+            List<Object> out = new ArrayList<>();
+            for (Object v : (List<?>) value) out.add(resolveRefs(v, results));
+            return out;
+        }
+        return value;
+    }
+
+    // ============================================================
+    // 액션
+    // ============================================================
+
+    private Map<String, Object> dispatch(Map<String, Object> req, List<Event> events) {
+        String action = String.valueOf(req.get("action"));
+        switch (action) {
+            case "hello":
+                return hello(req);
+            case "register":
+                return register(req);
+            case "login":
+                return login(req);
+            case "find_user":
+                return findUser(req);
+            case "calendar_add":
+                return calendarAdd(req);
+            case "calendar_list":
+                return calendarList(req);
+            case "calendar_update":
+            case "calendar_visibility":
+                return calendarUpdate(req, events, "calendar_visibility".equals(action));
+            case "calendar_delete":
+                return calendarDelete(req, events);
+            case "schedule_add":
+                return scheduleAdd(req, events);
+            case "schedule_list":
+                return scheduleList(req);
+            case "schedule_range":
+                return scheduleRange(req);
+            case "schedule_sync":
+                return scheduleSync(req);
+            case "schedule_update":
+                return scheduleUpdate(req, events);
+            case "schedule_delete":
+                return scheduleDelete(req, events);
+            case "invite_send":
+                return inviteSend(req, events);
+            case "invite_list":
+                return inviteList(req);
+            case "invite_response":
+                return inviteResponse(req, events);
+            case "calendar_share_list":
+                return shareList(req);
+            case "calendar_set_permission":
+                return setPermission(req, events);
+            default:
+                return fail("알 수 없는 action: " + (req.get("action") == null ? "None" : action));
+        }
+    }
+
+    private Map<String, Object> hello(Map<String, Object> req) {
+        Object wire = req.get("wire");
+        Object compress = req.get("compress");
+        return obj("success", true,
+                "wire", offerBinary && wire instanceof List && ((List<?>) wire).contains("binary") ? "binary" : "json",
+                "compress", offerDeflate && compress instanceof List && ((List<?>) compress).contains("deflate")
+                        ? "deflate" : "none");
+    }
+
+    private Map<String, Object> register(Map<String, Object> req) {
+        String email = str(req, "email");
+        String pw = str(req, "pw");
+        String name = str(req, "name");
+        if (usersByEmail.containsKey(email)) return fail("이미 존재하는 이메일");
+        int id = addUser(email, pw, name);
+        onUndo(() -> usersByEmail.remove(users.remove(id).email));
+        return obj("success", true, "message", "회원가입 완료");
+    }
+
+    private Map<String, Object> login(Map<String, Object> req) {
+        User u = usersByEmail.get(str(req, "email"));
+        if (u == null || !u.pw.equals(str(req, "pw"))) return fail("로그인 실패");
+        return obj("success", true, "user_id", u.id, "id", u.id, "name", u.name);
+    }
+
+    private Map<String, Object> findUser(Map<String, Object> req) {
+        User u = usersByEmail.get(str(req, "email"));
+        if (u == null) return fail("사용자를 찾을 수 없습니다.");
+        return obj("success", true, "user_id", u.id, "name", u.name);
+    }
+
+    private Map<String, Object> calendarAdd(Map<String, Object> req) {
+        int userId = intOf(need(req, "user_id"));
+        String name = str(req, "name");
+        int id = addCalendar(userId, name);
+        Cal c = calendars.get(id);
+        c.description = strOr(req, "description", "");
+        c.visibility = strOr(req, "visibility", "전체");
+        onUndo(() -> calendars.remove(id));
+        return obj("success", true, "calendar_id", id, "message", "캘린더 생성 완료");
+    }
+
+    private Map<String, Object> calendarList(Map<String, Object> req) {
+        int userId = intOf(need(req, "user_id"));
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Cal c : calendars.values()) {
+            String relation;
+            String permission;
+            if (c.userId == userId) {
+                relation = "owner";
+                permission = "owner";
+            } else {
+                Share s = acceptedShare(c.id, userId);
+                if (s == null) continue;
+                relation = "shared";
+                permission = s.permission == null ? "read" : s.permission;
+            }
+            rows.add(obj("id", c.id, "user_id", c.userId, "name", c.name, "description", c.description,
+                    "visibility", c.visibility, "relation", relation, "permission", permission));
+        }
+        String etag = etag(rows);
+        if (etag.equals(req.get("if_none_match"))) return obj("success", true, "not_modified", true, "etag", etag);
+        return obj("success", true, "calendars", rows, "etag", etag);
+    }
+
+    private Map<String, Object> calendarUpdate(Map<String, Object> req, List<Event> events, boolean visibilityOnly) {
+        int calendarId = intOf(need(req, "calendar_id"));
+        String name = visibilityOnly ? null : str(req, "name");
+        String description = visibilityOnly ? null : strOr(req, "description", "");
+        String visibility = visibilityOnly ? str(req, "visibility") : strOr(req, "visibility", "전체");
+        int userId = intOf(need(req, "user_id"));
+
+        Cal c = calendars.get(calendarId);
+        if (c == null || c.userId != userId) {
+            return fail(visibilityOnly ? "공개 범위 변경 권한이 없습니다." : "캘린더 수정 권한이 없습니다.");
+        }
+        String oldName = c.name;
+        String oldDescription = c.description;
+        String oldVisibility = c.visibility;
+        onUndo(() -> {
+            c.name = oldName;
+            c.description = oldDescription;
+            c.visibility = oldVisibility;
+        });
+        if (!visibilityOnly) {
+            c.name = name;
+            c.description = description;
+        }
+        c.visibility = visibility;
+        events.add(new Event(false, calendarId, obj("event", "calendar_changed", "calendar_id", calendarId)));
+        return obj("success", true, "message", visibilityOnly ? "공개 범위 변경 완료" : "캘린더 수정 완료");
+    }
+
+    private Map<String, Object> calendarDelete(Map<String, Object> req, List<Event> events) {
+        int calendarId = intOf(need(req, "calendar_id"));
+        int userId = intOf(need(req, "user_id"));
+        Cal c = calendars.get(calendarId);
+        if (c == null || c.userId != userId) return fail("캘린더 삭제 권한이 없습니다.");
+
+        NavigableMap<String, Sched> own = byCalendar.get(calendarId);
+        if (own != null) {
+            for (Sched s : new ArrayList<>(own.values())) removeSchedule(s);
+        }
+        for (Share s : new ArrayList<>(shares.values())) {
+            if (s.calendarId == calendarId) {
+                shares.remove(s.id);
+                onUndo(() -> shares.put(s.id, s));
+            }
+        }
+        calendars.remove(calendarId);
+        onUndo(() -> calendars.put(calendarId, c));
+        logChange(calendarId, null, "calendar");
+        events.add(new Event(false, calendarId, obj("event", "calendar_deleted", "calendar_id", calendarId)));
+        return obj("success", true, "message", "캘린더 삭제 완료");
+    }
+
+    private Map<String, Object> scheduleAdd(Map<String, Object> req, List<Event> events) {
+        int calendarId = intOf(need(req, "calendar_id"));
+        String title = str(req, "title");
+        String time = normalizeTime(str(req, "time"));
+        String place = strOr(req, "place", "");
+        String memo = strOr(req, "memo", "");
+        int userId = intOf(need(req, "user_id"));
+
+        String perm = permission(userId, calendarId);
+        if (!"owner".equals(perm) && !"write".equals(perm) && !"full".equals(perm)) {
+            return fail("일정 추가 권한이 없습니다.");
+        }
+        int id = addSchedule(calendarId, title, time, place, memo);
+        Sched s = schedules.get(id);
+        onUndo(() -> dropSchedule(s));
+        logChange(calendarId, id, "upsert");
+
+        Map<String, Object> event = obj("event", "schedule_added", "calendar_id", calendarId, "schedule", row(s));
+        events.add(new Event(false, calendarId, event));
+        Map<String, Object> res = obj("success", true, "schedule_id", id, "message", "일정 등록 완료");
+        res.putAll(event);
+        return res;
+    }
+
+    private Map<String, Object> scheduleList(Map<String, Object> req) {
+        int calendarId = intOf(need(req, "calendar_id"));
+        List<Map<String, Object>> rows = new ArrayList<>();
+        NavigableMap<String, Sched> own = byCalendar.get(calendarId);
+        if (own != null) {
+            for (Sched s : own.values()) {
+                rows.add(obj("id", s.id, "title", s.title, "time", s.time, "place", s.place, "memo", s.memo));
+            }
+        }
+        return obj("success", true, "schedules", rows);
+    }
+
+    private Map<String, Object> scheduleRange(Map<String, Object> req) {
+        Object ids = req.get("calendar_ids");
+        if (ids == null && req.containsKey("calendar_id")) ids = List.of(req.get("calendar_id"));
+        String from = timeBound(need(req, "from"));
+        String to = timeBound(need(req, "to"));
+        if (from == null || to == null) return fail("잘못된 기간 형식입니다.");
+
+        List<Integer> calendarIds = new ArrayList<>();
+        if (ids == null) {
+            int userId = intOf(need(req, "user_id"));
+            for (Cal c : calendars.values()) {
+                if (c.userId == userId || acceptedShare(c.id, userId) != null) calendarIds.add(c.id);
+            }
+        } else {
+            for (Object id : (List<?>) ids) calendarIds.add(intOf(id));
+        }
+        if (calendarIds.isEmpty()) {
+            return obj("success", true, "schedules", List.of(), "calendar_ids", List.of(), "cursor", seq);
+        }
+
+        List<Sched> found = new ArrayList<>();
+        for (int cid : calendarIds) {
+            NavigableMap<String, Sched> own = byCalendar.get(cid);
+            if (own != null) found.addAll(own.subMap(from, true, to, false).values());
+        }
+        found.sort((a, b) -> a.key().compareTo(b.key()));
+        List<Map<String, Object>> rows = new ArrayList<>(found.size());
+        for (Sched s : found) rows.add(row(s));
+        return obj("success", true, "schedules", rows, "calendar_ids", calendarIds, "cursor", seq);
+    }
+
+    private Map<String, Object> scheduleSync(Map<String, Object> req) {
+        Object cursors = req.get("cursors");
+        long lo = changes.isEmpty() ? seq + 1 : changes.get(0).seq;
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        if (cursors instanceof Map) {
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) cursors).entrySet()) {
+                int calendarId = Integer.parseInt(String.valueOf(e.getKey()));
+                long since = longOf(e.getValue());
+                if (since >= seq) continue;
+                if (since < lo - 1) {
+                    results.add(obj("calendar_id", calendarId, "reset", true));
+                    continue;
+                }
+                Set<Integer> changed = new TreeSet<>();
+                boolean reset = false;
+                for (int i = firstAfter(since); i < changes.size(); i++) {
+                    Change c = changes.get(i);
+                    if (c.calendarId != calendarId) continue;
+                    if ("calendar".equals(c.op)) reset = true;
+                    else changed.add(c.scheduleId);
+                }
+                if (reset) {
+                    results.add(obj("calendar_id", calendarId, "reset", true));
+                    continue;
+                }
+                if (changed.isEmpty()) continue;
+
+                List<Map<String, Object>> rows = new ArrayList<>();
+                List<Integer> deleted = new ArrayList<>();
+                for (int id : changed) {
+                    Sched s = schedules.get(id);
+                    if (s != null && s.calendarId == calendarId) rows.add(row(s));
+                    else deleted.add(id);
+                }
+                results.add(obj("calendar_id", calendarId, "schedules", rows, "deleted", deleted));
+            }
+        }
+        if (results.isEmpty()) return obj("success", true, "not_modified", true, "cursor", seq);
+        return obj("success", true, "cursor", seq, "calendars", results);
+    }
+
+    private Map<String, Object> scheduleUpdate(Map<String, Object> req, List<Event> events) {
+        int scheduleId = intOf(need(req, "schedule_id"));
+        String title = str(req, "title");
+        String time = str(req, "time");
+        String place = strOr(req, "place", "");
+        String memo = strOr(req, "memo", "");
+        int userId = intOf(need(req, "user_id"));
+
+        Sched s = schedules.get(scheduleId);
+        if (s == null) return fail("일정을 찾을 수 없습니다.");
+        String perm = permission(userId, s.calendarId);
+        if (!"owner".equals(perm) && !"full".equals(perm)) return fail("일정 수정 권한이 없습니다.");
+
+        String oldTime = s.time;
+        String oldTitle = s.title;
+        String oldPlace = s.place;
+        String oldMemo = s.memo;
+        String newTime = normalizeTime(time);
+        byCalendar.get(s.calendarId).remove(s.key());
+        s.title = title;
+        s.time = newTime;
+        s.place = place;
+        s.memo = memo;
+        byCalendar.get(s.calendarId).put(s.key(), s);
+        onUndo(() -> {
+            byCalendar.get(s.calendarId).remove(s.key());
+            s.title = oldTitle;
+            s.time = oldTime;
+            s.place = oldPlace;
+            s.memo = oldMemo;
+            byCalendar.get(s.calendarId).put(s.key(), s);
+        });
+        logChange(s.calendarId, scheduleId, "upsert");
+
+        Map<String, Object> event = obj("event", "schedule_updated", "calendar_id", s.calendarId,
+                "schedule_id", scheduleId, "old_time", oldTime, "schedule", row(s));
+        events.add(new Event(false, s.calendarId, event));
+        Map<String, Object> res = obj("success", true, "message", "일정 수정 완료");
+        res.putAll(event);
+        return res;
+    }
+
+    private Map<String, Object> scheduleDelete(Map<String, Object> req, List<Event> events) {
+        int scheduleId = intOf(need(req, "schedule_id"));
+        int userId = intOf(need(req, "user_id"));
+        Sched s = schedules.get(scheduleId);
+        if (s == null) return fail("일정을 찾을 수 없습니다.");
+        String perm = permission(userId, s.calendarId);
+        if (!"owner".equals(perm) && !"full".equals(perm)) return fail("일정 삭제 권한이 없습니다.");
+
+        removeSchedule(s);
+        logChange(s.calendarId, scheduleId, "delete");
+        Map<String, Object> event = obj("event", "schedule_deleted", "calendar_id", s.calendarId,
+                "schedule_id", scheduleId, "old_time", s.time);
+        events.add(new Event(false, s.calendarId, event));
+        Map<String, Object> res = obj("success", true, "message", "일정 삭제 완료");
+        res.putAll(event);
+        return res;
+    }
+
+    private Map<String, Object> inviteSend(Map<String, Object> req, List<Event> events) {
+        int userId = intOf(need(req, "user_id"));
+        int targetId = intOf(need(req, "target_id"));
+        int calendarId = intOf(need(req, "calendar_id"));
+        Cal c = calendars.get(calendarId);
+        if (c == null || c.userId != userId) return fail("초대 권한이 없습니다.");
+
+        Share s = new Share();
+        s.id = nextShareId++;
+        s.userId = userId;
+        s.targetId = targetId;
+        s.calendarId = calendarId;
+        s.status = "pending";
+        s.permission = "read";
+        shares.put(s.id, s);
+        onUndo(() -> shares.remove(s.id));
+        events.add(new Event(true, targetId,
+                obj("event", "invite_received", "calendar_id", calendarId, "share_id", s.id)));
+        return obj("success", true, "message", "초대 전송 완료");
+    }
+
+    private Map<String, Object> inviteList(Map<String, Object> req) {
+        int targetId = intOf(need(req, "target_id"));
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Share s : shares.values()) {
+            if (s.targetId != targetId || !"pending".equals(s.status)) continue;
+            User from = users.get(s.userId);
+            Cal c = calendars.get(s.calendarId);
+            if (from == null || c == null) continue;   // JOIN 에서 빠지는 행
+            rows.add(obj("id", s.id, "user_id", s.userId, "calendar_id", s.calendarId, "status", s.status,
+                    "permission", s.permission, "from_user", from.name, "calendar_name", c.name));
+        }
+        return obj("success", true, "invites", rows);
+    }
+
+    private Map<String, Object> inviteResponse(Map<String, Object> req, List<Event> events) {
+        int shareId = intOf(need(req, "share_id"));
+        String status = str(req, "status");
+        Share s = shares.get(shareId);
+        if (s != null) {
+            String old = s.status;
+            s.status = status;
+            onUndo(() -> s.status = old);
+            Map<String, Object> event = obj("event", "invite_answered", "calendar_id", s.calendarId,
+                    "share_id", s.id, "status", status);
+            events.add(new Event(true, s.targetId, event));
+            events.add(new Event(false, s.calendarId, event));
+        }
+        return obj("success", true, "message", "초대 처리 완료");
+    }
+
+    private Map<String, Object> shareList(Map<String, Object> req) {
+        int calendarId = intOf(need(req, "calendar_id"));
+        int userId = intOf(need(req, "user_id"));
+        Cal c = calendars.get(calendarId);
+        if (c == null || c.userId != userId) return fail("권한 관리 권한이 없습니다.");
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Share s : shares.values()) {
+            User target = users.get(s.targetId);
+            if (s.calendarId != calendarId || target == null) continue;
+            rows.add(obj("share_id", s.id, "target_id", s.targetId, "status", s.status,
+                    "permission", s.permission, "target_name", target.name, "target_email", target.email));
+        }
+        return obj("success", true, "shares", rows);
+    }
+
+    private Map<String, Object> setPermission(Map<String, Object> req, List<Event> events) {
+        int shareId = intOf(need(req, "share_id"));
+        String permission = str(req, "permission");
+        int userId = intOf(need(req, "user_id"));
+        if (!"read".equals(permission) && !"write".equals(permission) && !"full".equals(permission)) {
+            return fail("잘못된 권한 값입니다.");
+        }
+        Share s = shares.get(shareId);
+        Cal c = s == null ? null : calendars.get(s.calendarId);
+        if (c == null || c.userId != userId) return fail("권한 설정 권한이 없습니다.");
+
+        String old = s.permission;
+        s.permission = permission;
+        onUndo(() -> s.permission = old);
+        events.add(new Event(true, s.targetId, obj("event", "calendars_changed")));
+        return obj("success", true, "message", "권한이 변경되었습니다.");
+    }
+
+    // ============================================================
+    // 테이블 도우미
+    // ============================================================
+
+    // owner / read / write / full, 볼 권한이 없으면 null
+    private String permission(int userId, int calendarId) {
+        Cal c = calendars.get(calendarId);
+        if (c == null) return null;
+        if (c.userId == userId) return "owner";
+        Share s = acceptedShare(calendarId, userId);
+        if (s == null) return null;
+        return s.permission == null ? "read" : s.permission;
+    }
+
+    private Share acceptedShare(int calendarId, int targetId) {
+        for (Share s : shares.values()) {
+            if (s.calendarId == calendarId && s.targetId == targetId && "accept".equals(s.status)) return s;
+        }
+        return null;
+    }
+
+    private void putSchedule(Sched s) {
+        schedules.put(s.id, s);
+        byCalendar.computeIfAbsent(s.calendarId, k -> new TreeMap<>()).put(s.key(), s);
+    }
+
+    private void dropSchedule(Sched s) {
+        schedules.remove(s.id);
+        NavigableMap<String, Sched> own = byCalendar.get(s.calendarId);
+        if (own != null) own.remove(s.key());
+    }
+
+    private void removeSchedule(Sched s) {
+        dropSchedule(s);
+        onUndo(() -> putSchedule(s));
+    }
+
+    private void logChange(int calendarId, Integer scheduleId, String op) {
+        changes.add(new Change(++seq, calendarId, scheduleId, op));
+        onUndo(() -> {
+            changes.remove(changes.size() - 1);
+            seq--;
+        });
+    }
+
+    // seq 가 since 보다 큰 첫 기록의 위치 (기록은 seq 순)
+    private int firstAfter(long since) {
+        int lo = 0;
+        int hi = changes.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (changes.get(mid).seq <= since) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void onUndo(Runnable step) {
+        if (undo != null) undo.add(step);
+    }
+
+    private static Map<String, Object> row(Sched s) {
+        return obj("id", s.id, "calendar_id", s.calendarId, "title", s.title, "time", s.time,
+                "place", s.place, "memo", s.memo);
+    }
+
+    // 시간 순 → 같은 시간이면 id 순 (범위 경계 "yyyy-MM-dd HH:mm:ss" 와 비교해도 시간 순서가 맞음)
+    private static String timeKey(String time, int id) {
+        return time + " #" + id;
+    }
+
+    // DATETIME 열에 넣는 값처럼: 초/시각이 빠진 값은 0 으로 채우고, 아니면 MySQL 처럼 오류
+    static String normalizeTime(String text) {
+        String t = text.length() == 10 ? text + " 00:00:00" : text.length() == 16 ? text + ":00" : text;
+        if (WireFormat.parseDateTime(t) == null) {
+            throw new IllegalArgumentException("Incorrect datetime value: '" + text + "'");
+        }
+        return t;
+    }
+
+    // parse_time_bound: "yyyy-MM-dd HH:mm:ss" 또는 "yyyy-MM-dd", 아니면 null
+    private static String timeBound(Object value) {
+        String text = String.valueOf(value);
+        String t = text.length() == 10 ? text + " 00:00:00" : text;
+        return WireFormat.parseDateTime(t) == null ? null : t;
+    }
+
+    // 내용이 같으면 같은 값 (클라이언트는 그대로 돌려보내기만 함)
+    private static String etag(List<Map<String, Object>> rows) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            byte[] digest = sha1.digest(rows.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) sb.append(String.format("%02x", digest[i]));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ============================================================
+    // 요청 값 도우미 (필수 값이 없으면 Python 의 KeyError 처럼 "서버 오류: 'key'")
+    // ============================================================
+
+    private static Object need(Map<String, Object> req, String key) {
+        Object v = req.get(key);
+        if (v == null && !req.containsKey(key)) throw new IllegalArgumentException("'" + key + "'");
+        return v;
+    }
+
+    private static String str(Map<String, Object> req, String key) {
+        return String.valueOf(need(req, key));
+    }
+
+    private static String strOr(Map<String, Object> req, String key, String def) {
+        Object v = req.get(key);
+        return v == null ? def : String.valueOf(v);
+    }
+
+    static int intOf(Object v) {
+        return (int) longOf(v);
+    }
+
+    static long longOf(Object v) {
+        if (v instanceof Number) return ((Number) v).longValue();
+        try {
+            return Long.parseLong(String.valueOf(v).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("정수가 아님: " + v);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object v) {
+        return (Map<String, Object>) v;
+    }
+
+    private static boolean success(Map<String, Object> res) {
+        return Boolean.TRUE.equals(res.get("success"));
+    }
+
+    static Map<String, Object> fail(String message) {
+        return obj("success", false, "message", message);
+    }
+
+    // 순서를 지키는 응답 객체: obj("success", true, "id", 3)
+    static Map<String, Object> obj(Object... keyValues) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) out.put((String) keyValues[i], keyValues[i + 1]);
+        return out;
+    }
+
+    // 테스트/벤치마크 데이터 확인용: 캘린더별 일정 수
+    synchronized Map<Integer, Integer> scheduleCounts() {
+        Map<Integer, Integer> out = new LinkedHashMap<>();
+        for (Map.Entry<Integer, NavigableMap<String, Sched>> e : byCalendar.entrySet()) {
+            out.put(e.getKey(), e.getValue().size());
+        }
+        return out;
+    }
+
+    // 등록된 사용자 id (부하 테스트 데이터 준비용)
+    synchronized Set<Integer> userIds() {
+        return new LinkedHashSet<>(users.keySet());
+    }
+}
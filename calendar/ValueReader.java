@@ -0,0 +1,51 @@
+package calendar;
+
+import java.time.LocalDateTime;
+
+/**
+ * 응답 본문 pull reader 공통 모양 (JSON: JsonReader, 바이너리: BinaryReader)
+ * - ResponseBinder 등은 이 인터페이스로만 읽으므로 본문 형식을 몰라도 됨
+ * - 토큰 종류는 두 형식 모두 JsonReader.Token 으로 표현 (바이너리 시간 값은 STRING)
+ */
+interface ValueReader {
+
+    JsonReader.Token peek();
+
+    boolean hasNext();
+
+    void beginObject();
+
+    void endObject();
+
+    void beginArray();
+
+    void endArray();
+
+    String nextName();
+
+    // 문자열 값. null 이면 null, 숫자면 숫자 표기, 시간이면 "yyyy-MM-dd HH:mm:ss"
+    String nextString();
+
+    // 값이 known 중 하나와 같으면 그 상수를 그대로 돌려줌
+    String nextString(String[] known);
+
+    // "yyyy-MM-dd HH:mm:ss" 시간 값. 형식이 다르면 null
+    LocalDateTime nextDateTime();
+
+    boolean nextBoolean();
+
+    void nextNull();
+
+    long nextLong();
+
+    int nextInt();
+
+    double nextDouble();
+
+    void skipValue();
+
+    // peek 한 토큰의 시작 위치 / 현재 읽은 위치 (원본 구간을 자를 때 사용)
+    int tokenStart();
+
+    int position();
+}
@@ -0,0 +1,34 @@
+package calendar;
+
+import java.time.LocalDateTime;
+
+/**
+ * 요청 본문 작성기 공통 모양 (JSON: JsonWriter, 바이너리: BinaryWriter)
+ * - Client.request(action) 가 서버와 협상한 형식의 작성기를 줌 → 요청을 만드는 쪽은 형식을 몰라도 됨
+ * - 바이너리로 바로 쓰면 JSON 을 만들었다가 다시 읽어 바꾸는 단계가 없음
+ */
+interface ValueWriter {
+
+    ValueWriter beginObject();
+
+    ValueWriter endObject();
+
+    ValueWriter beginArray();
+
+    ValueWriter endArray();
+
+    ValueWriter name(String name);
+
+    ValueWriter value(String s);
+
+    // "yyyy-MM-dd HH:mm:ss" (바이너리는 TIME)
+    ValueWriter value(LocalDateTime t);
+
+    ValueWriter value(long v);
+
+    ValueWriter value(double v);
+
+    ValueWriter value(boolean v);
+
+    ValueWriter nullValue();
+}
@@ -0,0 +1,138 @@
+package calendar;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 주간 그리드의 겹치는 일정 배치 (픽셀과 무관한 분 단위 계산)
+ * - 요일마다 시작 시간 순으로 훑으면서(sweep line) 비어 있는 가장 낮은 열(lane)에 배정
+ * - 서로 겹치는 일정 묶음(cluster) 안에서는 같은 열 개수로 칸을 나눔
+ * - 요일별로 (id, 시작, 끝) 이 그대로면 이전 배치를 재사용 → 일정 하나가 바뀌면 그 요일만 다시 계산
+ * - 끝 시간이 없으면 1시간, 아주 짧은 일정도 MIN_MINUTES 만큼은 자리를 차지
+ */
+final class WeekLayout {
+
+    static final int DAYS = 7;
+    private static final int DAY_MINUTES = 24 * 60;
+    private static final int DEFAULT_MINUTES = 60;
+    private static final int MIN_MINUTES = 30;   // 제목이 보일 정도의 최소 높이
+
+    // 배치된 일정 한 개
+    static final class Slot {
+        ScheduleBlock block;
+        final int day;
+        final int startMin, endMin;   // 그 날 0시 기준 분 (endMin 은 최대 24:00)
+        int lane, lanes;
+
+        Slot(ScheduleBlock block, int day, int startMin, int endMin) {
+            this.block = block;
+            this.day = day;
+            this.startMin = startMin;
+            this.endMin = endMin;
+        }
+
+        boolean sameAs(Slot o) {
+            return block.id == o.block.id && block.calendarId == o.block.calendarId
+                    && startMin == o.startMin && endMin == o.endMin;
+        }
+    }
+
+    private static final Comparator<Slot> BY_START = (a, b) -> {
+        if (a.startMin != b.startMin) return Integer.compare(a.startMin, b.startMin);
+        if (a.endMin != b.endMin) return Integer.compare(b.endMin, a.endMin);   // 긴 일정이 왼쪽
+        if (a.block.calendarId != b.block.calendarId) {
+            return Integer.compare(a.block.calendarId, b.block.calendarId);
+        }
+        return Integer.compare(a.block.id, b.block.id);
+    };
+
+    private final List<List<Slot>> days = new ArrayList<>(DAYS);
+
+    WeekLayout() {
+        for (int i = 0; i < DAYS; i++) days.add(new ArrayList<>());
+    }
+
+    // 새 일정 목록으로 갱신. 반환값은 요일 순, 요일 안에서는 시작 시간 순
+    List<Slot> update(List<ScheduleBlock> schedules, LocalDate weekStart) {
+        List<List<Slot>> next = new ArrayList<>(DAYS);
+        for (int i = 0; i < DAYS; i++) next.add(new ArrayList<>());
+
+        for (ScheduleBlock b : schedules) {
+            int day = (int) ChronoUnit.DAYS.between(weekStart, b.dateTime.toLocalDate());
+            if (day < 0 || day >= DAYS) continue;
+            int start = b.dateTime.getHour() * 60 + b.dateTime.getMinute();
+            next.get(day).add(new Slot(b, day, start, endMinute(b, start)));
+        }
+
+        List<Slot> all = new ArrayList<>(schedules.size());
+        for (int day = 0; day < DAYS; day++) {
+            List<Slot> slots = next.get(day);
+            slots.sort(BY_START);
+            List<Slot> prev = days.get(day);
+            if (unchanged(prev, slots)) {
+                // 배치는 그대로, 새로 받아온 객체만 바꿔 끼움
+                for (int i = 0; i < slots.size(); i++) prev.get(i).block = slots.get(i).block;
+            } else {
+                assignLanes(slots);
+                days.set(day, slots);
+            }
+            all.addAll(days.get(day));
+        }
+        return all;
+    }
+
+    private static int endMinute(ScheduleBlock b, int start) {
+        int end;
+        if (b.endTime == null || !b.endTime.isAfter(b.dateTime)) {
+            end = start + DEFAULT_MINUTES;
+        } else {
+            LocalDateTime dayEnd = b.dateTime.toLocalDate().plusDays(1).atStartOfDay();
+            end = b.endTime.isBefore(dayEnd)
+                    ? b.endTime.getHour() * 60 + b.endTime.getMinute()
+                    : DAY_MINUTES;   // 자정을 넘기면 그 날 끝까지만
+        }
+        return Math.min(DAY_MINUTES, Math.max(end, start + MIN_MINUTES));
+    }
+
+    private static boolean unchanged(List<Slot> prev, List<Slot> next) {
+        if (prev.size() != next.size()) return false;
+        for (int i = 0; i < prev.size(); i++) {
+            if (!prev.get(i).sameAs(next.get(i))) return false;
+        }
+        return true;
+    }
+
+    // 시작 시간 순으로 정렬된 한 요일의 일정에 열 배정: O(n log n)
+    private static void assignLanes(List<Slot> slots) {
+        PriorityQueue<Slot> active = new PriorityQueue<>(Comparator.comparingInt(s -> s.endMin));
+        PriorityQueue<Integer> freeLanes = new PriorityQueue<>();
+        int clusterStart = 0;
+        int laneCount = 0;
+
+        for (int i = 0; i < slots.size(); i++) {
+            Slot s = slots.get(i);
+            while (!active.isEmpty() && active.peek().endMin <= s.startMin) {
+                freeLanes.add(active.poll().lane);
+            }
+            if (active.isEmpty()) {
+                // 앞의 묶음과 겹치지 않음 → 이전 묶음 확정, 새 묶음 시작
+                finishCluster(slots, clusterStart, i, laneCount);
+                clusterStart = i;
+                laneCount = 0;
+                freeLanes.clear();
+            }
+            s.lane = freeLanes.isEmpty() ? laneCount++ : freeLanes.poll();
+            active.add(s);
+        }
+        finishCluster(slots, clusterStart, slots.size(), laneCount);
+    }
+
+    private static void finishCluster(List<Slot> slots, int from, int to, int lanes) {
+        for (int i = from; i < to; i++) slots.get(i).lanes = lanes;
+    }
+}
@@ -0,0 +1,195 @@
+package calendar;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 요청/응답 본문 형식
+ * - JSON: 기본 형식. 사람이 읽을 수 있으므로 디버깅용으로 항상 쓸 수 있음 (ClientConfig 의 calendar.wire=json)
+ * - 바이너리: 첫 바이트 MAGIC, 이어서 값 하나 (JSON 본문은 '{' 로 시작하므로 구분됨)
+ *   정수 zigzag varint / 실수 8바이트 / 문자열 varint 길이 + UTF-8
+ *   "yyyy-MM-dd HH:mm:ss" 문자열은 1970-01-01 00:00:00 부터의 초 (zigzag varint, 시간대 없이)
+ *   배열: 값들 + END / 객체: (varint 이름길이+1, 이름, 값)들 + 0
+ * - 서버는 요청과 같은 형식으로 응답 (calendar_server.py 의 encode_binary / decode_binary)
+ * - 어떤 형식을 쓸지(압축 포함)는 Client 가 서버별로 hello 요청으로 한 번 협상
+ */
+final class WireFormat {
+
+    static final byte MAGIC = (byte) 0xB1;
+
+    static final int END = 0;
+    static final int NULL = 1;
+    static final int FALSE = 2;
+    static final int TRUE = 3;
+    static final int INT = 4;
+    static final int DOUBLE = 5;
+    static final int STRING = 6;
+    static final int TIME = 7;
+    static final int ARRAY = 8;
+    static final int OBJECT = 9;
+
+    private WireFormat() {
+    }
+
+    /**
+     * 서버와 협상한 결과
+     * - binary: 요청/응답 본문을 바이너리로
+     * - deflate: 요청에 ACCEPT_DEFLATE 를 붙이고 큰 본문은 압축 (Framing / Compression)
+     */
+    static final class Options {
+        static final Options JSON = new Options(false, false);
+
+        final boolean binary;
+        final boolean deflate;
+
+        Options(boolean binary, boolean deflate) {
+            this.binary = binary;
+            this.deflate = deflate;
+        }
+    }
+
+    static boolean isBinary(byte[] body) {
+        return body.length > 0 && body[0] == MAGIC;
+    }
+
+    // 본문 형식에 맞는 reader
+    static ValueReader reader(byte[] body) {
+        return isBinary(body) ? new BinaryReader(body) : new JsonReader(body);
+    }
+
+    // UTF-8 JSON 요청을 보낼 형식의 바이트로
+    static byte[] encode(byte[] json, boolean binary) {
+        return binary ? BinaryWriter.fromJson(json, json.length) : json;
+    }
+
+    // 바이너리 본문이면 같은 내용의 JSON 텍스트로 (문자열 API / 로그용)
+    static String toJson(byte[] body) {
+        if (!isBinary(body)) return new String(body, StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(body.length * 2);
+        BinaryReader r = new BinaryReader(body);
+        appendJson(r, sb);
+        return sb.toString();
+    }
+
+    private static void appendJson(BinaryReader r, StringBuilder sb) {
+        switch (r.peek()) {
+            case BEGIN_OBJECT:
+                r.beginObject();
+                sb.append('{');
+                for (boolean first = true; r.hasNext(); first = false) {
+                    if (!first) sb.append(',');
+                    appendQuoted(sb, r.nextName());
+                    sb.append(':');
+                    appendJson(r, sb);
+                }
+                r.endObject();
+                sb.append('}');
+                break;
+            case BEGIN_ARRAY:
+                r.beginArray();
+                sb.append('[');
+                for (boolean first = true; r.hasNext(); first = false) {
+                    if (!first) sb.append(',');
+                    appendJson(r, sb);
+                }
+                r.endArray();
+                sb.append(']');
+                break;
+            case STRING:
+                appendQuoted(sb, r.nextString());
+                break;
+            case NUMBER:
+                sb.append(r.nextString());
+                break;
+            case BOOLEAN:
+                sb.append(r.nextBoolean());
+                break;
+            default:
+                r.nextNull();
+                sb.append("null");
+        }
+    }
+
+    private static void appendQuoted(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    // ============================================================
+    // 시간 값: "yyyy-MM-dd HH:mm:ss" ↔ epoch 초
+    // ============================================================
+
+    // 정확히 "yyyy-MM-dd HH:mm:ss" 형식인 올바른 시간(1~9999년)이면 그 시간, 아니면 null
+    // → 바이너리로 바꿨다가 되돌려도 글자 하나까지 같은 문자열만 TIME 으로 보냄
+    static LocalDateTime parseDateTime(String s) {
+        if (s.length() != 19
+                || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != ' '
+                || s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return null;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0 || year < 1) return null;
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (java.time.DateTimeException e) {
+            return null;
+        }
+    }
+
+    static long toSeconds(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime fromSeconds(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    static String format(LocalDateTime t) {
+        char[] c = new char[19];
+        put(c, 0, t.getYear(), 4);
+        c[4] = '-';
+        put(c, 5, t.getMonthValue(), 2);
+        c[7] = '-';
+        put(c, 8, t.getDayOfMonth(), 2);
+        c[10] = ' ';
+        put(c, 11, t.getHour(), 2);
+        c[13] = ':';
+        put(c, 14, t.getMinute(), 2);
+        c[16] = ':';
+        put(c, 17, t.getSecond(), 2);
+        return new String(c);
+    }
+
+    private static void put(char[] c, int off, int v, int n) {
+        for (int i = off + n - 1; i >= off; i--) {
+            c[i] = (char) ('0' + v % 10);
+            v /= 10;
+        }
+    }
+
+    private static int digits(String s, int start, int n) {
+        int v = 0;
+        for (int i = start; i < start + n; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            v = v * 10 + (c - '0');
+        }
+        return v;
+    }
+}
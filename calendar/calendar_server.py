@@ -1,13 +1,29 @@
 import socket
 import json
+import hashlib
+import queue
+import struct
 import pymysql
 import threading
-from datetime import datetime
+import zlib
+from concurrent.futures import ThreadPoolExecutor
+from datetime import date, datetime
 
 # ----------------------------------------------------
 # MySQL Connect
+#   - batch 실행 중에는 그 스레드의 요청들이 연결 하나(트랜잭션 하나)를 같이 씀
 # ----------------------------------------------------
+_batch = threading.local()
+
+
 def get_conn():
+    shared = getattr(_batch, "conn", None)
+    if shared is not None:
+        return shared
+    return connect_db()
+
+
+def connect_db():
     return pymysql.connect(
         host='172.26.240.1',      # WSL → Windows MySQL IP
         user='root',
@@ -18,6 +34,21 @@ def get_conn():
     )
 
 
+class BatchConnection:
+    """batch 안의 요청이 받는 연결: commit/close 는 batch 가 끝날 때 한 번만"""
+    def __init__(self, real):
+        self.real = real
+
+    def cursor(self):
+        return self.real.cursor()
+
+    def commit(self):
+        pass
+
+    def close(self):
+        pass
+
+
 # ----------------------------------------------------
 # datetime → 문자열 변환 유틸
 # ----------------------------------------------------
@@ -37,6 +68,226 @@ def convert_rows(rows):
     return [convert_row(r) for r in rows]
 
 
+# ----------------------------------------------------
+# 기간 경계 파싱: "yyyy-MM-dd HH:mm:ss" 또는 "yyyy-MM-dd"
+# ----------------------------------------------------
+def parse_time_bound(text):
+    for fmt in ("%Y-%m-%d %H:%M:%S", "%Y-%m-%d"):
+        try:
+            return datetime.strptime(text, fmt)
+        except ValueError:
+            pass
+    raise ValueError(f"잘못된 시간 형식: {text}")
+
+
+# ----------------------------------------------------
+# 스키마 보장
+#   - 인덱스: schedule_range 가 (calendar_id, time) 범위만 읽도록
+#   - ChangeLog / ChangeSeq: 증분 동기화(schedule_sync)용 변경 기록
+# ----------------------------------------------------
+CHANGE_LOG_DAYS = 30   # 이보다 오래된 변경 기록은 시작할 때 정리
+
+
+def ensure_schema():
+    conn = get_conn()
+    cur = conn.cursor()
+    try:
+        cur.execute("""
+            SELECT COUNT(*) AS cnt
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE()
+              AND table_name = 'Schedule'
+              AND index_name = 'idx_schedule_calendar_time'
+        """)
+        if cur.fetchone()["cnt"] == 0:
+            cur.execute("CREATE INDEX idx_schedule_calendar_time ON Schedule(calendar_id, time)")
+            conn.commit()
+            print("[Server] 인덱스 생성: idx_schedule_calendar_time")
+
+        cur.execute("""
+            CREATE TABLE IF NOT EXISTS ChangeLog (
+                seq BIGINT NOT NULL PRIMARY KEY,
+                calendar_id INT NOT NULL,
+                schedule_id INT NULL,
+                op VARCHAR(16) NOT NULL,
+                changed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                INDEX idx_changelog_calendar_seq (calendar_id, seq)
+            )
+        """)
+        cur.execute("""
+            CREATE TABLE IF NOT EXISTS ChangeSeq (
+                id TINYINT NOT NULL PRIMARY KEY,
+                seq BIGINT NOT NULL
+            )
+        """)
+        cur.execute("INSERT IGNORE INTO ChangeSeq(id, seq) VALUES (1, 0)")
+
+        # 마지막 기록은 남겨 둠 (그보다 오래된 커서는 schedule_sync 가 reset 으로 응답)
+        cur.execute("""
+            DELETE FROM ChangeLog
+            WHERE changed_at < NOW() - INTERVAL %s DAY
+              AND seq < (SELECT seq FROM ChangeSeq WHERE id = 1)
+        """, (CHANGE_LOG_DAYS,))
+        conn.commit()
+    finally:
+        cur.close()
+        conn.close()
+
+
+# ----------------------------------------------------
+# 변경 기록: 일정/캘린더를 바꾸는 트랜잭션 안에서 호출
+#   - ChangeSeq 한 행을 갱신하면서 번호를 받으므로 커밋할 때까지 다른 쓰기는 대기
+#     → 번호 순서 = 커밋 순서, 읽은 시점의 ChangeSeq 이하 변경은 모두 커밋된 것
+#   - op: upsert / delete / calendar(캘린더 삭제 → 클라이언트는 전부 다시 읽음)
+# ----------------------------------------------------
+def log_change(cursor, calendar_id, schedule_id, op):
+    cursor.execute("UPDATE ChangeSeq SET seq = LAST_INSERT_ID(seq + 1) WHERE id = 1")
+    cursor.execute("SELECT LAST_INSERT_ID() AS seq")
+    seq = cursor.fetchone()["seq"]
+    cursor.execute("""
+        INSERT INTO ChangeLog(seq, calendar_id, schedule_id, op)
+        VALUES (%s, %s, %s, %s)
+    """, (seq, calendar_id, schedule_id, op))
+    return seq
+
+
+def current_seq(cursor):
+    cursor.execute("SELECT seq FROM ChangeSeq WHERE id = 1")
+    row = cursor.fetchone()
+    return row["seq"] if row else 0
+
+
+# ----------------------------------------------------
+# 변경 알림 (구독 채널)
+#   - 클라이언트가 subscribe 로 연결 하나를 열어 두면
+#     자기가 볼 수 있는 캘린더의 변경 이벤트를 그 연결로 흘려보냄
+#   - 구독자마다 보내기 전용 스레드 + 큐: 느린 구독자가 요청 처리를 막지 않음
+#   - 큐가 넘치면 그 구독자는 끊음 (클라이언트가 다시 연결하면서 전체를 새로 읽음)
+# ----------------------------------------------------
+PING_INTERVAL = 25          # 이벤트가 없을 때 살아 있음 알림 간격(초)
+SUBSCRIBER_QUEUE = 1000
+
+
+class Subscriber:
+    def __init__(self, conn, addr, user_id):
+        self.conn = conn
+        self.addr = addr
+        self.user_id = user_id
+        self.calendar_ids = set()
+        self.queue = queue.Queue(maxsize=SUBSCRIBER_QUEUE)
+
+    def push(self, payload):
+        try:
+            self.queue.put_nowait(payload)
+        except queue.Full:
+            print(f"[구독 큐 초과, 연결 종료] {self.addr}")
+            self.close()
+
+    def close(self):
+        try:
+            self.conn.shutdown(socket.SHUT_RDWR)
+        except OSError:
+            pass
+
+    def send_loop(self):
+        ping = json.dumps({"event": "ping"}).encode()
+        try:
+            while True:
+                try:
+                    payload = self.queue.get(timeout=PING_INTERVAL)
+                except queue.Empty:
+                    payload = ping
+                if payload is None:
+                    break
+                write_frame(self.conn, payload)
+        except OSError as e:
+            print(f"[구독 전송 실패 {self.addr}] {e}")
+            self.close()
+
+
+class ChangeHub:
+    def __init__(self):
+        self.lock = threading.Lock()
+        self.by_calendar = {}
+        self.by_user = {}
+
+    def register(self, sub):
+        with self.lock:
+            self.by_user.setdefault(sub.user_id, set()).add(sub)
+
+    def set_calendars(self, sub, calendar_ids):
+        with self.lock:
+            for cid in sub.calendar_ids - calendar_ids:
+                subs = self.by_calendar.get(cid)
+                if subs:
+                    subs.discard(sub)
+                    if not subs:
+                        del self.by_calendar[cid]
+            for cid in calendar_ids - sub.calendar_ids:
+                self.by_calendar.setdefault(cid, set()).add(sub)
+            sub.calendar_ids = calendar_ids
+
+    def unregister(self, sub):
+        self.set_calendars(sub, set())
+        with self.lock:
+            subs = self.by_user.get(sub.user_id)
+            if subs:
+                subs.discard(sub)
+                if not subs:
+                    del self.by_user[sub.user_id]
+
+    def publish_calendar(self, calendar_id, event):
+        if self._defer("calendar", calendar_id, event):
+            return
+        with self.lock:
+            subs = list(self.by_calendar.get(int(calendar_id), ()))
+        self._push(subs, event)
+
+    def publish_user(self, user_id, event):
+        if self._defer("user", user_id, event):
+            return
+        with self.lock:
+            subs = list(self.by_user.get(int(user_id), ()))
+        self._push(subs, event)
+
+    @staticmethod
+    def _defer(kind, target, event):
+        """batch 중에는 커밋될 때까지 알림을 모아 둠 (롤백되면 버림)"""
+        pending = getattr(_batch, "events", None)
+        if pending is None:
+            return False
+        pending.append((kind, target, event))
+        return True
+
+    def flush(self, pending):
+        for kind, target, event in pending:
+            if kind == "calendar":
+                self.publish_calendar(target, event)
+            else:
+                self.publish_user(target, event)
+
+    @staticmethod
+    def _push(subs, event):
+        if not subs:
+            return
+        payload = json.dumps(event, ensure_ascii=False).encode()   # 인코딩은 한 번만
+        for sub in subs:
+            sub.push(payload)
+
+
+hub = ChangeHub()
+
+
+def fetch_schedule(cursor, schedule_id):
+    """이벤트/응답에 실을 일정 한 건 (클라이언트 일정 목록과 같은 형식)"""
+    cursor.execute("""
+        SELECT id, calendar_id, title, time, place, memo
+        FROM Schedule
+        WHERE id=%s
+    """, (schedule_id,))
+    return convert_row(cursor.fetchone())
+
+
 # ----------------------------------------------------
 # 권한 조회 유틸
 #   - owner: Calendar.user_id == user_id
@@ -68,12 +319,109 @@ def get_permission(conn, user_id, calendar_id):
         cur.close()
 
 
+# ----------------------------------------------------
+# batch: 여러 요청을 한 메시지로
+#   - {"action":"batch","atomic":false,"requests":[{...},{...}]}
+#     → {"success": 전부 성공?, "results":[요청별 응답, ...]}
+#   - 모두 한 DB 연결/트랜잭션에서 순서대로 실행, 끝에 한 번 커밋
+#   - 요청마다 SAVEPOINT: 실패한 요청의 쓰기만 되돌림
+#   - atomic=true 면 하나라도 실패하는 순간 전체 롤백, 나머지는 실행하지 않음
+#   - 앞 요청 결과 참조: {"$ref":"0.user_id"} → results[0]["user_id"]
+# ----------------------------------------------------
+MAX_BATCH = 64
+
+
+class BatchRefError(Exception):
+    pass
+
+
+def resolve_refs(value, results):
+    if isinstance(value, dict):
+        if set(value) == {"$ref"}:
+            index, _, key = str(value["$ref"]).partition(".")
+            index = int(index)
+            if index >= len(results) or not results[index].get("success"):
+                raise BatchRefError(f"선행 요청 {index} 실패")
+            target = results[index]
+            for part in key.split("."):
+                if not isinstance(target, dict) or part not in target:
+                    raise BatchRefError(f"참조할 값 없음: {value['$ref']}")
+                target = target[part]
+            return target
+        return {k: resolve_refs(v, results) for k, v in value.items()}
+    if isinstance(value, list):
+        return [resolve_refs(v, results) for v in value]
+    return value
+
+
+def handle_batch(req):
+    requests = req.get("requests")
+    if not isinstance(requests, list) or len(requests) > MAX_BATCH:
+        return {"success": False, "message": f"requests 는 {MAX_BATCH}개 이하의 배열이어야 합니다."}
+    atomic = bool(req.get("atomic", False))
+
+    real = connect_db()
+    _batch.conn = BatchConnection(real)
+    _batch.events = []
+    results = []
+    ok_all = True
+    try:
+        cur = real.cursor()
+        for i, sub in enumerate(requests):
+            if not isinstance(sub, dict) or sub.get("action") in ("batch", "subscribe"):
+                res = {"success": False, "message": "batch 안에서 쓸 수 없는 요청입니다."}
+            else:
+                mark = len(_batch.events)
+                cur.execute(f"SAVEPOINT b{i}")
+                try:
+                    res = handle_request(resolve_refs(sub, results))
+                except BatchRefError as e:
+                    res = {"success": False, "message": str(e)}
+                except Exception as e:
+                    print(f"[batch {i} 처리 에러] {e}")
+                    res = {"success": False, "message": f"서버 오류: {e}"}
+                if not res.get("success"):
+                    cur.execute(f"ROLLBACK TO SAVEPOINT b{i}")
+                    del _batch.events[mark:]
+            results.append(res)
+            if not res.get("success"):
+                ok_all = False
+                if atomic:
+                    break
+
+        if atomic and not ok_all:
+            real.rollback()
+            _batch.events.clear()
+        else:
+            real.commit()
+        events = _batch.events
+    except Exception:
+        real.rollback()
+        raise
+    finally:
+        _batch.conn = None
+        _batch.events = None
+        real.close()
+
+    hub.flush(events)   # 커밋된 뒤에 알림
+    return {"success": ok_all, "results": results}
+
+
 # ----------------------------------------------------
 # Request Handler (기존 그대로)
 # ----------------------------------------------------
 def handle_request(req):
     action = req.get("action")
 
+    if action == "batch":
+        return handle_batch(req)
+
+    # 본문 형식 협상: 클라이언트가 아는 형식 중 서버도 아는 것
+    if action == "hello":
+        wire = "binary" if "binary" in (req.get("wire") or []) else "json"
+        compress = "deflate" if "deflate" in (req.get("compress") or []) else "none"
+        return {"success": True, "wire": wire, "compress": compress}
+
     # =========================================================
     # 1. 로그인 / 회원가입
     # =========================================================
@@ -212,7 +560,14 @@ def handle_request(req):
             """, (user_id, user_id, user_id, user_id, user_id))
             rows = cursor.fetchall()
             rows = convert_rows(rows)
-            return {"success": True, "calendars": rows}
+
+            # 목록 내용의 해시: 클라이언트가 가진 것과 같으면 목록은 보내지 않음
+            etag = hashlib.sha1(
+                json.dumps(rows, sort_keys=True, ensure_ascii=False).encode()
+            ).hexdigest()[:16]
+            if req.get("if_none_match") == etag:
+                return {"success": True, "not_modified": True, "etag": etag}
+            return {"success": True, "calendars": rows, "etag": etag}
 
         finally:
             cursor.close()
@@ -240,6 +595,7 @@ def handle_request(req):
                 WHERE id=%s
             """, (name, description, visibility, calendar_id))
             conn.commit()
+            hub.publish_calendar(calendar_id, {"event": "calendar_changed", "calendar_id": calendar_id})
             return {"success": True, "message": "캘린더 수정 완료"}
 
         finally:
@@ -263,7 +619,9 @@ def handle_request(req):
             cursor.execute("DELETE FROM Schedule WHERE calendar_id=%s", (calendar_id,))
             cursor.execute("DELETE FROM Share WHERE calendar_id=%s", (calendar_id,))
             cursor.execute("DELETE FROM Calendar WHERE id=%s", (calendar_id,))
+            log_change(cursor, calendar_id, None, "calendar")
             conn.commit()
+            hub.publish_calendar(calendar_id, {"event": "calendar_deleted", "calendar_id": calendar_id})
             return {"success": True, "message": "캘린더 삭제 완료"}
 
         finally:
@@ -290,6 +648,7 @@ def handle_request(req):
                 WHERE id=%s
             """, (visibility, calendar_id))
             conn.commit()
+            hub.publish_calendar(calendar_id, {"event": "calendar_changed", "calendar_id": calendar_id})
             return {"success": True, "message": "공개 범위 변경 완료"}
 
         finally:
@@ -320,11 +679,20 @@ def handle_request(req):
                 INSERT INTO Schedule(calendar_id, title, time, place, memo)
                 VALUES (%s, %s, %s, %s, %s)
             """, (calendar_id, title, time, place, memo))
+            schedule_id = cursor.lastrowid
+            log_change(cursor, calendar_id, schedule_id, "upsert")
+            event = {
+                "event": "schedule_added",
+                "calendar_id": calendar_id,
+                "schedule": fetch_schedule(cursor, schedule_id),
+            }
             conn.commit()
+            hub.publish_calendar(calendar_id, event)
             return {
                 "success": True,
-                "schedule_id": cursor.lastrowid,
-                "message": "일정 등록 완료"
+                "schedule_id": schedule_id,
+                "message": "일정 등록 완료",
+                **event
             }
 
         finally:
@@ -352,6 +720,118 @@ def handle_request(req):
             cursor.close()
             conn.close()
 
+    # 3.2-1 기간 일정 조회: from <= time < to 인 일정만
+    #   - calendar_id 하나 또는 calendar_ids 목록
+    #   - 보이는 주만 받으므로 전송량/파싱/DB 스캔이 화면에 보이는 만큼만 듦
+    #   - calendar_id / calendar_ids 가 없고 user_id 만 있으면 그 사용자가 볼 수 있는 모든 캘린더
+    #     (응답의 calendar_ids 로 어느 캘린더를 읽었는지 알려 줌)
+    if action == "schedule_range":
+        calendar_ids = req.get("calendar_ids")
+        if calendar_ids is None and "calendar_id" in req:
+            calendar_ids = [req["calendar_id"]]
+
+        try:
+            time_from = parse_time_bound(req["from"])
+            time_to = parse_time_bound(req["to"])
+        except ValueError:
+            return {"success": False, "message": "잘못된 기간 형식입니다."}
+
+        conn = get_conn()
+        cursor = conn.cursor()
+        try:
+            # 같은 트랜잭션(스냅샷)에서 먼저 읽은 커서: 이후 변경은 schedule_sync 로 받음
+            seq = current_seq(cursor)
+            if calendar_ids is None:
+                user_id = req["user_id"]
+                cursor.execute("""
+                    SELECT c.id
+                    FROM Calendar c
+                    LEFT JOIN Share s
+                      ON c.id = s.calendar_id AND s.target_id = %s
+                    WHERE c.user_id = %s
+                       OR (s.target_id = %s AND s.status = 'accept')
+                """, (user_id, user_id, user_id))
+                calendar_ids = [r["id"] for r in cursor.fetchall()]
+            calendar_ids = [int(c) for c in calendar_ids]
+            if not calendar_ids:
+                return {"success": True, "schedules": [], "calendar_ids": [], "cursor": seq}
+
+            placeholders = ", ".join(["%s"] * len(calendar_ids))
+            cursor.execute(f"""
+                SELECT id, calendar_id, title, time, place, memo
+                FROM Schedule
+                WHERE calendar_id IN ({placeholders})
+                  AND time >= %s AND time < %s
+                ORDER BY time
+            """, (*calendar_ids, time_from, time_to))
+            rows = cursor.fetchall()
+            rows = convert_rows(rows)
+            return {"success": True, "schedules": rows, "calendar_ids": calendar_ids, "cursor": seq}
+
+        finally:
+            cursor.close()
+            conn.close()
+
+    # 3.2-2 증분 동기화: 캘린더별 커서 이후에 바뀐 일정만
+    #   - 요청: {"cursors": {"<calendar_id>": <cursor>, ...}}
+    #   - 바뀐 것이 없으면 not_modified, 있으면 캘린더별 schedules(현재 행) / deleted(id)
+    #   - 커서가 너무 오래됐거나 캘린더가 삭제됐으면 reset (그 캘린더는 전부 다시 읽어야 함)
+    #   - 응답의 cursor 는 요청한 모든 캘린더에 대해 새 커서
+    if action == "schedule_sync":
+        cursors = {int(k): int(v) for k, v in (req.get("cursors") or {}).items()}
+
+        conn = get_conn()
+        cursor = conn.cursor()
+        try:
+            seq = current_seq(cursor)
+            cursor.execute("SELECT MIN(seq) AS lo FROM ChangeLog")
+            lo = cursor.fetchone()["lo"]
+            if lo is None:
+                lo = seq + 1   # 기록이 전부 정리됨
+
+            results = []
+            for calendar_id, since in cursors.items():
+                if since >= seq:
+                    continue
+                if since < lo - 1:
+                    results.append({"calendar_id": calendar_id, "reset": True})
+                    continue
+
+                cursor.execute("""
+                    SELECT schedule_id, op
+                    FROM ChangeLog
+                    WHERE calendar_id=%s AND seq > %s AND seq <= %s
+                """, (calendar_id, since, seq))
+                changes = cursor.fetchall()
+                if not changes:
+                    continue
+                if any(c["op"] == "calendar" for c in changes):
+                    results.append({"calendar_id": calendar_id, "reset": True})
+                    continue
+
+                ids = sorted({c["schedule_id"] for c in changes})
+                placeholders = ", ".join(["%s"] * len(ids))
+                cursor.execute(f"""
+                    SELECT id, calendar_id, title, time, place, memo
+                    FROM Schedule
+                    WHERE calendar_id=%s AND id IN ({placeholders})
+                """, (calendar_id, *ids))
+                rows = convert_rows(cursor.fetchall())
+                present = {r["id"] for r in rows}
+                results.append({
+                    "calendar_id": calendar_id,
+                    "schedules": rows,
+                    "deleted": [i for i in ids if i not in present],
+                })
+
+            if not results:
+                return {"success": True, "not_modified": True, "cursor": seq}
+            return {"success": True, "cursor": seq, "calendars": results}
+
+        finally:
+            cursor.close()
+            conn.close()
+
     # 3.3 일정 수정 (owner / full)
     if action == "schedule_update":
         schedule_id = req["schedule_id"]
@@ -364,11 +844,12 @@ def handle_request(req):
         conn = get_conn()
         cursor = conn.cursor()
         try:
-            cursor.execute("SELECT calendar_id FROM Schedule WHERE id=%s", (schedule_id,))
+            cursor.execute("SELECT calendar_id, time FROM Schedule WHERE id=%s", (schedule_id,))
             row = cursor.fetchone()
             if not row:
                 return {"success": False, "message": "일정을 찾을 수 없습니다."}
             calendar_id = row["calendar_id"]
+            old_time = convert_datetime(row["time"])
 
             perm = get_permission(conn, user_id, calendar_id)
             if perm not in ("owner", "full"):
@@ -379,8 +860,17 @@ def handle_request(req):
                 SET title=%s, time=%s, place=%s, memo=%s
                 WHERE id=%s
             """, (title, time, place, memo, schedule_id))
+            log_change(cursor, calendar_id, schedule_id, "upsert")
+            event = {
+                "event": "schedule_updated",
+                "calendar_id": calendar_id,
+                "schedule_id": schedule_id,
+                "old_time": old_time,
+                "schedule": fetch_schedule(cursor, schedule_id),
+            }
             conn.commit()
-            return {"success": True, "message": "일정 수정 완료"}
+            hub.publish_calendar(calendar_id, event)
+            return {"success": True, "message": "일정 수정 완료", **event}
 
         finally:
             cursor.close()
@@ -394,19 +884,28 @@ def handle_request(req):
         conn = get_conn()
         cursor = conn.cursor()
         try:
-            cursor.execute("SELECT calendar_id FROM Schedule WHERE id=%s", (schedule_id,))
+            cursor.execute("SELECT calendar_id, time FROM Schedule WHERE id=%s", (schedule_id,))
             row = cursor.fetchone()
             if not row:
                 return {"success": False, "message": "일정을 찾을 수 없습니다."}
             calendar_id = row["calendar_id"]
+            old_time = convert_datetime(row["time"])
 
             perm = get_permission(conn, user_id, calendar_id)
             if perm not in ("owner", "full"):
                 return {"success": False, "message": "일정 삭제 권한이 없습니다."}
 
             cursor.execute("DELETE FROM Schedule WHERE id=%s", (schedule_id,))
+            log_change(cursor, calendar_id, schedule_id, "delete")
             conn.commit()
-            return {"success": True, "message": "일정 삭제 완료"}
+            event = {
+                "event": "schedule_deleted",
+                "calendar_id": calendar_id,
+                "schedule_id": schedule_id,
+                "old_time": old_time,
+            }
+            hub.publish_calendar(calendar_id, event)
+            return {"success": True, "message": "일정 삭제 완료", **event}
 
         finally:
             cursor.close()
@@ -435,7 +934,14 @@ def handle_request(req):
                 INSERT INTO Share(user_id, target_id, calendar_id, status, permission)
                 VALUES (%s, %s, %s, 'pending', 'read')
             """, (user_id, target_id, calendar_id))
+            share_id = cursor.lastrowid
             conn.commit()
+            # 받는 사람의 '받은 초대' 목록이 바뀜
+            hub.publish_user(target_id, {
+                "event": "invite_received",
+                "calendar_id": calendar_id,
+                "share_id": share_id,
+            })
             return {"success": True, "message": "초대 전송 완료"}
 
         finally:
@@ -484,7 +990,19 @@ def handle_request(req):
                 SET status=%s
                 WHERE id=%s
             """, (status, share_id))
+            cursor.execute("SELECT calendar_id, target_id FROM Share WHERE id=%s", (share_id,))
+            row = cursor.fetchone()
             conn.commit()
+            if row:
+                # 받은 사람(다른 창의 초대 목록 / 캘린더 목록)과 그 캘린더를 보는 사람(owner 포함)에게 알림
+                event = {
+                    "event": "invite_answered",
+                    "calendar_id": row["calendar_id"],
+                    "share_id": share_id,
+                    "status": status,
+                }
+                hub.publish_user(row["target_id"], event)
+                hub.publish_calendar(row["calendar_id"], event)
             return {"success": True, "message": "초대 처리 완료"}
 
         finally:
@@ -537,7 +1055,7 @@ def handle_request(req):
         cursor = conn.cursor()
         try:
             cursor.execute("""
-                SELECT s.calendar_id, c.user_id
+                SELECT s.calendar_id, s.target_id, c.user_id
                 FROM Share s
                 JOIN Calendar c ON s.calendar_id = c.id
                 WHERE s.id=%s
@@ -552,6 +1070,8 @@ def handle_request(req):
                 WHERE id=%s
             """, (permission, share_id))
             conn.commit()
+            # 공유받은 사용자의 캘린더 목록(권한 표시)이 바뀜
+            hub.publish_user(row["target_id"], {"event": "calendars_changed"})
             return {"success": True, "message": "권한이 변경되었습니다."}
 
         finally:
@@ -564,6 +1084,300 @@ def handle_request(req):
     return {"success": False, "message": f"알 수 없는 action: {action}"}
 
 
+# keep-alive 연결을 요청 없이 유지하는 최대 시간(초)
+# 클라이언트 풀의 idle 정리 시간(30초)보다 길게 둔다
+IDLE_TIMEOUT = 60
+LISTEN_BACKLOG = 1024   # 클라이언트 하나가 연결 수천 개를 한꺼번에 여는 경우(부하 테스트 등)
+PIPELINE_WORKERS = 32   # rid 가 붙은(파이프라인) 요청을 동시에 처리할 작업 스레드 수
+
+
+# ----------------------------------------------------
+# 메시지 프레이밍: [4바이트 헤더(big-endian)][본문]
+#   - 헤더 아래 30비트는 본문 길이, 위 2비트는 플래그 (Framing.java 와 같은 규칙)
+#     FLAG_DEFLATED: 본문이 압축됨 / FLAG_ACCEPT_DEFLATE: 요청 보낸 쪽이 압축된 응답을 풀 수 있음
+#   - recv 한 번에 다 안 들어와도 길이만큼 끝까지 읽음
+# ----------------------------------------------------
+HEADER = struct.Struct(">I")
+MAX_FRAME = 64 * 1024 * 1024   # 비정상 길이 방어용 상한
+FLAG_DEFLATED = 0x80000000
+FLAG_ACCEPT_DEFLATE = 0x40000000
+LENGTH_MASK = 0x3FFFFFFF
+
+# ----------------------------------------------------
+# 큰 본문 압축: raw deflate + 미리 정한 사전 (Compression.java 와 바이트 단위로 같아야 함)
+#   - 목록 응답은 행마다 같은 키가 반복되므로 사전에 프로토콜 키를 넣어 둠
+#   - COMPRESS_THRESHOLD 보다 작거나 줄지 않으면 그대로 보냄
+# ----------------------------------------------------
+COMPRESS_THRESHOLD = 1024
+COMPRESS_LEVEL = 1
+DEFLATE_DICTIONARY = (
+    '"message": "", "success": false, '
+    '"shares": [{"share_id": , "target_id": , "status": "accept", '
+    '"permission": "write", "target_name": "", "target_email": "@"}, '
+    '"invites": [{"id": , "user_id": , "calendar_id": , "status": "pending", '
+    '"permission": "read", "from_user": "", "calendar_name": ""}, '
+    '"etag": "", "calendars": [{"id": , "name": "", "relation": "shared", '
+    '"permission": "full"}, {"id": , "name": "", "relation": "owner", '
+    '"permission": "owner"}, '
+    '"cursor": , "calendar_ids": [], "end_time": null, '
+    '{"success": true, "schedules": [{"id": , "calendar_id": , "title": "", '
+    '"time": "2026-01-01 00:00:00", "place": "", "memo": ""}, {"id": '
+).encode()
+
+
+def deflate_body(payload):
+    """압축한 본문, 작거나 줄지 않으면 None"""
+    if len(payload) < COMPRESS_THRESHOLD:
+        return None
+    c = zlib.compressobj(COMPRESS_LEVEL, zlib.DEFLATED, -15, zdict=DEFLATE_DICTIONARY)
+    packed = c.compress(payload) + c.flush()
+    return packed if len(packed) < len(payload) else None
+
+
+def inflate_body(packed):
+    d = zlib.decompressobj(-15, zdict=DEFLATE_DICTIONARY)
+    body = d.decompress(packed, MAX_FRAME)
+    if d.unconsumed_tail:
+        raise ValueError("압축을 푼 본문이 너무 큼")
+    if not d.eof:
+        raise ValueError("압축 본문이 중간에 끝남")
+    return body
+
+
+class FrameReader:
+    """연결 하나에서 프레임 읽기
+    - 받는 버퍼를 연결마다 하나 두고 더 큰 프레임이 오면 그때만 두 배씩 키워서 재사용
+      (프레임마다 bytearray 를 새로 만들지 않음)
+    - 본문은 작업 스레드로 넘어가므로 버퍼에서 bytes 로 한 번만 복사해서 돌려줌
+    """
+
+    INITIAL_SIZE = 8192
+
+    def __init__(self, sock):
+        self.sock = sock
+        self.buf = bytearray(self.INITIAL_SIZE)
+        self.view = memoryview(self.buf)
+
+    def recv_exact(self, n):
+        """n 바이트를 다 받을 때까지 읽기 → 버퍼 앞 n 바이트의 memoryview (다음 읽기 전까지만 유효)
+        시작 전에 연결이 닫히면 None"""
+        if n > len(self.buf):
+            size = len(self.buf)
+            while size < n:
+                size *= 2
+            self.view.release()
+            self.buf = bytearray(size)
+            self.view = memoryview(self.buf)
+        got = 0
+        while got < n:
+            r = self.sock.recv_into(self.view[got:n], n - got)
+            if r == 0:
+                if got == 0:
+                    return None
+                raise ConnectionError("메시지 도중 연결 종료")
+            got += r
+        return self.view[:n]
+
+    def read_frame(self):
+        """프레임 하나 → (본문, 압축된 응답을 받을 수 있는지). 시작 전에 연결이 닫히면 None
+        압축된 본문은 풀어서 돌려줌"""
+        head = self.recv_exact(HEADER.size)
+        if head is None:
+            return None
+        (header,) = HEADER.unpack(head)
+        length = header & LENGTH_MASK
+        if length > MAX_FRAME:
+            raise ValueError(f"잘못된 메시지 길이: {length}")
+        body = b""
+        if length > 0:
+            view = self.recv_exact(length)
+            if view is None:
+                raise ConnectionError("메시지 도중 연결 종료")
+            # 압축된 본문은 버퍼에서 바로 풀고, 아니면 bytes 로 한 번만 복사
+            body = inflate_body(view) if header & FLAG_DEFLATED else bytes(view)
+        return body, bool(header & FLAG_ACCEPT_DEFLATE)
+
+
+def write_frame(sock, payload, deflate=False):
+    """deflate: 받는 쪽이 압축을 풀 수 있음 → 큰 본문은 압축해서 보냄"""
+    flags = 0
+    if deflate:
+        packed = deflate_body(payload)
+        if packed is not None:
+            payload, flags = packed, FLAG_DEFLATED
+    sock.sendall(HEADER.pack(flags | len(payload)) + payload)
+
+
+# ----------------------------------------------------
+# 바이너리 본문 형식 (WireFormat.java 와 같은 규칙)
+# - 첫 바이트 BINARY_MAGIC, 이어서 값 하나 (JSON 본문은 항상 '{' 로 시작하므로 구분됨)
+# - 값: 1바이트 태그 + 내용
+#   정수 zigzag varint / 실수 8바이트 / 문자열 varint 길이 + UTF-8
+#   "yyyy-MM-dd HH:mm:ss" 문자열은 1970-01-01 00:00:00 부터의 초 (zigzag varint)
+#   배열: 값들 + T_END / 객체: (varint 이름길이+1, 이름, 값)들 + 0
+# - 디코딩하면 시간은 다시 같은 문자열이 되므로 요청 처리 코드는 형식을 몰라도 됨
+# ----------------------------------------------------
+BINARY_MAGIC = 0xB1
+(T_END, T_NULL, T_FALSE, T_TRUE, T_INT, T_DOUBLE,
+ T_STRING, T_TIME, T_ARRAY, T_OBJECT) = range(10)
+DOUBLE = struct.Struct(">d")
+EPOCH_ORDINAL = date(1970, 1, 1).toordinal()
+
+
+def is_binary(data):
+    return len(data) > 0 and data[0] == BINARY_MAGIC
+
+
+def encode_binary(obj):
+    out = bytearray((BINARY_MAGIC,))
+    _encode_value(out, obj)
+    return bytes(out)
+
+
+def decode_binary(data):
+    if not is_binary(data):
+        raise ValueError("바이너리 본문이 아님")
+    value, pos = _decode_value(data, 1)
+    if pos != len(data):
+        raise ValueError("본문 끝에 남은 데이터")
+    return value
+
+
+def _put_varint(out, v):
+    while v >= 0x80:
+        out.append((v & 0x7F) | 0x80)
+        v >>= 7
+    out.append(v)
+
+
+def _get_varint(data, pos):
+    v = shift = 0
+    while True:
+        b = data[pos]
+        pos += 1
+        v |= (b & 0x7F) << shift
+        if b < 0x80:
+            return v, pos
+        shift += 7
+        if shift > 63:
+            raise ValueError("varint 가 너무 김")
+
+
+def _zigzag(v):
+    return v << 1 if v >= 0 else ((-v) << 1) - 1
+
+
+def _unzigzag(u):
+    return (u >> 1) ^ -(u & 1)
+
+
+def _datetime_seconds(text):
+    """정확히 "yyyy-MM-dd HH:mm:ss" 형식인 올바른 시간이면 초, 아니면 None"""
+    if (len(text) != 19 or text[4] != "-" or text[7] != "-" or text[10] != " "
+            or text[13] != ":" or text[16] != ":"):
+        return None
+    digits = text[0:4] + text[5:7] + text[8:10] + text[11:13] + text[14:16] + text[17:19]
+    if not (digits.isascii() and digits.isdigit()):
+        return None
+    hour, minute, second = int(text[11:13]), int(text[14:16]), int(text[17:19])
+    if hour > 23 or minute > 59 or second > 59:
+        return None
+    try:
+        days = date(int(text[0:4]), int(text[5:7]), int(text[8:10])).toordinal() - EPOCH_ORDINAL
+    except ValueError:
+        return None
+    return days * 86400 + hour * 3600 + minute * 60 + second
+
+
+def _seconds_text(seconds):
+    days, rem = divmod(seconds, 86400)
+    d = date.fromordinal(EPOCH_ORDINAL + days)
+    hour, rem = divmod(rem, 3600)
+    minute, second = divmod(rem, 60)
+    return f"{d.year:04d}-{d.month:02d}-{d.day:02d} {hour:02d}:{minute:02d}:{second:02d}"
+
+
+def _encode_value(out, v):
+    if v is None:
+        out.append(T_NULL)
+    elif v is True:
+        out.append(T_TRUE)
+    elif v is False:
+        out.append(T_FALSE)
+    elif isinstance(v, int):
+        out.append(T_INT)
+        _put_varint(out, _zigzag(v))
+    elif isinstance(v, float):
+        out.append(T_DOUBLE)
+        out += DOUBLE.pack(v)
+    elif isinstance(v, str):
+        seconds = _datetime_seconds(v) if len(v) == 19 else None
+        if seconds is not None:
+            out.append(T_TIME)
+            _put_varint(out, _zigzag(seconds))
+        else:
+            b = v.encode()
+            out.append(T_STRING)
+            _put_varint(out, len(b))
+            out += b
+    elif isinstance(v, datetime):
+        _encode_value(out, convert_datetime(v))
+    elif isinstance(v, dict):
+        out.append(T_OBJECT)
+        for k, x in v.items():
+            kb = str(k).encode()
+            _put_varint(out, len(kb) + 1)
+            out += kb
+            _encode_value(out, x)
+        out.append(0)
+    elif isinstance(v, (list, tuple)):
+        out.append(T_ARRAY)
+        for x in v:
+            _encode_value(out, x)
+        out.append(T_END)
+    else:
+        raise TypeError(f"바이너리로 보낼 수 없는 값: {type(v).__name__}")
+
+
+def _decode_value(data, pos):
+    tag = data[pos]
+    pos += 1
+    if tag == T_NULL:
+        return None, pos
+    if tag == T_TRUE:
+        return True, pos
+    if tag == T_FALSE:
+        return False, pos
+    if tag == T_INT:
+        u, pos = _get_varint(data, pos)
+        return _unzigzag(u), pos
+    if tag == T_DOUBLE:
+        return DOUBLE.unpack_from(data, pos)[0], pos + DOUBLE.size
+    if tag == T_STRING:
+        n, pos = _get_varint(data, pos)
+        if pos + n > len(data):
+            raise ValueError("문자열 길이가 본문을 넘음")
+        return bytes(data[pos:pos + n]).decode(), pos + n
+    if tag == T_TIME:
+        u, pos = _get_varint(data, pos)
+        return _seconds_text(_unzigzag(u)), pos
+    if tag == T_ARRAY:
+        items = []
+        while data[pos] != T_END:
+            v, pos = _decode_value(data, pos)
+            items.append(v)
+        return items, pos + 1
+    if tag == T_OBJECT:
+        obj = {}
+        while True:
+            n, pos = _get_varint(data, pos)
+            if n == 0:
+                return obj, pos
+            key = bytes(data[pos:pos + n - 1]).decode()
+            obj[key], pos = _decode_value(data, pos + n - 1)
+    raise ValueError(f"알 수 없는 태그: {tag}")
+
+
 # ----------------------------------------------------
 # TCP Server 클래스 (객체지향 + 멀티스레드)
 # ----------------------------------------------------
@@ -572,13 +1386,16 @@ class CalendarTCPServer:
         self.host = host
         self.port = port
         self.server_socket = None
+        # 모든 연결이 같이 쓰는 작업 스레드 (연결마다 스레드를 더 만들지 않음)
+        self.workers = ThreadPoolExecutor(max_workers=PIPELINE_WORKERS,
+                                          thread_name_prefix="pipeline")
 
     def start(self):
         """서버 소켓 생성 및 클라이언트 접속 대기 루프"""
         self.server_socket = socket.socket(socket.AF_INET, socket.SOCK_STREAM)
         self.server_socket.setsockopt(socket.SOL_SOCKET, socket.SO_REUSEADDR, 1)
         self.server_socket.bind((self.host, self.port))
-        self.server_socket.listen(5)
+        self.server_socket.listen(LISTEN_BACKLOG)
 
         print(f"[Server] Python Socket 서버 실행 중... PORT={self.port}")
 
@@ -595,26 +1412,51 @@ class CalendarTCPServer:
             t.start()
 
     def handle_client(self, conn, addr):
-        """각 클라이언트를 처리하는 함수 (스레드용)"""
+        """각 클라이언트를 처리하는 함수 (스레드용)
+        - keep-alive: 한 연결에서 요청을 여러 번 처리
+        - 메시지는 길이 헤더로 구분 (read_frame / write_frame)
+        - IDLE_TIMEOUT 동안 요청이 없으면 연결 종료
+        - "rid" 가 있는 요청은 작업 스레드에서 동시에 처리하고, 응답에 같은 rid 를 붙여
+          끝나는 순서대로 보냄 (클라이언트가 응답을 기다리지 않고 연달아 보내는 파이프라인)
+        - rid 가 없는 요청은 예전처럼 받은 순서대로 하나씩 처리
+        - 본문이 바이너리(BINARY_MAGIC)면 응답도 바이너리, 아니면 JSON
+        """
+        conn.settimeout(IDLE_TIMEOUT)
+        write_lock = threading.Lock()   # 작업 스레드들이 같은 연결에 응답을 쓰므로 프레임 단위로 잠금
+        reader = FrameReader(conn)
         try:
-            data = conn.recv(4096)
-            if not data:
-                return
-
-            text = data.decode()
-            print(f"[수신 {addr}] {text}")
-
-            try:
-                req_json = json.loads(text)
-            except Exception as e:
-                print("[JSON 파싱 에러]", e)
-                res = {"success": False, "message": "JSON 파싱 실패"}
-                conn.send(json.dumps(res, ensure_ascii=False).encode())
-                return
-
-            res = handle_request(req_json)
-            conn.send(json.dumps(res, ensure_ascii=False).encode())
-
+            while True:
+                frame = reader.read_frame()
+                if frame is None:
+                    break
+
+                data, deflate = frame
+                binary = is_binary(data)
+                try:
+                    req_json = decode_binary(data) if binary else json.loads(data.decode())
+                except Exception as e:
+                    print("[JSON 파싱 에러]", e)
+                    res = {"success": False, "message": "JSON 파싱 실패"}
+                    self.send_message(conn, res, write_lock, binary, deflate)
+                    continue
+                print(f"[수신 {addr}] {req_json if binary else data.decode()}")
+
+                if req_json.get("action") == "subscribe":
+                    # 이 연결은 이제 변경 알림 전용
+                    self.serve_subscriber(conn, reader, addr, req_json)
+                    break
+
+                rid = req_json.pop("rid", None)
+                if rid is not None:
+                    self.workers.submit(self.handle_pipelined, conn, addr, write_lock,
+                                        rid, req_json, binary, deflate)
+                    continue
+
+                res = self.process(addr, req_json)
+                self.send_message(conn, res, write_lock, binary, deflate)
+
+        except socket.timeout:
+            print(f"[idle 연결 정리] {addr}")
         except Exception as e:
             print(f"[클라이언트 처리 중 에러 {addr}] {e}")
             # 여기서 추가로 로그 쌓고 싶으면 가능
@@ -622,10 +1464,85 @@ class CalendarTCPServer:
             conn.close()
             print(f"[클라이언트 종료] {addr}")
 
+    def process(self, addr, req_json):
+        try:
+            return handle_request(req_json)
+        except Exception as e:
+            # 요청 하나가 실패해도 연결은 계속 사용
+            print(f"[요청 처리 에러 {addr}] {e}")
+            return {"success": False, "message": f"서버 오류: {e}"}
+
+    def handle_pipelined(self, conn, addr, write_lock, rid, req_json, binary, deflate):
+        """작업 스레드: 요청 하나 처리 후 rid 를 첫 필드로 붙여 응답"""
+        res = {"rid": rid, **self.process(addr, req_json)}
+        try:
+            self.send_message(conn, res, write_lock, binary, deflate)
+        except OSError as e:
+            # 응답 전에 클라이언트가 연결을 닫음: 읽기 스레드가 연결을 정리
+            print(f"[파이프라인 응답 실패 {addr}] {e}")
+
+    def serve_subscriber(self, conn, reader, addr, first_req):
+        """구독 연결 처리
+        - 첫 요청: {"action":"subscribe","user_id":..,"calendar_ids":[..]}
+        - 이후 같은 형식의 요청이 오면 구독 캘린더 목록을 바꿈
+        - 응답/이벤트/ping 은 모두 구독자 보내기 스레드가 전송
+        """
+        conn.settimeout(None)   # 요청 없이 오래 열려 있는 연결
+        conn.setsockopt(socket.SOL_SOCKET, socket.SO_KEEPALIVE, 1)
+
+        sub = Subscriber(conn, addr, int(first_req["user_id"]))
+        hub.register(sub)
+        sender = threading.Thread(target=sub.send_loop, daemon=True)
+        sender.start()
+        print(f"[구독 시작] {addr} user={sub.user_id}")
+        try:
+            req = first_req
+            while req is not None:
+                try:
+                    ids = self.readable_calendars(sub.user_id, req.get("calendar_ids") or [])
+                    hub.set_calendars(sub, ids)
+                    res = {"success": True, "event": "subscribed", "calendar_ids": sorted(ids)}
+                except Exception as e:
+                    print(f"[구독 처리 에러 {addr}] {e}")
+                    res = {"success": False, "event": "subscribed", "message": f"서버 오류: {e}"}
+                sub.push(json.dumps(res, ensure_ascii=False).encode())
+
+                frame = reader.read_frame()
+                req = None if frame is None else json.loads(frame[0].decode())
+        except (OSError, ValueError) as e:
+            print(f"[구독 연결 종료 {addr}] {e}")
+        finally:
+            hub.unregister(sub)
+            sub.push(None)
+            print(f"[구독 종료] {addr}")
+
+    @staticmethod
+    def readable_calendars(user_id, calendar_ids):
+        """볼 권한이 있는 캘린더만 구독"""
+        ids = {int(c) for c in calendar_ids}
+        if not ids:
+            return ids
+        conn = get_conn()
+        try:
+            return {cid for cid in ids if get_permission(conn, user_id, cid) is not None}
+        finally:
+            conn.close()
+
+    def send_message(self, conn, res, write_lock, binary=False, deflate=False):
+        """응답 프레임 하나 전송 (요청과 같은 본문 형식, 요청에 압축 허용 표시가 있으면 큰 본문은 압축)"""
+        data = encode_binary(res) if binary else json.dumps(res, ensure_ascii=False).encode()
+        with write_lock:
+            write_frame(conn, data, deflate)
+
 
 # ----------------------------------------------------
 # main 구동부
 # ----------------------------------------------------
 if __name__ == "__main__":
+    try:
+        ensure_schema()
+    except Exception as e:
+        print("[Server] 스키마 확인 실패 (계속 실행):", e)
+
     server = CalendarTCPServer(host="", port=5000)
     server.start()